@@ -0,0 +1,58 @@
+package com.flowapp.petroleumeconomics.Services;
+
+import com.flowapp.petroleumeconomics.Models.Parameter;
+import com.flowapp.petroleumeconomics.Models.ProjectInput;
+import com.flowapp.petroleumeconomics.Models.ScenarioBatch;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BatchEvaluatorBenchmark {
+
+    @Param({"10000", "1000000"})
+    int scenarios;
+
+    private final BatchEvaluator batchEvaluator = new BatchEvaluator();
+    private final EconomicsCalculator calculator = new EconomicsCalculator();
+    private ScenarioBatch batch;
+    private ProjectInput[] projects;
+    private double[] netPresentValues;
+
+    @Setup
+    public void setUp() {
+        final var base = EconomicsCalculatorBenchmark.projectWithLife(20, 60);
+        batch = ScenarioBatch.filledWith(base, scenarios);
+        final var random = new Random(42);
+        final double[] oilPrice = batch.column(Parameter.OIL_PRICE_PER_BARREL);
+        final double[] decline = batch.column(Parameter.DECLINE_RATE_PER_YEAR);
+        final double[] wells = batch.column(Parameter.NUMBER_OF_WELLS);
+        for (int i = 0; i < scenarios; i++) {
+            oilPrice[i] = 20 + 80 * random.nextDouble();
+            decline[i] = 0.1 + 0.5 * random.nextDouble();
+            wells[i] = 1 + random.nextInt(20);
+        }
+        projects = new ProjectInput[scenarios];
+        for (int i = 0; i < scenarios; i++) {
+            projects[i] = batch.get(i);
+        }
+        netPresentValues = new double[scenarios];
+    }
+
+    @Benchmark
+    public double[] batch() {
+        batchEvaluator.evaluate(batch, netPresentValues, null);
+        return netPresentValues;
+    }
+
+    @Benchmark
+    public void perScenario(Blackhole blackhole) {
+        for (var project : projects) {
+            blackhole.consume(calculator.evaluate(project).getNetPresentValue());
+        }
+    }
+}
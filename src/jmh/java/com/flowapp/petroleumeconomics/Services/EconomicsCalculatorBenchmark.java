@@ -0,0 +1,70 @@
+package com.flowapp.petroleumeconomics.Services;
+
+import com.flowapp.petroleumeconomics.Models.CashFlows;
+import com.flowapp.petroleumeconomics.Models.ProjectInput;
+import com.flowapp.petroleumeconomics.Utils.EconomicsUtils;
+import com.flowapp.petroleumeconomics.Utils.IRRSolver;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EconomicsCalculatorBenchmark {
+
+    @Param({"10", "60", "600"})
+    int periods;
+
+    @Param({"1", "1000"})
+    int batchSize;
+
+    private final EconomicsCalculator calculator = new EconomicsCalculator();
+    private final IRRSolver irrSolver = new IRRSolver(0.00001);
+    private ProjectInput[] projects;
+    private CashFlows[] cashFlows;
+
+    @Setup
+    public void setUp() {
+        projects = new ProjectInput[batchSize];
+        cashFlows = new CashFlows[batchSize];
+        for (int i = 0; i < batchSize; i++) {
+            projects[i] = projectWithLife(periods, 60 + (i % 20));
+            cashFlows[i] = new CashFlows();
+            EconomicsCalculator.buildCashFlows(projects[i], cashFlows[i]);
+        }
+    }
+
+    /**
+     * Project A with the decline rate tuned so that it produces for {@code years} years.
+     */
+    static ProjectInput projectWithLife(int years, double oilPrice) {
+        final double initialRate = 1_600;
+        final double abandonmentRate = 15;
+        final double decline = 1 - Math.pow(abandonmentRate / initialRate, 1 / (years - 0.5));
+        return new ProjectInput(initialRate, 7_500_000, 35_000_000, 15_000_000, oilPrice,
+                0.98, 0.10, 6, 6, 1_000_000, abandonmentRate, decline);
+    }
+
+    @Benchmark
+    public void evaluate(Blackhole blackhole) {
+        for (var project : projects) {
+            blackhole.consume(calculator.evaluate(project));
+        }
+    }
+
+    @Benchmark
+    public void netPresentValue(Blackhole blackhole) {
+        for (var flows : cashFlows) {
+            blackhole.consume(EconomicsUtils.calculateNetPresentValue(flows.values(), flows.size(), 0.10));
+        }
+    }
+
+    @Benchmark
+    public void internalRateOfReturn(Blackhole blackhole) {
+        for (var flows : cashFlows) {
+            blackhole.consume(irrSolver.solve(flows.values(), flows.size()));
+        }
+    }
+}
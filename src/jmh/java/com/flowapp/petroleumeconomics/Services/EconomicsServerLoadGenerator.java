@@ -0,0 +1,171 @@
+package com.flowapp.petroleumeconomics.Services;
+
+import com.flowapp.petroleumeconomics.Metrics.LatencyHistogram;
+import com.flowapp.petroleumeconomics.Models.Parameter;
+import com.flowapp.petroleumeconomics.Models.ProjectInput;
+import com.flowapp.petroleumeconomics.Utils.JsonWriter;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop load generator for {@link EconomicsServer}: a number of virtual-thread clients each send requests
+ * back to back over a kept-alive connection, and the throughput and latency quantiles are printed after a warm-up.
+ * Without {@code --url} it starts a server in-process on a free port.
+ * <p>
+ * Run with {@code ./gradlew loadTest -PloadTestArgs="--endpoint=evaluate --concurrency=64 --seconds=10"}.
+ */
+public class EconomicsServerLoadGenerator {
+
+    public static void main(String[] args) throws Exception {
+        String url = null;
+        String endpoint = "evaluate";
+        int concurrency = 64;
+        int seconds = 10;
+        int warmupSeconds = 3;
+        int projects = 1_000;
+        for (var arg : args) {
+            final int equals = arg.indexOf('=');
+            final var name = equals < 0 ? arg : arg.substring(0, equals);
+            final var value = equals < 0 ? "" : arg.substring(equals + 1);
+            switch (name) {
+                case "--url": url = value; break;
+                case "--endpoint": endpoint = value; break;
+                case "--concurrency": concurrency = Integer.parseInt(value); break;
+                case "--seconds": seconds = Integer.parseInt(value); break;
+                case "--warmupSeconds": warmupSeconds = Integer.parseInt(value); break;
+                case "--projects": projects = Integer.parseInt(value); break;
+                default: throw new IllegalArgumentException("Unknown option " + arg);
+            }
+        }
+
+        EconomicsServer server = null;
+        if (url == null) {
+            server = new EconomicsServer().start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            url = "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+        }
+        final var uri = URI.create(url + "/" + endpoint);
+        final var bodies = requestBodies(endpoint, projects);
+        final var client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        try {
+            run(client, uri, bodies, concurrency, Duration.ofSeconds(warmupSeconds));
+            final var result = run(client, uri, bodies, concurrency, Duration.ofSeconds(seconds));
+            System.out.printf("POST %s, %d clients, %d s%n", uri, concurrency, seconds);
+            System.out.printf("requests:   %d (%d errors)%n", result.latency.getCount(), result.errors.sum());
+            System.out.printf("throughput: %.0f requests/s%n", result.latency.getCount() / result.seconds);
+            System.out.printf("latency:    p50 %.3f ms, p99 %.3f ms, max %.3f ms%n",
+                    result.latency.getQuantileNanos(0.5) / 1e6,
+                    result.latency.getQuantileNanos(0.99) / 1e6,
+                    result.latency.getMaxNanos() / 1e6);
+        } finally {
+            if (server != null) {
+                server.close();
+            }
+        }
+    }
+
+    private static final class Result {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder errors = new LongAdder();
+        double seconds;
+    }
+
+    private static Result run(HttpClient client, URI uri, String[] bodies, int concurrency, Duration duration)
+            throws InterruptedException {
+        final var result = new Result();
+        final long start = System.nanoTime();
+        final long end = start + duration.toNanos();
+        final var clients = new ArrayList<Thread>();
+        for (int c = 0; c < concurrency; c++) {
+            final int first = c;
+            clients.add(Thread.ofVirtual().start(() -> {
+                for (int i = first; System.nanoTime() < end; i += concurrency) {
+                    final var request = HttpRequest.newBuilder(uri)
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(bodies[i % bodies.length]))
+                            .build();
+                    final long sent = System.nanoTime();
+                    try {
+                        final var response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                        result.latency.record(System.nanoTime() - sent, response.body().length);
+                        if (response.statusCode() != 200) {
+                            result.errors.increment();
+                        }
+                    } catch (IOException e) {
+                        result.errors.increment();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }));
+        }
+        for (var thread : clients) {
+            thread.join();
+        }
+        result.seconds = (System.nanoTime() - start) / 1e9;
+        return result;
+    }
+
+    /**
+     * Distinct request bodies, so the server's result cache sees a mix of hits and misses.
+     */
+    private static String[] requestBodies(String endpoint, int count) throws IOException {
+        final var random = new Random(42);
+        final var calculator = new EconomicsCalculator();
+        final String[] bodies = new String[count];
+        for (int i = 0; i < count; i++) {
+            final var project = ProjectInput.builder()
+                    .initialProductionPerWellPerDay(1_600)
+                    .wellInitialCost(7_500_000)
+                    .facilitiesCost(35_000_000)
+                    .pipelinesCost(15_000_000)
+                    .oilPricePerBarrel(20 + 80 * random.nextDouble())
+                    .upTimeFraction(0.98)
+                    .interestRatePerYear(0.05 + 0.1 * random.nextDouble())
+                    .numberOfWells(1 + random.nextInt(12))
+                    .operatingCostPerBarrel(6)
+                    .abandonmentCost(1_000_000)
+                    .abandonmentOilRatePerWellPerDay(15)
+                    .declineRatePerYear(0.1 + 0.5 * random.nextDouble())
+                    .build();
+            final var body = new StringBuilder();
+            final var json = new JsonWriter(body);
+            switch (endpoint) {
+                case "evaluate":
+                    EconomicsJson.writeInput(json, project);
+                    break;
+                case "batch":
+                    json.beginArray();
+                    EconomicsJson.writeInput(json, project);
+                    EconomicsJson.writeInput(json, Parameter.OIL_PRICE_PER_BARREL.with(project, 60));
+                    json.endArray();
+                    break;
+                case "npv":
+                case "irr":
+                    json.beginObject().name("cashFlows").value(calculator.evaluate(project).getCashFlows());
+                    if (endpoint.equals("npv")) {
+                        json.name("discountRate").value(project.getInterestRatePerYear());
+                    }
+                    json.endObject();
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown endpoint " + endpoint);
+            }
+            bodies[i] = body.toString();
+        }
+        return bodies;
+    }
+}
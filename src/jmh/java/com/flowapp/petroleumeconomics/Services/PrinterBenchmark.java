@@ -0,0 +1,51 @@
+package com.flowapp.petroleumeconomics.Services;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PrinterBenchmark {
+
+    @Param({"10", "60", "600"})
+    int periods;
+
+    private Printer printer;
+    private Object[][] table;
+
+    @Setup
+    public void setUp() {
+        printer = new Printer(new WriterReportSink(Writer.nullWriter()));
+        table = new Object[5][periods + 1];
+        table[0][0] = "";
+        table[1][0] = "Cash flow (USD)";
+        table[2][0] = "Discount factor";
+        table[3][0] = "Present Value (USD)";
+        table[4][0] = "Accumulated PV";
+        for (int i = 1; i <= periods; i++) {
+            table[0][i] = i - 1;
+            table[1][i] = 185_000_000 * Math.pow(0.65, i - 1);
+            table[2][i] = Math.pow(1.1, i - 1);
+            table[3][i] = (double) table[1][i] / (double) table[2][i];
+            table[4][i] = (double) table[3][i] * i;
+        }
+    }
+
+    @Benchmark
+    public String format() {
+        return printer.format("NPV = {} MM USD, IRR = {} %, PIR = {+}, {-} {0}", 315.456, 160.19, 3.32, "x");
+    }
+
+    @Benchmark
+    public String formatNumber() {
+        return printer.formatNumber(315456046.5763);
+    }
+
+    @Benchmark
+    public void renderTable() {
+        printer.renderTable(table);
+    }
+}
@@ -0,0 +1,52 @@
+package com.flowapp.petroleumeconomics.Services;
+
+import com.flowapp.petroleumeconomics.Models.DeclineType;
+import com.flowapp.petroleumeconomics.Models.EconomicsResult;
+import com.flowapp.petroleumeconomics.Models.ProjectInput;
+import com.flowapp.petroleumeconomics.Models.TimeStep;
+import com.flowapp.petroleumeconomics.Models.WellSchedule;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class WellScheduleEvaluatorBenchmark {
+
+    @Param({"100", "5000"})
+    int wells;
+
+    @Param({"ANNUAL", "MONTHLY"})
+    TimeStep timeStep;
+
+    @Param({"EXPONENTIAL", "HYPERBOLIC"})
+    DeclineType declineType;
+
+    private final WellScheduleEvaluator evaluator = new WellScheduleEvaluator();
+    private ProjectInput field;
+    private WellSchedule schedule;
+
+    @Setup
+    public void setUp() {
+        field = EconomicsCalculatorBenchmark.projectWithLife(20, 60).toBuilder()
+                .timeStep(timeStep)
+                .declineType(declineType)
+                .hyperbolicExponent(0.5)
+                .build();
+        // a ten-year drilling campaign, one well per quarter on average
+        final var random = new Random(42);
+        final var builder = WellSchedule.builder();
+        for (int i = 0; i < wells; i++) {
+            builder.addWell(random.nextInt(40) / 4.0, 200 + 2_000 * random.nextDouble(),
+                    0.1 + 0.5 * random.nextDouble(), 5_000_000 + 5_000_000 * random.nextDouble());
+        }
+        schedule = builder.build();
+    }
+
+    @Benchmark
+    public EconomicsResult evaluate() {
+        return evaluator.evaluate(field, schedule);
+    }
+}
@@ -0,0 +1,62 @@
+package com.flowapp.petroleumeconomics.Statistics;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TDigestBenchmark {
+
+    @Param({"1000000"})
+    int values;
+
+    private double[] samples;
+
+    @Setup
+    public void setUp() {
+        final var random = new Random(42);
+        samples = new double[values];
+        for (int i = 0; i < values; i++) {
+            samples[i] = 300_000_000 + 100_000_000 * random.nextGaussian();
+        }
+    }
+
+    @Benchmark
+    public double digestPercentiles() {
+        final var digest = new TDigest();
+        for (double sample : samples) {
+            digest.add(sample);
+        }
+        return digest.quantile(0.1) + digest.quantile(0.5) + digest.quantile(0.9);
+    }
+
+    @Benchmark
+    public double mergedDigestPercentiles() {
+        final var digests = new TDigest[8];
+        for (int d = 0; d < digests.length; d++) {
+            digests[d] = new TDigest();
+        }
+        for (int i = 0; i < samples.length; i++) {
+            digests[i & 7].add(samples[i]);
+        }
+        final var digest = new TDigest();
+        for (var part : digests) {
+            digest.merge(part);
+        }
+        return digest.quantile(0.1) + digest.quantile(0.5) + digest.quantile(0.9);
+    }
+
+    /**
+     * The exact percentiles, which need every value in memory.
+     */
+    @Benchmark
+    public double sortedPercentiles() {
+        final double[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        return sorted[values / 10] + sorted[values / 2] + sorted[9 * values / 10];
+    }
+}
@@ -0,0 +1,88 @@
+package com.flowapp.petroleumeconomics.Utils;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EconomicsUtilsBenchmark {
+
+    @Param({"10", "60", "600"})
+    int periods;
+
+    private double[] cashFlows;
+    private double[] out;
+    private double[] presentValues;
+    private double[] accumulatedPresentValues;
+
+    @Setup
+    public void setUp() {
+        cashFlows = new double[periods];
+        out = new double[periods];
+        presentValues = new double[periods];
+        accumulatedPresentValues = new double[periods];
+        cashFlows[0] = -95_000_000;
+        for (int i = 1; i < periods; i++) {
+            cashFlows[i] = 185_000_000 * Math.pow(0.65, i - 1);
+        }
+    }
+
+    @Benchmark
+    public double discountFactorPerPeriod() {
+        double sum = 0;
+        for (int i = 0; i < periods; i++) {
+            sum += EconomicsUtils.calculateDiscountFactor(0.10, i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double presentValuePerPeriod() {
+        double sum = 0;
+        for (int i = 0; i < periods; i++) {
+            sum += EconomicsUtils.calculatePresentValue(cashFlows[i], 0.10, i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double[] discountFactors() {
+        EconomicsUtils.calculateDiscountFactors(0.10, out, periods);
+        return out;
+    }
+
+    @Benchmark
+    public double[] presentValues() {
+        EconomicsUtils.calculatePresentValues(cashFlows, periods, 0.10, out);
+        return out;
+    }
+
+    @Benchmark
+    public double netPresentValueHorner() {
+        return EconomicsUtils.calculateNetPresentValue(cashFlows, periods, 0.10);
+    }
+
+    @Benchmark
+    public double netPresentValueCachedTable() {
+        final var discountFactors = DiscountFactorCache.shared().getDiscountFactors(0.10, periods);
+        return EconomicsUtils.calculateNetPresentValue(cashFlows, periods, discountFactors);
+    }
+
+    @Benchmark
+    public double[] separatePasses() {
+        final var discountFactors = DiscountFactorCache.shared().getDiscountFactors(0.10, periods);
+        System.arraycopy(discountFactors, 0, out, 0, periods);
+        EconomicsUtils.calculatePresentValues(cashFlows, periods, out, presentValues);
+        EconomicsUtils.calculateAccumulatedPresentValues(cashFlows, periods, out, accumulatedPresentValues);
+        return accumulatedPresentValues;
+    }
+
+    @Benchmark
+    public Object fusedCashFlowMetrics() {
+        final var discountFactors = DiscountFactorCache.shared().getDiscountFactors(0.10, periods);
+        return EconomicsUtils.calculateCashFlowMetrics(cashFlows, periods, discountFactors, out, presentValues,
+                accumulatedPresentValues);
+    }
+}
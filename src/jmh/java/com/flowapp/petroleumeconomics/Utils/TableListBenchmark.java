@@ -0,0 +1,52 @@
+package com.flowapp.petroleumeconomics.Utils;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TableListBenchmark {
+
+    @Param({"10", "60", "600"})
+    int periods;
+
+    @Param({"5", "1000"})
+    int rows;
+
+    private TableList table;
+    private final Writer writer = new BufferedWriter(Writer.nullWriter());
+
+    @Setup
+    public void setUp() {
+        final String[] header = new String[periods + 1];
+        header[0] = "";
+        for (int i = 1; i <= periods; i++) {
+            header[i] = String.valueOf(i - 1);
+        }
+        table = new TableList(header).withUnicode(true);
+        for (int row = 0; row < rows; row++) {
+            final String[] cells = new String[periods + 1];
+            cells[0] = "Row " + row;
+            for (int i = 1; i <= periods; i++) {
+                cells[i] = String.format("%.4f", 185_000_000 * Math.pow(0.65, i - 1) / (row + 1));
+            }
+            table.addRow(cells);
+        }
+    }
+
+    @Benchmark
+    public String render() {
+        return table.render();
+    }
+
+    @Benchmark
+    public void renderToWriter() throws IOException {
+        table.render(writer);
+        writer.flush();
+    }
+}
@@ -1,23 +1,283 @@
 package com.flowapp.petroleumeconomics.Controllers;
 
+import com.flowapp.petroleumeconomics.Models.Distribution;
+import com.flowapp.petroleumeconomics.Models.EconomicsResult;
+import com.flowapp.petroleumeconomics.Models.MonteCarloInput;
+import com.flowapp.petroleumeconomics.Models.Parameter;
+import com.flowapp.petroleumeconomics.Models.ProjectInput;
+import com.flowapp.petroleumeconomics.Services.EconomicsChart;
+import com.flowapp.petroleumeconomics.Services.EvaluationService;
+import com.flowapp.petroleumeconomics.Services.IncrementalEvaluator;
+import com.flowapp.petroleumeconomics.Services.MonteCarloService;
+import com.flowapp.petroleumeconomics.Services.SeriesCanvas;
+import com.flowapp.petroleumeconomics.Services.WriterReportSink;
+import javafx.animation.AnimationTimer;
+import javafx.concurrent.Service;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
+import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.control.Slider;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.Priority;
+import javafx.scene.paint.Color;
+import org.jetbrains.annotations.NotNull;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.net.URL;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.ResourceBundle;
 
+/**
+ * What-if panel: one slider and text field per {@link Parameter}. Changes are coalesced to at most one
+ * recomputation per frame, done incrementally by an {@link IncrementalEvaluator} on the FX thread, and update
+ * the headline figures and the embedded chart in place. The full evaluation with its report, and Monte Carlo
+ * studies, run in the background; a finished study shows its fan of yearly cash flows in the chart window.
+ */
 public class HelloController implements Initializable {
+    private static final Color CASH_FLOW_COLOR = Color.web("#f3622d");
+    private static final Color NPV_COLOR = Color.BLUE;
+
+    @FXML
+    private GridPane inputGrid;
+    @FXML
+    private SeriesCanvas chart;
+    @FXML
+    private Label npvText;
+    @FXML
+    private Label irrText;
+    @FXML
+    private Label pirText;
+    @FXML
+    private Label statusText;
+    @FXML
+    private ProgressBar progressBar;
+    @FXML
+    private Button evaluateButton;
     @FXML
-    private Label welcomeText;
+    private Button monteCarloButton;
+    @FXML
+    private Button cancelButton;
+
+    private final EvaluationService evaluationService = new EvaluationService();
+    private final MonteCarloService monteCarloService = new MonteCarloService();
+    private final EconomicsChart economicsChart = new EconomicsChart();
+    private final IncrementalEvaluator evaluator = new IncrementalEvaluator();
+    private final Map<Parameter, Slider> sliders = new EnumMap<>(Parameter.class);
+    private final Map<Parameter, TextField> fields = new EnumMap<>(Parameter.class);
+    private final AnimationTimer recomputation = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            stop();
+            recompute();
+        }
+    };
+    private ProjectInput baseProject;
+    private ProjectInput project;
+    private boolean loading;
+
+    /**
+     * Loads {@code project} in the form and evaluates it in the background with its report, cancelling
+     * whatever runs for the previous inputs.
+     */
+    public void evaluate(@NotNull ProjectInput project) {
+        baseProject = project;
+        loading = true;
+        for (var parameter : Parameter.values()) {
+            final var value = parameter.get(project);
+            final var slider = sliders.get(parameter);
+            setRange(parameter, slider, value);
+            slider.setValue(value);
+            fields.get(parameter).setText(formatValue(value));
+        }
+        loading = false;
+        evaluator.reset();
+        recompute();
+        onEvaluateButtonClick();
+    }
 
     @FXML
-    protected void onHelloButtonClick() {
-        welcomeText.setText("Welcome to JavaFX Application!");
+    protected void onEvaluateButtonClick() {
+        if (project == null) {
+            return;
+        }
+        monteCarloService.cancel();
+        evaluationService.evaluate(project);
+        track(evaluationService);
+    }
+
+    @FXML
+    protected void onMonteCarloButtonClick() {
+        if (project == null) {
+            return;
+        }
+        final var study = MonteCarloInput.builder(project)
+                .oilPricePerBarrel(Distribution.normal(project.getOilPricePerBarrel(), 0.2 * project.getOilPricePerBarrel()).clamp(0, Double.MAX_VALUE))
+                .operatingCostPerBarrel(Distribution.triangular(0.8 * project.getOperatingCostPerBarrel(), project.getOperatingCostPerBarrel(), 1.5 * project.getOperatingCostPerBarrel()))
+                .capitalCostFactor(Distribution.triangular(0.9, 1, 1.3))
+                .build();
+        monteCarloService.simulate(study);
+        track(monteCarloService);
+    }
+
+    @FXML
+    protected void onCancelButtonClick() {
+        evaluationService.cancel();
+        monteCarloService.cancel();
+        showStatus("Cancelled");
     }
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
+        int row = 0;
+        for (var parameter : Parameter.values()) {
+            final var slider = new Slider();
+            final var field = new TextField();
+            field.setPrefColumnCount(10);
+            GridPane.setHgrow(slider, Priority.ALWAYS);
+            inputGrid.addRow(row++, new Label(formatLabel(parameter)), slider, field);
+            if (parameter == Parameter.NUMBER_OF_WELLS) {
+                slider.setMajorTickUnit(1);
+                slider.setMinorTickCount(0);
+                slider.setSnapToTicks(true);
+            }
+            slider.valueProperty().addListener((observable, oldValue, newValue) -> {
+                if (!field.isFocused()) {
+                    field.setText(formatValue(newValue.doubleValue()));
+                }
+                scheduleRecomputation();
+            });
+            field.setOnAction(event -> {
+                try {
+                    final double value = Double.parseDouble(field.getText().trim());
+                    setRange(parameter, slider, value);
+                    slider.setValue(value);
+                } catch (NumberFormatException e) {
+                    field.setText(formatValue(slider.getValue()));
+                }
+            });
+            sliders.put(parameter, slider);
+            fields.put(parameter, field);
+        }
+
+        chart.setAxisLabels("Years", "$");
+        evaluationService.setReportSink(WriterReportSink.stdout());
+        monteCarloService.setOnSucceeded(event -> economicsChart.showCashFlowFan(monteCarloService.getValue()));
+        for (var service : new Service<?>[]{evaluationService, monteCarloService}) {
+            service.setOnFailed(event -> showStatus("Failed: " + service.getException().getMessage()));
+        }
+        evaluateButton.disableProperty().bind(evaluationService.runningProperty());
+        monteCarloButton.disableProperty().bind(evaluationService.runningProperty().or(monteCarloService.runningProperty()));
+        cancelButton.disableProperty().bind(evaluationService.runningProperty().not().and(monteCarloService.runningProperty().not()));
+    }
+
+    private void scheduleRecomputation() {
+        if (!loading) {
+            recomputation.start();
+        }
+    }
+
+    private void recompute() {
+        if (baseProject == null) {
+            return;
+        }
+        final var builder = baseProject.toBuilder();
+        for (var parameter : Parameter.values()) {
+            parameter.set(builder, sliders.get(parameter).getValue());
+        }
+        final EconomicsResult result;
+        try {
+            project = builder.build();
+            cancelJobsNotFor(project);
+            result = evaluator.evaluate(project);
+        } catch (IllegalArgumentException e) {
+            showStatus(e.getMessage());
+            return;
+        }
+        final var irr = result.getInternalRateOfReturn();
+        npvText.setText(String.format("NPV = %.4f MM USD", result.getNetPresentValue() / 1_000_000));
+        irrText.setText(irr.exists() ? String.format("IRR = %.2f %%", irr.getRate() * 100) : "IRR = none");
+        pirText.setText(String.format("PIR = %.4f", result.getProfitabilityIndex()));
+        chart.clear();
+        chart.setAxisLabels(result.getTimeStep().getLabel(), "$");
+        chart.addBars("Cash Flow", result.getCashFlows(), CASH_FLOW_COLOR);
+        chart.addLine("NPV", result.getAccumulatedPresentValues(), NPV_COLOR);
+    }
+
+    /**
+     * Cancels the background evaluation and study when they run for other inputs than {@code project}, their
+     * results would be out of date by the time they are shown.
+     */
+    private void cancelJobsNotFor(ProjectInput project) {
+        boolean cancelled = false;
+        if (evaluationService.isRunning() && !project.equals(evaluationService.getInput())) {
+            cancelled = evaluationService.cancel();
+        }
+        if (monteCarloService.isRunning() && !project.equals(monteCarloService.getInput().getBaseProject())) {
+            cancelled |= monteCarloService.cancel();
+        }
+        if (cancelled) {
+            showStatus("Cancelled, the inputs changed");
+        }
+    }
+
+    /**
+     * Slider range around the base value of a parameter, widened to include {@code value}.
+     */
+    private void setRange(Parameter parameter, Slider slider, double value) {
+        double min = 0;
+        double max = Math.max(3 * value, 1);
+        switch (parameter) {
+            case UP_TIME_FRACTION:
+                max = 1;
+                break;
+            case DECLINE_RATE_PER_YEAR:
+                min = 0.01;
+                max = 0.99;
+                break;
+            case INTEREST_RATE_PER_YEAR:
+                max = Math.max(0.5, 2 * value);
+                break;
+            case NUMBER_OF_WELLS:
+                min = 1;
+                max = Math.max(3 * value, 10);
+                break;
+            case ABANDONMENT_OIL_RATE_PER_WELL_PER_DAY:
+                min = value / 20;
+                break;
+        }
+        slider.setMin(Math.min(min, value));
+        slider.setMax(Math.max(max, Math.max(slider.getMax(), value)));
+    }
+
+    /**
+     * Shows the progress and messages of {@code service} until another one is tracked.
+     */
+    private void track(Service<?> service) {
+        progressBar.progressProperty().bind(service.progressProperty());
+        statusText.textProperty().bind(service.messageProperty());
+    }
+
+    private void showStatus(String status) {
+        progressBar.progressProperty().unbind();
+        statusText.textProperty().unbind();
+        statusText.setText(status);
+    }
+
+    private static String formatLabel(Parameter parameter) {
+        final var words = parameter.getKey().replaceAll("([A-Z])", " $1").toLowerCase();
+        return Character.toUpperCase(words.charAt(0)) + words.substring(1);
+    }
 
+    private static String formatValue(double value) {
+        if (!Double.isFinite(value)) {
+            return String.valueOf(value);
+        }
+        // four decimals at most, without trailing zeros or a trailing point: 0.99999 shows as 1
+        return BigDecimal.valueOf(value).setScale(4, RoundingMode.HALF_UP).stripTrailingZeros().toPlainString();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,232 @@
+package com.flowapp.petroleumeconomics;
+
+import com.flowapp.petroleumeconomics.Metrics.MetricsRegistry;
+import com.flowapp.petroleumeconomics.Models.DeclineType;
+import com.flowapp.petroleumeconomics.Models.Parameter;
+import com.flowapp.petroleumeconomics.Models.ProjectInput;
+import com.flowapp.petroleumeconomics.Models.TimeStep;
+import com.flowapp.petroleumeconomics.Services.EconomicsCalculator;
+import com.flowapp.petroleumeconomics.Services.EconomicsJson;
+import com.flowapp.petroleumeconomics.Services.EconomicsReport;
+import com.flowapp.petroleumeconomics.Services.EconomicsServer;
+import com.flowapp.petroleumeconomics.Services.WriterReportSink;
+import com.flowapp.petroleumeconomics.Utils.JsonWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Command-line entry point: evaluates one project given as flags or as a parameter file and prints the report
+ * or its JSON form, or serves evaluations over HTTP with {@code --serve}. Only the computation classes are loaded,
+ * the JavaFX toolkit is never started.
+ */
+public class EconomicsCli {
+
+    private static final int EXIT_USAGE = 2;
+    private static final int DEFAULT_PORT = 8080;
+    private static final Set<String> SETTINGS = Set.of("timeStep", "declineType", "hyperbolicExponent",
+            "maxConcurrency", "timeoutMillis");
+
+    private static final String USAGE = String.join("\n",
+            "Usage: petroleum-economics [options] [parameter-file]",
+            "       petroleum-economics --serve[=<port>] [--maxConcurrency=<n>] [--timeoutMillis=<ms>]",
+            "",
+            "Evaluates a project. The parameter file holds key=value lines, flags override it.",
+            "With --serve, answers POST /evaluate, /batch, /npv and /irr with JSON on localhost,",
+            "port " + DEFAULT_PORT + " unless given.",
+            "",
+            "  --<parameter>=<value>  any of the project parameters below, e.g. --oilPricePerBarrel=60",
+            "  --timeStep=<step>      ANNUAL (default), MONTHLY or DAILY",
+            "  --declineType=<type>   EXPONENTIAL (default), HYPERBOLIC or HARMONIC",
+            "  --hyperbolicExponent=<b>",
+            "  --json                 print the result as JSON instead of the report",
+            "  --schedules            with --json, include the per-period schedules",
+            "  --metrics              print the phase timings to standard error",
+            "  --help                 print this help",
+            "",
+            "Parameters: ");
+
+    public static void main(String[] args) {
+        final int status = run(args);
+        if (status != 0) {
+            System.exit(status);
+        }
+    }
+
+    static int run(String[] args) {
+        final PrintStream err = System.err;
+        final Map<String, String> values = new LinkedHashMap<>();
+        final Map<String, String> flags = new LinkedHashMap<>();
+        boolean json = false;
+        boolean schedules = false;
+        boolean metrics = false;
+        Integer port = null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                final var arg = args[i];
+                if (arg.equals("--help") || arg.equals("-h")) {
+                    System.out.println(usage());
+                    return 0;
+                } else if (arg.equals("--json")) {
+                    json = true;
+                } else if (arg.equals("--schedules")) {
+                    schedules = true;
+                } else if (arg.equals("--metrics")) {
+                    metrics = true;
+                } else if (arg.equals("--serve")) {
+                    port = DEFAULT_PORT;
+                } else if (arg.startsWith("--serve=")) {
+                    port = (int) parseNumber("serve", arg.substring("--serve=".length()));
+                } else if (arg.startsWith("--")) {
+                    final int equals = arg.indexOf('=');
+                    if (equals >= 0) {
+                        flags.put(canonicalKey(arg.substring(2, equals)), arg.substring(equals + 1));
+                    } else if (i + 1 < args.length) {
+                        flags.put(canonicalKey(arg.substring(2)), args[++i]);
+                    } else {
+                        throw new IllegalArgumentException("Missing value for " + arg);
+                    }
+                } else {
+                    values.putAll(load(Path.of(arg)));
+                }
+            }
+            values.putAll(flags);
+            if (metrics) {
+                MetricsRegistry.shared().setEnabled(true);
+            }
+            if (port != null) {
+                return serve(port, values);
+            }
+            final var result = new EconomicsCalculator().evaluate(toProject(values));
+            if (json) {
+                final var writer = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+                EconomicsJson.writeResult(new JsonWriter(writer), result, schedules);
+                writer.newLine();
+                writer.flush();
+            } else {
+                try (var sink = WriterReportSink.stdout()) {
+                    new EconomicsReport(sink).print(result);
+                }
+            }
+            if (metrics) {
+                err.println(MetricsRegistry.shared().snapshot());
+            }
+            return 0;
+        } catch (IllegalArgumentException e) {
+            err.println("petroleum-economics: " + e.getMessage());
+            err.println("Try --help for the list of options.");
+            return EXIT_USAGE;
+        } catch (IOException | UncheckedIOException e) {
+            err.println("petroleum-economics: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * Serves until the process is stopped.
+     */
+    private static int serve(int port, Map<String, String> values) throws IOException {
+        final var server = new EconomicsServer();
+        if (values.containsKey("maxConcurrency")) {
+            server.withMaxConcurrency((int) parseNumber("maxConcurrency", values.get("maxConcurrency")));
+        }
+        if (values.containsKey("timeoutMillis")) {
+            server.withRequestTimeout(Duration.ofMillis((long) parseNumber("timeoutMillis", values.get("timeoutMillis"))));
+        }
+        server.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        final var address = server.getAddress();
+        System.out.println("Serving on http://" + address.getHostString() + ":" + address.getPort()
+                + " (" + server.getMaxConcurrency() + " concurrent requests, "
+                + server.getRequestTimeout().toMillis() + " ms timeout)");
+        try {
+            Thread.currentThread().join();
+        } catch (InterruptedException e) {
+            server.close();
+        }
+        return 0;
+    }
+
+    private static String usage() {
+        final var text = new StringBuilder(USAGE);
+        for (var parameter : Parameter.values()) {
+            text.append("\n  ").append(parameter.getKey());
+        }
+        return text.toString();
+    }
+
+    private static String canonicalKey(String key) {
+        for (var setting : SETTINGS) {
+            if (setting.equalsIgnoreCase(key)) {
+                return setting;
+            }
+        }
+        return Parameter.fromKey(key).getKey();
+    }
+
+    private static Map<String, String> load(Path file) throws IOException {
+        final var properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        final Map<String, String> values = new LinkedHashMap<>();
+        for (var key : properties.stringPropertyNames()) {
+            values.put(canonicalKey(key.trim()), properties.getProperty(key).trim());
+        }
+        return values;
+    }
+
+    private static ProjectInput toProject(Map<String, String> values) {
+        final var builder = ProjectInput.builder();
+        final Set<Parameter> missing = EnumSet.noneOf(Parameter.class);
+        for (var parameter : Parameter.values()) {
+            final var value = values.get(parameter.getKey());
+            if (value == null) {
+                missing.add(parameter);
+            } else {
+                parameter.set(builder, parseNumber(parameter.getKey(), value));
+            }
+        }
+        if (!missing.isEmpty()) {
+            final var keys = new StringBuilder();
+            for (var parameter : missing) {
+                keys.append(keys.length() > 0 ? ", " : "").append(parameter.getKey());
+            }
+            throw new IllegalArgumentException("Missing parameters: " + keys);
+        }
+        if (values.containsKey("timeStep")) {
+            builder.timeStep(TimeStep.valueOf(values.get("timeStep").toUpperCase(Locale.ROOT)));
+        }
+        if (values.containsKey("declineType")) {
+            builder.declineType(DeclineType.valueOf(values.get("declineType").toUpperCase(Locale.ROOT)));
+        }
+        if (values.containsKey("hyperbolicExponent")) {
+            builder.hyperbolicExponent(parseNumber("hyperbolicExponent", values.get("hyperbolicExponent")));
+        }
+        return builder.build();
+    }
+
+    private static double parseNumber(String key, String value) {
+        try {
+            return Double.parseDouble(value.replace("_", ""));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a number for " + key + ": " + value);
+        }
+    }
+}
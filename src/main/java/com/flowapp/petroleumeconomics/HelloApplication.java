@@ -1,6 +1,7 @@
 package com.flowapp.petroleumeconomics;
 
-import com.flowapp.petroleumeconomics.Services.EconomicsCalculator;
+import com.flowapp.petroleumeconomics.Controllers.HelloController;
+import com.flowapp.petroleumeconomics.Models.ProjectInput;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
@@ -12,13 +13,13 @@ public class HelloApplication extends Application {
     @Override
     public void start(Stage stage) throws IOException {
         FXMLLoader fxmlLoader = new FXMLLoader(HelloApplication.class.getResource("hello-view.fxml"));
-        Scene scene = new Scene(fxmlLoader.load(), 320, 240);
+        Scene scene = new Scene(fxmlLoader.load(), 1100, 600);
         stage.setTitle("Hello!");
         stage.setScene(scene);
-//        stage.show();
+        stage.show();
 
 //        // Project B
-//        new EconomicsCalculator().calculate(500,
+//        final var project = new ProjectInput(500,
 //                5_000_000,
 //                25_000_000,
 //                20_000_000,
@@ -32,7 +33,7 @@ public class HelloApplication extends Application {
 //                0.157);
 
         // Project A
-        new EconomicsCalculator().calculate(1_600,
+        final var project = new ProjectInput(1_600,
                 7_500_000,
                 35_000_000,
                 15_000_000,
@@ -44,6 +45,8 @@ public class HelloApplication extends Application {
                 1_000_000,
                 15,
                 0.35);
+        final HelloController controller = fxmlLoader.getController();
+        controller.evaluate(project);
     }
 
     public static void main(String[] args) {
@@ -0,0 +1,141 @@
+package com.flowapp.petroleumeconomics.Metrics;
+
+import jdk.jfr.FlightRecorder;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Latency histograms and work counters of each {@link Phase}, also reported to JDK Flight Recorder as
+ * {@code com.flowapp.petroleumeconomics.Phase} events.
+ * <p>
+ * The shared registry is disabled unless the {@code petroleumeconomics.metrics} system property is true or
+ * {@link #setEnabled(boolean)} is called. While it is disabled and no recording has the event enabled,
+ * {@link #time(Phase)} returns a shared no-op timer, so instrumented code pays a flag check and no allocation.
+ * Phases nest: a table printed by the report is timed both as printing and as table rendering.
+ */
+public final class MetricsRegistry {
+
+    private static final MetricsRegistry SHARED = new MetricsRegistry(Boolean.getBoolean("petroleumeconomics.metrics"));
+
+    private final Map<Phase, LatencyHistogram> histograms = new EnumMap<>(Phase.class);
+    private volatile boolean enabled;
+
+    public MetricsRegistry(boolean enabled) {
+        this.enabled = enabled;
+        for (var phase : Phase.values()) {
+            histograms.put(phase, new LatencyHistogram());
+        }
+    }
+
+    public static MetricsRegistry shared() {
+        return SHARED;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Starts timing {@code phase}, to be ended with {@link Timer#stop(long)}.
+     */
+    public Timer time(@NotNull Phase phase) {
+        final boolean recording = isRecording();
+        if (!enabled && !recording) {
+            return Timer.NOOP;
+        }
+        return new Timer(phase, enabled ? histograms.get(phase) : null, recording);
+    }
+
+    /**
+     * Whether a recording has the phase event enabled. Loading an event class starts JFR, which costs hundreds of
+     * milliseconds, so the event class is only touched once Flight Recorder is already running.
+     */
+    private static boolean isRecording() {
+        return FlightRecorder.isInitialized() && EventProbe.PHASE_EVENT.isEnabled();
+    }
+
+    public MetricsSnapshot snapshot() {
+        final Map<Phase, MetricsSnapshot.PhaseMetrics> phases = new EnumMap<>(Phase.class);
+        for (var entry : histograms.entrySet()) {
+            phases.put(entry.getKey(), new MetricsSnapshot.PhaseMetrics(entry.getValue()));
+        }
+        return new MetricsSnapshot(System.currentTimeMillis(), phases);
+    }
+
+    public void reset() {
+        for (var histogram : histograms.values()) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Passes a snapshot to {@code output} every {@code period} from a daemon thread, until the returned handle
+     * is closed.
+     */
+    public Closeable startPeriodicDump(@NotNull Duration period, @NotNull Consumer<? super MetricsSnapshot> output) {
+        final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final var thread = new Thread(runnable, "metrics-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final long millis = Math.max(1, period.toMillis());
+        executor.scheduleAtFixedRate(() -> output.accept(snapshot()), millis, millis, TimeUnit.MILLISECONDS);
+        return executor::shutdown;
+    }
+
+    private static final class EventProbe {
+        static final PhaseEvent PHASE_EVENT = new PhaseEvent();
+    }
+
+    /**
+     * A phase being timed. Not thread-safe, it belongs to the thread that started it.
+     */
+    public static final class Timer {
+
+        static final Timer NOOP = new Timer(null, null, false);
+
+        private final Phase phase;
+        private final LatencyHistogram histogram;
+        private final PhaseEvent event;
+        private final long startNanos;
+
+        private Timer(Phase phase, LatencyHistogram histogram, boolean recording) {
+            this.phase = phase;
+            this.histogram = histogram;
+            this.event = recording ? new PhaseEvent() : null;
+            if (event != null) {
+                event.begin();
+            }
+            this.startNanos = histogram != null ? System.nanoTime() : 0;
+        }
+
+        /**
+         * Ends the phase, which did {@code size} units of work.
+         */
+        public void stop(long size) {
+            if (histogram != null) {
+                histogram.record(System.nanoTime() - startNanos, size);
+            }
+            if (event != null) {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.phase = phase.getKey();
+                    event.size = size;
+                    event.commit();
+                }
+            }
+        }
+    }
+}
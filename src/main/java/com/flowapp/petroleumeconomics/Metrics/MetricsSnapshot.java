@@ -0,0 +1,107 @@
+package com.flowapp.petroleumeconomics.Metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The metrics of every {@link Phase} at one point in time.
+ */
+public final class MetricsSnapshot {
+
+    private final long timestampMillis;
+    private final Map<Phase, PhaseMetrics> phases;
+
+    MetricsSnapshot(long timestampMillis, @NotNull Map<Phase, PhaseMetrics> phases) {
+        this.timestampMillis = timestampMillis;
+        this.phases = Collections.unmodifiableMap(new EnumMap<>(phases));
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public Map<Phase, PhaseMetrics> getPhases() {
+        return phases;
+    }
+
+    public PhaseMetrics get(@NotNull Phase phase) {
+        return phases.get(phase);
+    }
+
+    /**
+     * One line per phase that ran: calls, work, total time and latency quantiles in microseconds.
+     */
+    @Override
+    public String toString() {
+        final var text = new StringBuilder();
+        for (var entry : phases.entrySet()) {
+            final var phase = entry.getKey();
+            final var metrics = entry.getValue();
+            if (metrics.getCalls() == 0) {
+                continue;
+            }
+            if (text.length() > 0) {
+                text.append('\n');
+            }
+            text.append(String.format(Locale.ROOT,
+                    "%-10s calls=%d %s=%d total=%.3fms mean=%.1fus p50=%.1fus p99=%.1fus max=%.1fus",
+                    phase.getKey(), metrics.getCalls(), phase.getUnit(), metrics.getTotalSize(),
+                    metrics.getTotalNanos() / 1e6, metrics.getMeanNanos() / 1e3, metrics.getP50Nanos() / 1e3,
+                    metrics.getP99Nanos() / 1e3, metrics.getMaxNanos() / 1e3));
+        }
+        return text.toString();
+    }
+
+    public static final class PhaseMetrics {
+        private final long calls;
+        private final long totalSize;
+        private final long totalNanos;
+        private final long p50Nanos;
+        private final long p99Nanos;
+        private final long maxNanos;
+
+        PhaseMetrics(@NotNull LatencyHistogram histogram) {
+            this.calls = histogram.getCount();
+            this.totalSize = histogram.getTotalSize();
+            this.totalNanos = histogram.getTotalNanos();
+            this.p50Nanos = histogram.getQuantileNanos(0.5);
+            this.p99Nanos = histogram.getQuantileNanos(0.99);
+            this.maxNanos = histogram.getMaxNanos();
+        }
+
+        public long getCalls() {
+            return calls;
+        }
+
+        /**
+         * Work done over all calls, in the unit of the phase.
+         */
+        public long getTotalSize() {
+            return totalSize;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public double getMeanNanos() {
+            return calls == 0 ? 0 : (double) totalNanos / calls;
+        }
+
+        public long getP50Nanos() {
+            return p50Nanos;
+        }
+
+        public long getP99Nanos() {
+            return p99Nanos;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.flowapp.petroleumeconomics.Metrics;
+
+/**
+ * The stages of an evaluation that are timed, and the requests of the HTTP service, each with the unit of the
+ * work it reports.
+ */
+public enum Phase {
+    PRODUCTION("production", "periods"),
+    NET_PRESENT_VALUE("npv", "periods"),
+    INTERNAL_RATE_OF_RETURN("irr", "evaluations"),
+    PRINTING("printing", "lines"),
+    TABLE_RENDERING("table", "rows"),
+    CHARTING("chart", "points"),
+    REQUEST("request", "bytes");
+
+    private final String key;
+    private final String unit;
+
+    Phase(String key, String unit) {
+        this.key = key;
+        this.unit = unit;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getUnit() {
+        return unit;
+    }
+}
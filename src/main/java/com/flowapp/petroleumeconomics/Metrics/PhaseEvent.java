@@ -0,0 +1,23 @@
+package com.flowapp.petroleumeconomics.Metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Event;
+
+@Name("com.flowapp.petroleumeconomics.Phase")
+@Label("Economics Phase")
+@Category("Petroleum Economics")
+@Description("A timed stage of a project evaluation or of its report")
+@StackTrace(false)
+class PhaseEvent extends Event {
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Size")
+    @Description("Work done by the phase, in the unit of the phase")
+    long size;
+}
@@ -0,0 +1,66 @@
+package com.flowapp.petroleumeconomics.Models;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Value of a variable at which the NPV of a project is zero, {@code NaN} when the NPV does not change sign
+ * over the searched range.
+ */
+public final class BreakEvenResult {
+
+    private final String variable;
+    private final double baseValue;
+    private final double value;
+    private final int evaluations;
+    private final long elapsedNanos;
+
+    public BreakEvenResult(@NotNull String variable, double baseValue, double value, int evaluations, long elapsedNanos) {
+        this.variable = variable;
+        this.baseValue = baseValue;
+        this.value = value;
+        this.evaluations = evaluations;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public String getVariable() {
+        return variable;
+    }
+
+    public double getBaseValue() {
+        return baseValue;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    public boolean isFound() {
+        return !Double.isNaN(value);
+    }
+
+    /**
+     * Relative change from the base value that brings the NPV to zero, eg. -0.3 for a 30% lower oil price.
+     */
+    public double getMargin() {
+        return value / baseValue - 1;
+    }
+
+    public int getEvaluations() {
+        return evaluations;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "BreakEvenResult{" +
+                "variable=" + variable +
+                ", baseValue=" + baseValue +
+                ", value=" + value +
+                ", evaluations=" + evaluations +
+                ", elapsedNanos=" + elapsedNanos +
+                '}';
+    }
+}
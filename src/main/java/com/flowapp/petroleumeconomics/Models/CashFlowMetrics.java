@@ -0,0 +1,78 @@
+package com.flowapp.petroleumeconomics.Models;
+
+/**
+ * Figures of a cash-flow series found in the same pass as its present values, see
+ * {@link com.flowapp.petroleumeconomics.Utils.EconomicsUtils#calculateCashFlowMetrics}.
+ * Payback periods are counted in periods of the series, interpolated within the period after which the cumulative
+ * position stays at or above zero, and are {@code NaN} when it ends below zero.
+ */
+public final class CashFlowMetrics {
+
+    private final double netPresentValue;
+    private final double paybackPeriod;
+    private final double discountedPaybackPeriod;
+    private final double maximumExposure;
+    private final double presentValueOfOutlays;
+
+    public CashFlowMetrics(double netPresentValue,
+                           double paybackPeriod,
+                           double discountedPaybackPeriod,
+                           double maximumExposure,
+                           double presentValueOfOutlays) {
+        this.netPresentValue = netPresentValue;
+        this.paybackPeriod = paybackPeriod;
+        this.discountedPaybackPeriod = discountedPaybackPeriod;
+        this.maximumExposure = maximumExposure;
+        this.presentValueOfOutlays = presentValueOfOutlays;
+    }
+
+    public double getNetPresentValue() {
+        return netPresentValue;
+    }
+
+    /**
+     * Periods until the undiscounted cash flows have repaid the outlays.
+     */
+    public double getPaybackPeriod() {
+        return paybackPeriod;
+    }
+
+    /**
+     * Periods until the present values have repaid the outlays.
+     */
+    public double getDiscountedPaybackPeriod() {
+        return discountedPaybackPeriod;
+    }
+
+    /**
+     * Deepest the cumulative undiscounted cash position goes below zero, as a positive amount.
+     */
+    public double getMaximumExposure() {
+        return maximumExposure;
+    }
+
+    /**
+     * Sum of the present values of the negative cash flows, as a positive amount.
+     */
+    public double getPresentValueOfOutlays() {
+        return presentValueOfOutlays;
+    }
+
+    /**
+     * DPIR: NPV per unit of discounted outlay, {@code NaN} when there is no outlay.
+     */
+    public double getDiscountedProfitabilityIndex() {
+        return presentValueOfOutlays == 0 ? Double.NaN : netPresentValue / presentValueOfOutlays;
+    }
+
+    @Override
+    public String toString() {
+        return "CashFlowMetrics{" +
+                "netPresentValue=" + netPresentValue +
+                ", paybackPeriod=" + paybackPeriod +
+                ", discountedPaybackPeriod=" + discountedPaybackPeriod +
+                ", maximumExposure=" + maximumExposure +
+                ", presentValueOfOutlays=" + presentValueOfOutlays +
+                '}';
+    }
+}
@@ -0,0 +1,83 @@
+package com.flowapp.petroleumeconomics.Models;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * A growable series of yearly cash flows backed by a primitive {@code double[]}.
+ * Index {@code i} is the cash flow at the end of period {@code i}, index 0 being the initial investment.
+ */
+public final class CashFlows {
+
+    private double[] values;
+    private int size;
+
+    public CashFlows() {
+        this(16);
+    }
+
+    public CashFlows(int capacity) {
+        this.values = new double[Math.max(capacity, 1)];
+        this.size = 0;
+    }
+
+    public static CashFlows of(@NotNull double... values) {
+        final var cashFlows = new CashFlows(values.length);
+        System.arraycopy(values, 0, cashFlows.values, 0, values.length);
+        cashFlows.size = values.length;
+        return cashFlows;
+    }
+
+    public void add(double value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+        }
+        values[size++] = value;
+    }
+
+    public double get(int index) {
+        checkIndex(index);
+        return values[index];
+    }
+
+    public void set(int index, double value) {
+        checkIndex(index);
+        values[index] = value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * The backing array, only the first {@link #size()} entries are meaningful.
+     * Exposed so that hot loops can run over the values without copying or boxing.
+     */
+    public double[] values() {
+        return values;
+    }
+
+    public double[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
@@ -0,0 +1,13 @@
+package com.flowapp.petroleumeconomics.Models;
+
+/**
+ * Arps decline curve families.
+ */
+public enum DeclineType {
+    /** q = qi * exp(-D t) */
+    EXPONENTIAL,
+    /** q = qi / (1 + b D t)^(1/b), 0 &lt; b, b != 1 */
+    HYPERBOLIC,
+    /** q = qi / (1 + D t), the hyperbolic curve with b = 1 */
+    HARMONIC
+}
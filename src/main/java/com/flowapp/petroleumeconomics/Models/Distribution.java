@@ -0,0 +1,94 @@
+package com.flowapp.petroleumeconomics.Models;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.SplittableRandom;
+
+/**
+ * A probability distribution that an uncertain project parameter is sampled from.
+ * Implementations must be stateless so that one instance can be shared by every simulation thread.
+ */
+@FunctionalInterface
+public interface Distribution {
+
+    double sample(@NotNull SplittableRandom random);
+
+    /**
+     * Clamps every sample into [min, max], used to keep samples within the physical range of a parameter.
+     */
+    default Distribution clamp(double min, double max) {
+        if (min > max) {
+            throw new IllegalArgumentException("min must not exceed max: " + min + " > " + max);
+        }
+        return random -> Math.min(max, Math.max(min, sample(random)));
+    }
+
+    static Distribution constant(double value) {
+        return random -> value;
+    }
+
+    static Distribution uniform(double min, double max) {
+        if (!(min <= max)) {
+            throw new IllegalArgumentException("min must not exceed max: " + min + " > " + max);
+        }
+        return random -> min + (max - min) * random.nextDouble();
+    }
+
+    static Distribution normal(double mean, double standardDeviation) {
+        if (!(standardDeviation >= 0)) {
+            throw new IllegalArgumentException("standardDeviation must not be negative: " + standardDeviation);
+        }
+        return random -> mean + standardDeviation * standardNormal(random);
+    }
+
+    /**
+     * Log-normal distribution whose natural logarithm is normal with the given mean and standard deviation.
+     */
+    static Distribution logNormal(double logMean, double logStandardDeviation) {
+        if (!(logStandardDeviation >= 0)) {
+            throw new IllegalArgumentException("logStandardDeviation must not be negative: " + logStandardDeviation);
+        }
+        return random -> Math.exp(logMean + logStandardDeviation * standardNormal(random));
+    }
+
+    /**
+     * Log-normal distribution parameterised by its own (arithmetic) mean and standard deviation.
+     */
+    static Distribution logNormalOfMean(double mean, double standardDeviation) {
+        if (!(mean > 0)) {
+            throw new IllegalArgumentException("mean must be positive: " + mean);
+        }
+        final double variance = Math.log(1 + (standardDeviation * standardDeviation) / (mean * mean));
+        return logNormal(Math.log(mean) - variance / 2, Math.sqrt(variance));
+    }
+
+    static Distribution triangular(double min, double mode, double max) {
+        if (!(min <= mode && mode <= max)) {
+            throw new IllegalArgumentException("expected min <= mode <= max: " + min + ", " + mode + ", " + max);
+        }
+        final double range = max - min;
+        final double split = range == 0 ? 0 : (mode - min) / range;
+        return random -> {
+            final double u = random.nextDouble();
+            if (u < split) {
+                return min + Math.sqrt(u * range * (mode - min));
+            }
+            return max - Math.sqrt((1 - u) * range * (max - mode));
+        };
+    }
+
+    /**
+     * Marsaglia polar method, SplittableRandom has no nextGaussian.
+     */
+    static double standardNormal(@NotNull SplittableRandom random) {
+        double u;
+        double v;
+        double s;
+        do {
+            u = 2 * random.nextDouble() - 1;
+            v = 2 * random.nextDouble() - 1;
+            s = u * u + v * v;
+        } while (s >= 1 || s == 0);
+        return u * Math.sqrt(-2 * Math.log(s) / s);
+    }
+}
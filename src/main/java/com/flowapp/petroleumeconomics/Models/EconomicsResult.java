@@ -0,0 +1,172 @@
+package com.flowapp.petroleumeconomics.Models;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Immutable outcome of evaluating a {@link ProjectInput}.
+ * The series are per period of the project's {@link TimeStep} and all have {@link #getEconomicLife()} + 1
+ * entries, period 0 holding the initial investment. Discount factors use the equivalent periodic rate and
+ * the IRR is always an effective yearly rate.
+ */
+public final class EconomicsResult {
+
+    private final ProjectInput input;
+    private final double[] cashFlows;
+    private final double[] discountFactors;
+    private final double[] presentValues;
+    private final double[] accumulatedPresentValues;
+    private final CashFlowMetrics cashFlowMetrics;
+    private final IRRResult internalRateOfReturn;
+    private final double profitabilityIndex;
+    private final double totalOilProduction;
+
+    /**
+     * Copies the series, so the caller keeps its arrays.
+     */
+    public EconomicsResult(@NotNull ProjectInput input,
+                           @NotNull double[] cashFlows,
+                           @NotNull double[] discountFactors,
+                           @NotNull double[] presentValues,
+                           @NotNull double[] accumulatedPresentValues,
+                           @NotNull CashFlowMetrics cashFlowMetrics,
+                           @NotNull IRRResult internalRateOfReturn,
+                           double profitabilityIndex,
+                           double totalOilProduction) {
+        this(input, cashFlowMetrics, internalRateOfReturn, profitabilityIndex, totalOilProduction,
+                cashFlows.clone(), discountFactors.clone(), presentValues.clone(), accumulatedPresentValues.clone());
+    }
+
+    private EconomicsResult(ProjectInput input,
+                            CashFlowMetrics cashFlowMetrics,
+                            IRRResult internalRateOfReturn,
+                            double profitabilityIndex,
+                            double totalOilProduction,
+                            double[] cashFlows,
+                            double[] discountFactors,
+                            double[] presentValues,
+                            double[] accumulatedPresentValues) {
+        this.input = input;
+        this.cashFlows = cashFlows;
+        this.discountFactors = discountFactors;
+        this.presentValues = presentValues;
+        this.accumulatedPresentValues = accumulatedPresentValues;
+        this.cashFlowMetrics = cashFlowMetrics;
+        this.internalRateOfReturn = internalRateOfReturn;
+        this.profitabilityIndex = profitabilityIndex;
+        this.totalOilProduction = totalOilProduction;
+    }
+
+    /**
+     * Takes ownership of the series, they are not copied: for arrays built for this result and referenced
+     * nowhere else, such as those of an evaluation.
+     */
+    public static EconomicsResult ofOwnedSeries(@NotNull ProjectInput input,
+                                                @NotNull double[] cashFlows,
+                                                @NotNull double[] discountFactors,
+                                                @NotNull double[] presentValues,
+                                                @NotNull double[] accumulatedPresentValues,
+                                                @NotNull CashFlowMetrics cashFlowMetrics,
+                                                @NotNull IRRResult internalRateOfReturn,
+                                                double profitabilityIndex,
+                                                double totalOilProduction) {
+        return new EconomicsResult(input, cashFlowMetrics, internalRateOfReturn, profitabilityIndex, totalOilProduction,
+                cashFlows, discountFactors, presentValues, accumulatedPresentValues);
+    }
+
+    public ProjectInput getInput() {
+        return input;
+    }
+
+    public TimeStep getTimeStep() {
+        return input.getTimeStep();
+    }
+
+    /**
+     * Number of producing periods, the abandonment cost is charged on the last one.
+     */
+    public int getEconomicLife() {
+        return cashFlows.length - 1;
+    }
+
+    public double getEconomicLifeYears() {
+        return (double) getEconomicLife() / input.getTimeStep().getPeriodsPerYear();
+    }
+
+    public double[] getCashFlows() {
+        return cashFlows.clone();
+    }
+
+    public double[] getDiscountFactors() {
+        return discountFactors.clone();
+    }
+
+    public double[] getPresentValues() {
+        return presentValues.clone();
+    }
+
+    public double[] getAccumulatedPresentValues() {
+        return accumulatedPresentValues.clone();
+    }
+
+    public double getNetPresentValue() {
+        return cashFlowMetrics.getNetPresentValue();
+    }
+
+    /**
+     * NPV, payback periods, maximum exposure and discounted outlays, the payback periods in periods of the time step.
+     */
+    public CashFlowMetrics getCashFlowMetrics() {
+        return cashFlowMetrics;
+    }
+
+    public double getPaybackYears() {
+        return cashFlowMetrics.getPaybackPeriod() / input.getTimeStep().getPeriodsPerYear();
+    }
+
+    public double getDiscountedPaybackYears() {
+        return cashFlowMetrics.getDiscountedPaybackPeriod() / input.getTimeStep().getPeriodsPerYear();
+    }
+
+    public double getMaximumExposure() {
+        return cashFlowMetrics.getMaximumExposure();
+    }
+
+    /**
+     * DPIR, the NPV over the present value of the outlays, where {@link #getProfitabilityIndex()} divides by the
+     * undiscounted initial investment.
+     */
+    public double getDiscountedProfitabilityIndex() {
+        return cashFlowMetrics.getDiscountedProfitabilityIndex();
+    }
+
+    public IRRResult getInternalRateOfReturn() {
+        return internalRateOfReturn;
+    }
+
+    public double getProfitabilityIndex() {
+        return profitabilityIndex;
+    }
+
+    public double getTotalOilProduction() {
+        return totalOilProduction;
+    }
+
+    public double getInitialInvestment() {
+        return input.getInitialInvestment();
+    }
+
+    @Override
+    public String toString() {
+        return "EconomicsResult{" +
+                "economicLife=" + getEconomicLife() +
+                ", netPresentValue=" + getNetPresentValue() +
+                ", internalRateOfReturn=" + internalRateOfReturn +
+                ", profitabilityIndex=" + profitabilityIndex +
+                ", paybackYears=" + getPaybackYears() +
+                ", discountedPaybackYears=" + getDiscountedPaybackYears() +
+                ", maximumExposure=" + getMaximumExposure() +
+                ", discountedProfitabilityIndex=" + getDiscountedProfitabilityIndex() +
+                ", totalOilProduction=" + totalOilProduction +
+                '}';
+    }
+}
@@ -0,0 +1,93 @@
+package com.flowapp.petroleumeconomics.Models;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+public final class IRRResult {
+
+    public enum Status {
+        /** The NPV never crosses zero, there is no internal rate of return. */
+        NONE,
+        /** Exactly one root was found. */
+        UNIQUE,
+        /** The NPV crosses zero more than once, every root is reported. */
+        MULTIPLE
+    }
+
+    private final Status status;
+    private final double[] rates;
+    private final double rate;
+    private final int evaluations;
+
+    public IRRResult(@NotNull double[] rates, int evaluations) {
+        this(rates, rates.length == 0 ? Double.NaN : Arrays.stream(rates).min().getAsDouble(), evaluations);
+    }
+
+    /**
+     * @param rate the root reported by {@link #getRate()}, one of {@code rates}
+     */
+    public IRRResult(@NotNull double[] rates, double rate, int evaluations) {
+        this.rates = rates.clone();
+        Arrays.sort(this.rates);
+        this.rate = rate;
+        this.evaluations = evaluations;
+        if (this.rates.length == 0) {
+            this.status = Status.NONE;
+        } else if (this.rates.length == 1) {
+            this.status = Status.UNIQUE;
+        } else {
+            this.status = Status.MULTIPLE;
+        }
+    }
+
+    /**
+     * Converts rates found on a schedule of {@code periodsPerYear} periods per year to effective yearly rates.
+     */
+    public IRRResult annualized(int periodsPerYear) {
+        if (periodsPerYear == 1) {
+            return this;
+        }
+        final double[] annual = new double[rates.length];
+        for (int i = 0; i < rates.length; i++) {
+            annual[i] = Math.pow(1 + rates[i], periodsPerYear) - 1;
+        }
+        return new IRRResult(annual, Math.pow(1 + rate, periodsPerYear) - 1, evaluations);
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean exists() {
+        return status != Status.NONE;
+    }
+
+    /**
+     * The internal rate of return, or {@code NaN} when there is none. When there are several roots this is the
+     * one chosen by the solver, see {@link #getRates()} for all of them.
+     */
+    public double getRate() {
+        return rate;
+    }
+
+    public double[] getRates() {
+        return rates.clone();
+    }
+
+    /**
+     * Number of NPV evaluations the solver performed.
+     */
+    public int getEvaluations() {
+        return evaluations;
+    }
+
+    @Override
+    public String toString() {
+        return "IRRResult{" +
+                "status=" + status +
+                ", rates=" + Arrays.toString(rates) +
+                ", evaluations=" + evaluations +
+                '}';
+    }
+}
@@ -0,0 +1,147 @@
+package com.flowapp.petroleumeconomics.Models;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Describes a Monte Carlo study: a base project, the distributions of its uncertain parameters,
+ * the number of trials and the seed that makes the run reproducible.
+ * Parameters without a distribution keep the value of the base project.
+ */
+public final class MonteCarloInput {
+
+    private final ProjectInput baseProject;
+    private final Distribution oilPricePerBarrel;
+    private final Distribution declineRatePerYear;
+    private final Distribution upTimeFraction;
+    private final Distribution initialProductionPerWellPerDay;
+    private final Distribution operatingCostPerBarrel;
+    private final Distribution capitalCostFactor;
+    private final int trials;
+    private final long seed;
+
+    private MonteCarloInput(Builder builder) {
+        if (builder.baseProject == null) {
+            throw new IllegalArgumentException("baseProject is required");
+        }
+        if (builder.trials <= 0) {
+            throw new IllegalArgumentException("trials must be positive: " + builder.trials);
+        }
+        final var base = builder.baseProject;
+        this.baseProject = base;
+        this.oilPricePerBarrel = orConstant(builder.oilPricePerBarrel, base.getOilPricePerBarrel());
+        this.declineRatePerYear = orConstant(builder.declineRatePerYear, base.getDeclineRatePerYear());
+        this.upTimeFraction = orConstant(builder.upTimeFraction, base.getUpTimeFraction());
+        this.initialProductionPerWellPerDay = orConstant(builder.initialProductionPerWellPerDay, base.getInitialProductionPerWellPerDay());
+        this.operatingCostPerBarrel = orConstant(builder.operatingCostPerBarrel, base.getOperatingCostPerBarrel());
+        this.capitalCostFactor = orConstant(builder.capitalCostFactor, 1);
+        this.trials = builder.trials;
+        this.seed = builder.seed;
+    }
+
+    private static Distribution orConstant(Distribution distribution, double value) {
+        return distribution != null ? distribution : Distribution.constant(value);
+    }
+
+    public static Builder builder(@NotNull ProjectInput baseProject) {
+        return new Builder(baseProject);
+    }
+
+    public ProjectInput getBaseProject() {
+        return baseProject;
+    }
+
+    public Distribution getOilPricePerBarrel() {
+        return oilPricePerBarrel;
+    }
+
+    public Distribution getDeclineRatePerYear() {
+        return declineRatePerYear;
+    }
+
+    public Distribution getUpTimeFraction() {
+        return upTimeFraction;
+    }
+
+    public Distribution getInitialProductionPerWellPerDay() {
+        return initialProductionPerWellPerDay;
+    }
+
+    public Distribution getOperatingCostPerBarrel() {
+        return operatingCostPerBarrel;
+    }
+
+    /**
+     * Multiplier applied to the wells, facilities and pipelines costs of the base project.
+     */
+    public Distribution getCapitalCostFactor() {
+        return capitalCostFactor;
+    }
+
+    public int getTrials() {
+        return trials;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public static final class Builder {
+        private final ProjectInput baseProject;
+        private Distribution oilPricePerBarrel;
+        private Distribution declineRatePerYear;
+        private Distribution upTimeFraction;
+        private Distribution initialProductionPerWellPerDay;
+        private Distribution operatingCostPerBarrel;
+        private Distribution capitalCostFactor;
+        private int trials = 100_000;
+        private long seed = 0;
+
+        private Builder(ProjectInput baseProject) {
+            this.baseProject = baseProject;
+        }
+
+        public Builder oilPricePerBarrel(Distribution distribution) {
+            this.oilPricePerBarrel = distribution;
+            return this;
+        }
+
+        public Builder declineRatePerYear(Distribution distribution) {
+            this.declineRatePerYear = distribution;
+            return this;
+        }
+
+        public Builder upTimeFraction(Distribution distribution) {
+            this.upTimeFraction = distribution;
+            return this;
+        }
+
+        public Builder initialProductionPerWellPerDay(Distribution distribution) {
+            this.initialProductionPerWellPerDay = distribution;
+            return this;
+        }
+
+        public Builder operatingCostPerBarrel(Distribution distribution) {
+            this.operatingCostPerBarrel = distribution;
+            return this;
+        }
+
+        public Builder capitalCostFactor(Distribution distribution) {
+            this.capitalCostFactor = distribution;
+            return this;
+        }
+
+        public Builder trials(int trials) {
+            this.trials = trials;
+            return this;
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public MonteCarloInput build() {
+            return new MonteCarloInput(this);
+        }
+    }
+}
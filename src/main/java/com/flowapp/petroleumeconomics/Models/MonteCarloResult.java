@@ -0,0 +1,157 @@
+package com.flowapp.petroleumeconomics.Models;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Outcome of a Monte Carlo study. Per-trial values are indexed by trial number, so two runs with the same
+ * seed produce identical arrays whatever the parallelism. Trials without an IRR hold {@code NaN}.
+ */
+public final class MonteCarloResult {
+
+    private final double[] netPresentValues;
+    private final double[] internalRatesOfReturn;
+    private final double[] totalOilProductions;
+    private final double[] sortedNetPresentValues;
+    private final double[] sortedInternalRatesOfReturn;
+    private final double expectedNetPresentValue;
+    private final double netPresentValueStandardDeviation;
+    private final double expectedInternalRateOfReturn;
+    private final double expectedTotalOilProduction;
+    private final double probabilityOfLoss;
+    private final long elapsedNanos;
+
+    /**
+     * Takes ownership of the per-trial arrays, they are not copied.
+     */
+    public MonteCarloResult(@NotNull double[] netPresentValues,
+                            @NotNull double[] internalRatesOfReturn,
+                            @NotNull double[] totalOilProductions,
+                            long elapsedNanos) {
+        this.netPresentValues = netPresentValues;
+        this.internalRatesOfReturn = internalRatesOfReturn;
+        this.totalOilProductions = totalOilProductions;
+        this.elapsedNanos = elapsedNanos;
+
+        final int trials = netPresentValues.length;
+        double npvMean = 0;
+        double npvSquares = 0;
+        double irrSum = 0;
+        int irrCount = 0;
+        double oilSum = 0;
+        int losses = 0;
+        for (int i = 0; i < trials; i++) {
+            final double npv = netPresentValues[i];
+            final double delta = npv - npvMean;
+            npvMean += delta / (i + 1);
+            npvSquares += delta * (npv - npvMean);
+            if (npv < 0) {
+                losses++;
+            }
+            final double irr = internalRatesOfReturn[i];
+            if (!Double.isNaN(irr)) {
+                irrSum += irr;
+                irrCount++;
+            }
+            oilSum += totalOilProductions[i];
+        }
+        this.expectedNetPresentValue = npvMean;
+        this.netPresentValueStandardDeviation = trials > 1 ? Math.sqrt(npvSquares / (trials - 1)) : 0;
+        this.expectedInternalRateOfReturn = irrCount > 0 ? irrSum / irrCount : Double.NaN;
+        this.expectedTotalOilProduction = oilSum / trials;
+        this.probabilityOfLoss = (double) losses / trials;
+
+        this.sortedNetPresentValues = netPresentValues.clone();
+        Arrays.parallelSort(sortedNetPresentValues);
+        this.sortedInternalRatesOfReturn = Arrays.stream(internalRatesOfReturn).filter(irr -> !Double.isNaN(irr)).toArray();
+        Arrays.parallelSort(sortedInternalRatesOfReturn);
+    }
+
+    public int getTrials() {
+        return netPresentValues.length;
+    }
+
+    public double[] getNetPresentValues() {
+        return netPresentValues.clone();
+    }
+
+    public double[] getInternalRatesOfReturn() {
+        return internalRatesOfReturn.clone();
+    }
+
+    public double[] getTotalOilProductions() {
+        return totalOilProductions.clone();
+    }
+
+    public double getExpectedNetPresentValue() {
+        return expectedNetPresentValue;
+    }
+
+    public double getNetPresentValueStandardDeviation() {
+        return netPresentValueStandardDeviation;
+    }
+
+    /**
+     * Mean IRR over the trials that have one.
+     */
+    public double getExpectedInternalRateOfReturn() {
+        return expectedInternalRateOfReturn;
+    }
+
+    public double getExpectedTotalOilProduction() {
+        return expectedTotalOilProduction;
+    }
+
+    /**
+     * P(NPV &lt; 0).
+     */
+    public double getProbabilityOfLoss() {
+        return probabilityOfLoss;
+    }
+
+    /**
+     * Fraction of the trials whose cash flows have no internal rate of return.
+     */
+    public double getProbabilityOfNoIRR() {
+        return 1 - (double) sortedInternalRatesOfReturn.length / netPresentValues.length;
+    }
+
+    /**
+     * The NPV below which {@code percentile} (0..1) of the trials fall.
+     */
+    public double getNetPresentValuePercentile(double percentile) {
+        return percentile(sortedNetPresentValues, percentile);
+    }
+
+    public double getInternalRateOfReturnPercentile(double percentile) {
+        return percentile(sortedInternalRatesOfReturn, percentile);
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    private static double percentile(double[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        final double position = Math.min(1, Math.max(0, percentile)) * (sorted.length - 1);
+        final int index = (int) position;
+        if (index + 1 >= sorted.length) {
+            return sorted[sorted.length - 1];
+        }
+        return sorted[index] + (position - index) * (sorted[index + 1] - sorted[index]);
+    }
+
+    @Override
+    public String toString() {
+        return "MonteCarloResult{" +
+                "trials=" + getTrials() +
+                ", expectedNetPresentValue=" + expectedNetPresentValue +
+                ", netPresentValueStandardDeviation=" + netPresentValueStandardDeviation +
+                ", expectedInternalRateOfReturn=" + expectedInternalRateOfReturn +
+                ", probabilityOfLoss=" + probabilityOfLoss +
+                '}';
+    }
+}
@@ -0,0 +1,99 @@
+package com.flowapp.petroleumeconomics.Models;
+
+import com.flowapp.petroleumeconomics.Statistics.CashFlowFan;
+import com.flowapp.petroleumeconomics.Statistics.DistributionSummary;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Outcome of a Monte Carlo study summarised as it runs, in memory independent of the number of trials:
+ * distributions of the NPV, IRR and reserves and the fan of yearly cash flows.
+ * <p>
+ * Moments are exact up to rounding and percentiles carry the error of {@link com.flowapp.petroleumeconomics.Statistics.TDigest}.
+ * The trials are sampled as in {@link MonteCarloResult} and summarised in a fixed order of blocks, so a seed always
+ * gives the same summary.
+ */
+public final class MonteCarloSummary {
+
+    private final int trials;
+    private final DistributionSummary netPresentValue;
+    private final DistributionSummary internalRateOfReturn;
+    private final DistributionSummary totalOilProduction;
+    private final CashFlowFan cashFlowFan;
+    private final long losses;
+    private final long elapsedNanos;
+
+    /**
+     * Takes ownership of the summaries and compresses them, so they are not modified by reads afterwards.
+     */
+    public MonteCarloSummary(int trials,
+                             @NotNull DistributionSummary netPresentValue,
+                             @NotNull DistributionSummary internalRateOfReturn,
+                             @NotNull DistributionSummary totalOilProduction,
+                             @NotNull CashFlowFan cashFlowFan,
+                             long losses,
+                             long elapsedNanos) {
+        this.trials = trials;
+        this.netPresentValue = netPresentValue;
+        this.internalRateOfReturn = internalRateOfReturn;
+        this.totalOilProduction = totalOilProduction;
+        this.cashFlowFan = cashFlowFan;
+        this.losses = losses;
+        this.elapsedNanos = elapsedNanos;
+        netPresentValue.compress();
+        internalRateOfReturn.compress();
+        totalOilProduction.compress();
+        cashFlowFan.compress();
+    }
+
+    public int getTrials() {
+        return trials;
+    }
+
+    public DistributionSummary getNetPresentValue() {
+        return netPresentValue;
+    }
+
+    /**
+     * IRR of the trials that have one, the others are counted as missing.
+     */
+    public DistributionSummary getInternalRateOfReturn() {
+        return internalRateOfReturn;
+    }
+
+    /**
+     * Reserves: total oil produced until abandonment.
+     */
+    public DistributionSummary getTotalOilProduction() {
+        return totalOilProduction;
+    }
+
+    public CashFlowFan getCashFlowFan() {
+        return cashFlowFan;
+    }
+
+    /**
+     * P(NPV &lt; 0), counted exactly.
+     */
+    public double getProbabilityOfLoss() {
+        return (double) losses / trials;
+    }
+
+    public double getProbabilityOfNoIRR() {
+        return (double) internalRateOfReturn.getMissingCount() / trials;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "MonteCarloSummary{" +
+                "trials=" + trials +
+                ", netPresentValue=" + netPresentValue +
+                ", internalRateOfReturn=" + internalRateOfReturn +
+                ", totalOilProduction=" + totalOilProduction +
+                ", probabilityOfLoss=" + getProbabilityOfLoss() +
+                '}';
+    }
+}
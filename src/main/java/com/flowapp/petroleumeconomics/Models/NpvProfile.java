@@ -0,0 +1,97 @@
+package com.flowapp.petroleumeconomics.Models;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * NPV of a project over a range of yearly discount rates, with its MIRR at a finance and a reinvestment rate.
+ * The rates where the profile crosses zero are its internal rates of return, located to within a grid step, so
+ * projects with several IRRs show as several crossings.
+ */
+public final class NpvProfile {
+
+    private final double[] discountRates;
+    private final double[] netPresentValues;
+    private final double[] crossings;
+    private final double financeRate;
+    private final double reinvestmentRate;
+    private final double modifiedInternalRateOfReturn;
+
+    public NpvProfile(@NotNull double[] discountRates,
+                      @NotNull double[] netPresentValues,
+                      double financeRate,
+                      double reinvestmentRate,
+                      double modifiedInternalRateOfReturn) {
+        if (discountRates.length != netPresentValues.length) {
+            throw new IllegalArgumentException("Every discount rate needs an NPV");
+        }
+        this.discountRates = discountRates;
+        this.netPresentValues = netPresentValues;
+        this.financeRate = financeRate;
+        this.reinvestmentRate = reinvestmentRate;
+        this.modifiedInternalRateOfReturn = modifiedInternalRateOfReturn;
+        this.crossings = findCrossings(discountRates, netPresentValues);
+    }
+
+    private static double[] findCrossings(double[] rates, double[] npvs) {
+        final double[] crossings = new double[rates.length];
+        int found = 0;
+        for (int i = 0; i < rates.length; i++) {
+            if (npvs[i] == 0) {
+                crossings[found++] = rates[i];
+            } else if (i > 0 && npvs[i - 1] != 0 && (npvs[i] > 0) != (npvs[i - 1] > 0)) {
+                // linear interpolation between the two grid points
+                final double t = npvs[i - 1] / (npvs[i - 1] - npvs[i]);
+                crossings[found++] = rates[i - 1] + t * (rates[i] - rates[i - 1]);
+            }
+        }
+        return Arrays.copyOf(crossings, found);
+    }
+
+    public double[] getDiscountRates() {
+        return discountRates;
+    }
+
+    public double[] getNetPresentValues() {
+        return netPresentValues;
+    }
+
+    /**
+     * Rates where the NPV changes sign, in increasing order.
+     */
+    public double[] getCrossings() {
+        return crossings.clone();
+    }
+
+    public boolean hasMultipleRatesOfReturn() {
+        return crossings.length > 1;
+    }
+
+    public double getFinanceRate() {
+        return financeRate;
+    }
+
+    public double getReinvestmentRate() {
+        return reinvestmentRate;
+    }
+
+    /**
+     * Yearly MIRR, or {@code NaN} when the project has no outlay or no inflow.
+     */
+    public double getModifiedInternalRateOfReturn() {
+        return modifiedInternalRateOfReturn;
+    }
+
+    @Override
+    public String toString() {
+        return "NpvProfile{" +
+                "rates=" + discountRates.length +
+                (discountRates.length > 0 ? " from " + discountRates[0] + " to " + discountRates[discountRates.length - 1] : "") +
+                ", crossings=" + Arrays.toString(crossings) +
+                ", financeRate=" + financeRate +
+                ", reinvestmentRate=" + reinvestmentRate +
+                ", mirr=" + modifiedInternalRateOfReturn +
+                '}';
+    }
+}
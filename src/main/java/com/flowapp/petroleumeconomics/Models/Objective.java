@@ -0,0 +1,27 @@
+package com.flowapp.petroleumeconomics.Models;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Figure of merit maximised when choosing between project configurations.
+ */
+public enum Objective {
+    NET_PRESENT_VALUE(EconomicsResult::getNetPresentValue),
+    PROFITABILITY_INDEX(EconomicsResult::getProfitabilityIndex),
+    DISCOUNTED_PROFITABILITY_INDEX(EconomicsResult::getDiscountedProfitabilityIndex),
+    /** Projects without an IRR rank last. */
+    INTERNAL_RATE_OF_RETURN(result -> result.getInternalRateOfReturn().exists()
+            ? result.getInternalRateOfReturn().getRate() : Double.NEGATIVE_INFINITY);
+
+    private final ToDoubleFunction<EconomicsResult> getter;
+
+    Objective(ToDoubleFunction<EconomicsResult> getter) {
+        this.getter = getter;
+    }
+
+    public double of(@NotNull EconomicsResult result) {
+        return getter.applyAsDouble(result);
+    }
+}
@@ -0,0 +1,83 @@
+package com.flowapp.petroleumeconomics.Models;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Best of a set of candidate project configurations for an {@link Objective}, among those within the capital
+ * budget. The best project is {@code null} when no candidate is feasible.
+ */
+public final class OptimizationResult {
+
+    private final Objective objective;
+    private final ProjectInput bestProject;
+    private final EconomicsResult bestResult;
+    private final int candidates;
+    private final int feasibleCandidates;
+    private final int evaluations;
+    private final long elapsedNanos;
+
+    public OptimizationResult(@NotNull Objective objective,
+                              @Nullable EconomicsResult bestResult,
+                              int candidates,
+                              int feasibleCandidates,
+                              int evaluations,
+                              long elapsedNanos) {
+        this.objective = objective;
+        this.bestProject = bestResult != null ? bestResult.getInput() : null;
+        this.bestResult = bestResult;
+        this.candidates = candidates;
+        this.feasibleCandidates = feasibleCandidates;
+        this.evaluations = evaluations;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public Objective getObjective() {
+        return objective;
+    }
+
+    public boolean isFeasible() {
+        return bestResult != null;
+    }
+
+    public ProjectInput getBestProject() {
+        return bestProject;
+    }
+
+    public EconomicsResult getBestResult() {
+        return bestResult;
+    }
+
+    public double getBestValue() {
+        return bestResult != null ? objective.of(bestResult) : Double.NaN;
+    }
+
+    public int getCandidates() {
+        return candidates;
+    }
+
+    public int getFeasibleCandidates() {
+        return feasibleCandidates;
+    }
+
+    public int getEvaluations() {
+        return evaluations;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "OptimizationResult{" +
+                "objective=" + objective +
+                ", bestValue=" + getBestValue() +
+                ", bestProject=" + bestProject +
+                ", candidates=" + candidates +
+                ", feasibleCandidates=" + feasibleCandidates +
+                ", evaluations=" + evaluations +
+                ", elapsedNanos=" + elapsedNanos +
+                '}';
+    }
+}
@@ -0,0 +1,115 @@
+package com.flowapp.petroleumeconomics.Models;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * The inputs of a {@link ProjectInput}, addressable by name so they can be varied generically.
+ */
+public enum Parameter {
+    INITIAL_PRODUCTION_PER_WELL_PER_DAY("initialProductionPerWellPerDay", true, -Double.MAX_VALUE, Double.MAX_VALUE,
+            ProjectInput::getInitialProductionPerWellPerDay, ProjectInput.Builder::initialProductionPerWellPerDay),
+    WELL_INITIAL_COST("wellInitialCost", false, -Double.MAX_VALUE, Double.MAX_VALUE,
+            ProjectInput::getWellInitialCost, ProjectInput.Builder::wellInitialCost),
+    FACILITIES_COST("facilitiesCost", false, -Double.MAX_VALUE, Double.MAX_VALUE,
+            ProjectInput::getFacilitiesCost, ProjectInput.Builder::facilitiesCost),
+    PIPELINES_COST("pipelinesCost", false, -Double.MAX_VALUE, Double.MAX_VALUE,
+            ProjectInput::getPipelinesCost, ProjectInput.Builder::pipelinesCost),
+    OIL_PRICE_PER_BARREL("oilPricePerBarrel", false, -Double.MAX_VALUE, Double.MAX_VALUE,
+            ProjectInput::getOilPricePerBarrel, ProjectInput.Builder::oilPricePerBarrel),
+    UP_TIME_FRACTION("upTimeFraction", true, 0, 1,
+            ProjectInput::getUpTimeFraction, ProjectInput.Builder::upTimeFraction),
+    INTEREST_RATE_PER_YEAR("interestRatePerYear", false, Math.nextUp(-1.0), Double.MAX_VALUE,
+            ProjectInput::getInterestRatePerYear, ProjectInput.Builder::interestRatePerYear),
+    NUMBER_OF_WELLS("numberOfWells", true, 0, Integer.MAX_VALUE,
+            ProjectInput::getNumberOfWells, (builder, value) -> builder.numberOfWells((int) Math.round(value))),
+    OPERATING_COST_PER_BARREL("operatingCostPerBarrel", false, -Double.MAX_VALUE, Double.MAX_VALUE,
+            ProjectInput::getOperatingCostPerBarrel, ProjectInput.Builder::operatingCostPerBarrel),
+    ABANDONMENT_COST("abandonmentCost", false, -Double.MAX_VALUE, Double.MAX_VALUE,
+            ProjectInput::getAbandonmentCost, ProjectInput.Builder::abandonmentCost),
+    ABANDONMENT_OIL_RATE_PER_WELL_PER_DAY("abandonmentOilRatePerWellPerDay", true, Double.MIN_VALUE, Double.MAX_VALUE,
+            ProjectInput::getAbandonmentOilRatePerWellPerDay, ProjectInput.Builder::abandonmentOilRatePerWellPerDay),
+    DECLINE_RATE_PER_YEAR("declineRatePerYear", true, Double.MIN_VALUE, 1,
+            ProjectInput::getDeclineRatePerYear, ProjectInput.Builder::declineRatePerYear);
+
+    private final String key;
+    private final boolean affectsProduction;
+    private final double minimum;
+    private final double maximum;
+    private final ToDoubleFunction<ProjectInput> getter;
+    private final Setter setter;
+
+    Parameter(String key, boolean affectsProduction, double minimum, double maximum,
+              ToDoubleFunction<ProjectInput> getter, Setter setter) {
+        this.key = key;
+        this.affectsProduction = affectsProduction;
+        this.minimum = minimum;
+        this.maximum = maximum;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    /**
+     * The camel case name used in files and on the command line.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Whether changing this parameter changes the {@link ProductionProfile}. When it does not, the
+     * profile of the base project can be reused as is.
+     */
+    public boolean affectsProduction() {
+        return affectsProduction;
+    }
+
+    /**
+     * Smallest value a {@link ProjectInput} accepts, the costs and rates being only required to be finite.
+     */
+    public double getMinimum() {
+        return minimum;
+    }
+
+    public double getMaximum() {
+        return maximum;
+    }
+
+    /**
+     * Nearest value to {@code value} within the domain of the parameter for {@code input}: a decline of 100% per
+     * year only fits the annual step decline.
+     */
+    public double clamp(@NotNull ProjectInput input, double value) {
+        final double max = this == DECLINE_RATE_PER_YEAR && !input.isAnnualStepDecline() ? Math.nextDown(maximum) : maximum;
+        return Math.min(max, Math.max(minimum, value));
+    }
+
+    public double get(@NotNull ProjectInput input) {
+        return getter.applyAsDouble(input);
+    }
+
+    public ProjectInput with(@NotNull ProjectInput input, double value) {
+        final var builder = input.toBuilder();
+        setter.set(builder, value);
+        return builder.build();
+    }
+
+    public void set(@NotNull ProjectInput.Builder builder, double value) {
+        setter.set(builder, value);
+    }
+
+    public static Parameter fromKey(@NotNull String key) {
+        for (var parameter : values()) {
+            if (parameter.key.equalsIgnoreCase(key) || parameter.name().equalsIgnoreCase(key)) {
+                return parameter;
+            }
+        }
+        throw new IllegalArgumentException("Unknown parameter: " + key);
+    }
+
+    @FunctionalInterface
+    private interface Setter {
+        void set(ProjectInput.Builder builder, double value);
+    }
+}
@@ -0,0 +1,121 @@
+package com.flowapp.petroleumeconomics.Models;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Portfolio level aggregates of a streamed evaluation.
+ */
+public final class PortfolioSummary {
+
+    private final long projects;
+    private final long failedProjects;
+    private final double totalNetPresentValue;
+    private final double totalInitialInvestment;
+    private final double[] yearlyCashFlows;
+    private final double capitalBudget;
+    private final List<RankedProject> selectedProjects;
+    private final long elapsedNanos;
+
+    public PortfolioSummary(long projects,
+                            long failedProjects,
+                            double totalNetPresentValue,
+                            double totalInitialInvestment,
+                            @NotNull double[] yearlyCashFlows,
+                            double capitalBudget,
+                            @NotNull List<RankedProject> selectedProjects,
+                            long elapsedNanos) {
+        this.projects = projects;
+        this.failedProjects = failedProjects;
+        this.totalNetPresentValue = totalNetPresentValue;
+        this.totalInitialInvestment = totalInitialInvestment;
+        this.yearlyCashFlows = yearlyCashFlows.clone();
+        this.capitalBudget = capitalBudget;
+        this.selectedProjects = Collections.unmodifiableList(selectedProjects);
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getProjects() {
+        return projects;
+    }
+
+    public long getFailedProjects() {
+        return failedProjects;
+    }
+
+    public double getTotalNetPresentValue() {
+        return totalNetPresentValue;
+    }
+
+    public double getTotalInitialInvestment() {
+        return totalInitialInvestment;
+    }
+
+    /**
+     * Sum of the yearly cash flows of every evaluated project, year 0 being the investment year. The periods of
+     * monthly and daily projects are summed into their years first.
+     */
+    public double[] getYearlyCashFlows() {
+        return yearlyCashFlows.clone();
+    }
+
+    public double getCapitalBudget() {
+        return capitalBudget;
+    }
+
+    /**
+     * Projects funded under the capital budget, by descending profitability index.
+     */
+    public List<RankedProject> getSelectedProjects() {
+        return selectedProjects;
+    }
+
+    public double getSelectedNetPresentValue() {
+        return selectedProjects.stream().mapToDouble(RankedProject::getNetPresentValue).sum();
+    }
+
+    public double getSelectedInitialInvestment() {
+        return selectedProjects.stream().mapToDouble(RankedProject::getInitialInvestment).sum();
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public static final class RankedProject {
+        private final String id;
+        private final double netPresentValue;
+        private final double initialInvestment;
+        private final double profitabilityIndex;
+
+        public RankedProject(@NotNull String id, double netPresentValue, double initialInvestment, double profitabilityIndex) {
+            this.id = id;
+            this.netPresentValue = netPresentValue;
+            this.initialInvestment = initialInvestment;
+            this.profitabilityIndex = profitabilityIndex;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public double getNetPresentValue() {
+            return netPresentValue;
+        }
+
+        public double getInitialInvestment() {
+            return initialInvestment;
+        }
+
+        public double getProfitabilityIndex() {
+            return profitabilityIndex;
+        }
+
+        @Override
+        public String toString() {
+            return id + " (PI " + profitabilityIndex + ", NPV " + netPresentValue + ")";
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.flowapp.petroleumeconomics.Models;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Field oil production per period of the project's {@link TimeStep}, index 0 being the investment period
+ * with no production.
+ * It depends only on the reservoir and operating inputs, so it can be shared by every evaluation
+ * that only changes prices or costs.
+ */
+public final class ProductionProfile {
+
+    private final double[] periodProduction;
+    private final double totalOilProduction;
+
+    public ProductionProfile(@NotNull double[] periodProduction) {
+        this.periodProduction = periodProduction.clone();
+        double total = 0;
+        for (double production : periodProduction) {
+            total += production;
+        }
+        this.totalOilProduction = total;
+    }
+
+    /**
+     * Number of producing periods.
+     */
+    public int getEconomicLife() {
+        return periodProduction.length - 1;
+    }
+
+    public int size() {
+        return periodProduction.length;
+    }
+
+    public double getProduction(int period) {
+        return periodProduction[period];
+    }
+
+    public double[] getPeriodProduction() {
+        return periodProduction.clone();
+    }
+
+    public double getTotalOilProduction() {
+        return totalOilProduction;
+    }
+}
@@ -0,0 +1,410 @@
+package com.flowapp.petroleumeconomics.Models;
+
+import com.flowapp.petroleumeconomics.Utils.ArpsDecline;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * Immutable set of parameters describing a single development project.
+ * <p>
+ * The default {@link TimeStep#ANNUAL} exponential schedule keeps the original convention of holding each
+ * year's starting rate for 365 days. Any other time step or decline type integrates the Arps curve over each
+ * period, with the nominal decline chosen so that the rate still falls by {@code declineRatePerYear} per year
+ * on the exponential curve.
+ * <p>
+ * Every amount must be finite, and the decline must reach the abandonment rate within
+ * {@link #MAX_PRODUCING_PERIODS} periods: the schedules are stepped period by period, so a decline of almost
+ * nothing would otherwise build cash flows until the heap runs out.
+ */
+public final class ProjectInput {
+
+    /** Longest producing life accepted, in periods of the time step, about 2700 years of daily periods. */
+    public static final int MAX_PRODUCING_PERIODS = 1_000_000;
+
+    private final double initialProductionPerWellPerDay;
+    private final double wellInitialCost;
+    private final double facilitiesCost;
+    private final double pipelinesCost;
+    private final double oilPricePerBarrel;
+    private final double upTimeFraction;
+    private final double interestRatePerYear;
+    private final int numberOfWells;
+    private final double operatingCostPerBarrel;
+    private final double abandonmentCost;
+    private final double abandonmentOilRatePerWellPerDay;
+    private final double declineRatePerYear;
+    private final TimeStep timeStep;
+    private final DeclineType declineType;
+    private final double hyperbolicExponent;
+
+    public ProjectInput(double initialProductionPerWellPerDay,
+                        double wellInitialCost,
+                        double facilitiesCost,
+                        double pipelinesCost,
+                        double oilPricePerBarrel,
+                        double upTimeFraction,
+                        double interestRatePerYear,
+                        int numberOfWells,
+                        double operatingCostPerBarrel,
+                        double abandonmentCost,
+                        double abandonmentOilRatePerWellPerDay,
+                        double declineRatePerYear) {
+        this(initialProductionPerWellPerDay,
+                wellInitialCost,
+                facilitiesCost,
+                pipelinesCost,
+                oilPricePerBarrel,
+                upTimeFraction,
+                interestRatePerYear,
+                numberOfWells,
+                operatingCostPerBarrel,
+                abandonmentCost,
+                abandonmentOilRatePerWellPerDay,
+                declineRatePerYear,
+                TimeStep.ANNUAL,
+                DeclineType.EXPONENTIAL,
+                0);
+    }
+
+    public ProjectInput(double initialProductionPerWellPerDay,
+                        double wellInitialCost,
+                        double facilitiesCost,
+                        double pipelinesCost,
+                        double oilPricePerBarrel,
+                        double upTimeFraction,
+                        double interestRatePerYear,
+                        int numberOfWells,
+                        double operatingCostPerBarrel,
+                        double abandonmentCost,
+                        double abandonmentOilRatePerWellPerDay,
+                        double declineRatePerYear,
+                        @NotNull TimeStep timeStep,
+                        @NotNull DeclineType declineType,
+                        double hyperbolicExponent) {
+        requireFinite("initialProductionPerWellPerDay", initialProductionPerWellPerDay);
+        requireFinite("wellInitialCost", wellInitialCost);
+        requireFinite("facilitiesCost", facilitiesCost);
+        requireFinite("pipelinesCost", pipelinesCost);
+        requireFinite("oilPricePerBarrel", oilPricePerBarrel);
+        requireFinite("interestRatePerYear", interestRatePerYear);
+        requireFinite("operatingCostPerBarrel", operatingCostPerBarrel);
+        requireFinite("abandonmentCost", abandonmentCost);
+        requireFinite("abandonmentOilRatePerWellPerDay", abandonmentOilRatePerWellPerDay);
+        if (numberOfWells < 0) {
+            throw new IllegalArgumentException("numberOfWells must not be negative: " + numberOfWells);
+        }
+        if (!(upTimeFraction >= 0 && upTimeFraction <= 1)) {
+            throw new IllegalArgumentException("upTimeFraction must be within [0, 1]: " + upTimeFraction);
+        }
+        if (!(interestRatePerYear > -1)) {
+            throw new IllegalArgumentException("interestRatePerYear must be greater than -1: " + interestRatePerYear);
+        }
+        if (!(declineRatePerYear > 0 && declineRatePerYear <= 1)) {
+            throw new IllegalArgumentException("declineRatePerYear must be within (0, 1]: " + declineRatePerYear);
+        }
+        if (!(abandonmentOilRatePerWellPerDay > 0)) {
+            throw new IllegalArgumentException("abandonmentOilRatePerWellPerDay must be positive: " + abandonmentOilRatePerWellPerDay);
+        }
+        Objects.requireNonNull(timeStep, "timeStep");
+        Objects.requireNonNull(declineType, "declineType");
+        if ((timeStep != TimeStep.ANNUAL || declineType != DeclineType.EXPONENTIAL) && declineRatePerYear >= 1) {
+            throw new IllegalArgumentException("declineRatePerYear must be below 1 for an Arps decline curve: " + declineRatePerYear);
+        }
+        if (declineType == DeclineType.HYPERBOLIC && !(hyperbolicExponent > 0 && hyperbolicExponent != 1
+                && hyperbolicExponent < Double.POSITIVE_INFINITY)) {
+            throw new IllegalArgumentException("hyperbolicExponent must be positive and not 1: " + hyperbolicExponent);
+        }
+        // the annual step decline falls on the exponential curve of the same nominal decline
+        final int producingPeriods = ArpsDecline.calculateProducingPeriods(declineType, hyperbolicExponent,
+                ArpsDecline.calculateNominalDecline(declineRatePerYear), initialProductionPerWellPerDay,
+                abandonmentOilRatePerWellPerDay, timeStep.getPeriodsPerYear());
+        if (producingPeriods > MAX_PRODUCING_PERIODS) {
+            throw new IllegalArgumentException("The decline takes " + producingPeriods + " periods to reach the abandonment rate, more than "
+                    + MAX_PRODUCING_PERIODS);
+        }
+        this.initialProductionPerWellPerDay = initialProductionPerWellPerDay;
+        this.wellInitialCost = wellInitialCost;
+        this.facilitiesCost = facilitiesCost;
+        this.pipelinesCost = pipelinesCost;
+        this.oilPricePerBarrel = oilPricePerBarrel;
+        this.upTimeFraction = upTimeFraction;
+        this.interestRatePerYear = interestRatePerYear;
+        this.numberOfWells = numberOfWells;
+        this.operatingCostPerBarrel = operatingCostPerBarrel;
+        this.abandonmentCost = abandonmentCost;
+        this.abandonmentOilRatePerWellPerDay = abandonmentOilRatePerWellPerDay;
+        this.declineRatePerYear = declineRatePerYear;
+        this.timeStep = timeStep;
+        this.declineType = declineType;
+        this.hyperbolicExponent = declineType == DeclineType.HYPERBOLIC ? hyperbolicExponent : 0;
+    }
+
+    private static void requireFinite(String name, double value) {
+        if (!Double.isFinite(value)) {
+            throw new IllegalArgumentException(name + " must be finite: " + value);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Builder toBuilder() {
+        return new Builder()
+                .initialProductionPerWellPerDay(initialProductionPerWellPerDay)
+                .wellInitialCost(wellInitialCost)
+                .facilitiesCost(facilitiesCost)
+                .pipelinesCost(pipelinesCost)
+                .oilPricePerBarrel(oilPricePerBarrel)
+                .upTimeFraction(upTimeFraction)
+                .interestRatePerYear(interestRatePerYear)
+                .numberOfWells(numberOfWells)
+                .operatingCostPerBarrel(operatingCostPerBarrel)
+                .abandonmentCost(abandonmentCost)
+                .abandonmentOilRatePerWellPerDay(abandonmentOilRatePerWellPerDay)
+                .declineRatePerYear(declineRatePerYear)
+                .timeStep(timeStep)
+                .declineType(declineType)
+                .hyperbolicExponent(hyperbolicExponent);
+    }
+
+    public double getInitialProductionPerWellPerDay() {
+        return initialProductionPerWellPerDay;
+    }
+
+    public double getWellInitialCost() {
+        return wellInitialCost;
+    }
+
+    public double getFacilitiesCost() {
+        return facilitiesCost;
+    }
+
+    public double getPipelinesCost() {
+        return pipelinesCost;
+    }
+
+    public double getOilPricePerBarrel() {
+        return oilPricePerBarrel;
+    }
+
+    public double getUpTimeFraction() {
+        return upTimeFraction;
+    }
+
+    public double getInterestRatePerYear() {
+        return interestRatePerYear;
+    }
+
+    public int getNumberOfWells() {
+        return numberOfWells;
+    }
+
+    public double getOperatingCostPerBarrel() {
+        return operatingCostPerBarrel;
+    }
+
+    public double getAbandonmentCost() {
+        return abandonmentCost;
+    }
+
+    public double getAbandonmentOilRatePerWellPerDay() {
+        return abandonmentOilRatePerWellPerDay;
+    }
+
+    public double getDeclineRatePerYear() {
+        return declineRatePerYear;
+    }
+
+    public TimeStep getTimeStep() {
+        return timeStep;
+    }
+
+    public DeclineType getDeclineType() {
+        return declineType;
+    }
+
+    /**
+     * Arps b exponent, only meaningful for {@link DeclineType#HYPERBOLIC}.
+     */
+    public double getHyperbolicExponent() {
+        return hyperbolicExponent;
+    }
+
+    /**
+     * Whether the project uses the original annual schedule rather than an integrated Arps curve.
+     */
+    public boolean isAnnualStepDecline() {
+        return timeStep == TimeStep.ANNUAL && declineType == DeclineType.EXPONENTIAL;
+    }
+
+    public double getInitialInvestment() {
+        return facilitiesCost + pipelinesCost + numberOfWells * wellInitialCost;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ProjectInput that = (ProjectInput) o;
+        return Double.compare(that.initialProductionPerWellPerDay, initialProductionPerWellPerDay) == 0 &&
+                Double.compare(that.wellInitialCost, wellInitialCost) == 0 &&
+                Double.compare(that.facilitiesCost, facilitiesCost) == 0 &&
+                Double.compare(that.pipelinesCost, pipelinesCost) == 0 &&
+                Double.compare(that.oilPricePerBarrel, oilPricePerBarrel) == 0 &&
+                Double.compare(that.upTimeFraction, upTimeFraction) == 0 &&
+                Double.compare(that.interestRatePerYear, interestRatePerYear) == 0 &&
+                numberOfWells == that.numberOfWells &&
+                Double.compare(that.operatingCostPerBarrel, operatingCostPerBarrel) == 0 &&
+                Double.compare(that.abandonmentCost, abandonmentCost) == 0 &&
+                Double.compare(that.abandonmentOilRatePerWellPerDay, abandonmentOilRatePerWellPerDay) == 0 &&
+                Double.compare(that.declineRatePerYear, declineRatePerYear) == 0 &&
+                timeStep == that.timeStep &&
+                declineType == that.declineType &&
+                Double.compare(that.hyperbolicExponent, hyperbolicExponent) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(initialProductionPerWellPerDay, wellInitialCost, facilitiesCost, pipelinesCost,
+                oilPricePerBarrel, upTimeFraction, interestRatePerYear, numberOfWells, operatingCostPerBarrel,
+                abandonmentCost, abandonmentOilRatePerWellPerDay, declineRatePerYear, timeStep, declineType,
+                hyperbolicExponent);
+    }
+
+    @Override
+    public String toString() {
+        return "ProjectInput{" +
+                "initialProductionPerWellPerDay=" + initialProductionPerWellPerDay +
+                ", wellInitialCost=" + wellInitialCost +
+                ", facilitiesCost=" + facilitiesCost +
+                ", pipelinesCost=" + pipelinesCost +
+                ", oilPricePerBarrel=" + oilPricePerBarrel +
+                ", upTimeFraction=" + upTimeFraction +
+                ", interestRatePerYear=" + interestRatePerYear +
+                ", numberOfWells=" + numberOfWells +
+                ", operatingCostPerBarrel=" + operatingCostPerBarrel +
+                ", abandonmentCost=" + abandonmentCost +
+                ", abandonmentOilRatePerWellPerDay=" + abandonmentOilRatePerWellPerDay +
+                ", declineRatePerYear=" + declineRatePerYear +
+                ", timeStep=" + timeStep +
+                ", declineType=" + declineType +
+                ", hyperbolicExponent=" + hyperbolicExponent +
+                '}';
+    }
+
+    public static final class Builder {
+        private double initialProductionPerWellPerDay;
+        private double wellInitialCost;
+        private double facilitiesCost;
+        private double pipelinesCost;
+        private double oilPricePerBarrel;
+        private double upTimeFraction = 1;
+        private double interestRatePerYear;
+        private int numberOfWells = 1;
+        private double operatingCostPerBarrel;
+        private double abandonmentCost;
+        private double abandonmentOilRatePerWellPerDay;
+        private double declineRatePerYear;
+        private TimeStep timeStep = TimeStep.ANNUAL;
+        private DeclineType declineType = DeclineType.EXPONENTIAL;
+        private double hyperbolicExponent;
+
+        private Builder() {
+        }
+
+        public Builder initialProductionPerWellPerDay(double initialProductionPerWellPerDay) {
+            this.initialProductionPerWellPerDay = initialProductionPerWellPerDay;
+            return this;
+        }
+
+        public Builder wellInitialCost(double wellInitialCost) {
+            this.wellInitialCost = wellInitialCost;
+            return this;
+        }
+
+        public Builder facilitiesCost(double facilitiesCost) {
+            this.facilitiesCost = facilitiesCost;
+            return this;
+        }
+
+        public Builder pipelinesCost(double pipelinesCost) {
+            this.pipelinesCost = pipelinesCost;
+            return this;
+        }
+
+        public Builder oilPricePerBarrel(double oilPricePerBarrel) {
+            this.oilPricePerBarrel = oilPricePerBarrel;
+            return this;
+        }
+
+        public Builder upTimeFraction(double upTimeFraction) {
+            this.upTimeFraction = upTimeFraction;
+            return this;
+        }
+
+        public Builder interestRatePerYear(double interestRatePerYear) {
+            this.interestRatePerYear = interestRatePerYear;
+            return this;
+        }
+
+        public Builder numberOfWells(int numberOfWells) {
+            this.numberOfWells = numberOfWells;
+            return this;
+        }
+
+        public Builder operatingCostPerBarrel(double operatingCostPerBarrel) {
+            this.operatingCostPerBarrel = operatingCostPerBarrel;
+            return this;
+        }
+
+        public Builder abandonmentCost(double abandonmentCost) {
+            this.abandonmentCost = abandonmentCost;
+            return this;
+        }
+
+        public Builder abandonmentOilRatePerWellPerDay(double abandonmentOilRatePerWellPerDay) {
+            this.abandonmentOilRatePerWellPerDay = abandonmentOilRatePerWellPerDay;
+            return this;
+        }
+
+        public Builder declineRatePerYear(double declineRatePerYear) {
+            this.declineRatePerYear = declineRatePerYear;
+            return this;
+        }
+
+        public Builder timeStep(TimeStep timeStep) {
+            this.timeStep = timeStep;
+            return this;
+        }
+
+        public Builder declineType(DeclineType declineType) {
+            this.declineType = declineType;
+            return this;
+        }
+
+        public Builder hyperbolicExponent(double hyperbolicExponent) {
+            this.hyperbolicExponent = hyperbolicExponent;
+            return this;
+        }
+
+        public ProjectInput build() {
+            return new ProjectInput(initialProductionPerWellPerDay,
+                    wellInitialCost,
+                    facilitiesCost,
+                    pipelinesCost,
+                    oilPricePerBarrel,
+                    upTimeFraction,
+                    interestRatePerYear,
+                    numberOfWells,
+                    operatingCostPerBarrel,
+                    abandonmentCost,
+                    abandonmentOilRatePerWellPerDay,
+                    declineRatePerYear,
+                    timeStep,
+                    declineType,
+                    hyperbolicExponent);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.flowapp.petroleumeconomics.Models;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Many scenarios of the annual step-decline model in columnar form: one primitive array per {@link Parameter},
+ * element i of every column describing scenario i.
+ * <p>
+ * The columns are live, writing to them changes the batch. Values written through {@link #set(int, ProjectInput)}
+ * have been validated by {@link ProjectInput}, values written to the columns directly are not.
+ */
+public final class ScenarioBatch {
+
+    private final int size;
+    private final double[][] columns;
+
+    public ScenarioBatch(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("size must not be negative: " + size);
+        }
+        this.size = size;
+        this.columns = new double[Parameter.values().length][size];
+    }
+
+    public static ScenarioBatch of(@NotNull List<ProjectInput> inputs) {
+        final var batch = new ScenarioBatch(inputs.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            batch.set(i, inputs.get(i));
+        }
+        return batch;
+    }
+
+    /**
+     * A batch of {@code size} copies of {@code base}, to be varied column by column.
+     */
+    public static ScenarioBatch filledWith(@NotNull ProjectInput base, int size) {
+        final var batch = new ScenarioBatch(size);
+        for (var parameter : Parameter.values()) {
+            Arrays.fill(batch.column(parameter), parameter.get(base));
+        }
+        return batch;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double[] column(@NotNull Parameter parameter) {
+        return columns[parameter.ordinal()];
+    }
+
+    public void set(int index, @NotNull ProjectInput input) {
+        if (!input.isAnnualStepDecline()) {
+            throw new IllegalArgumentException("Only annual step-decline projects can be batched: " + input);
+        }
+        for (var parameter : Parameter.values()) {
+            columns[parameter.ordinal()][index] = parameter.get(input);
+        }
+    }
+
+    public ProjectInput get(int index) {
+        final var builder = ProjectInput.builder();
+        for (var parameter : Parameter.values()) {
+            parameter.set(builder, columns[parameter.ordinal()][index]);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,148 @@
+package com.flowapp.petroleumeconomics.Models;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * NPV and IRR of a base project with each {@link Parameter} varied over a grid, one parameter at a time.
+ * Grid points that give an invalid project hold {@code NaN}.
+ */
+public final class SensitivityResult {
+
+    private final ProjectInput baseProject;
+    private final double baseNetPresentValue;
+    private final double baseInternalRateOfReturn;
+    private final Map<Parameter, Series> series;
+
+    public SensitivityResult(@NotNull ProjectInput baseProject,
+                             double baseNetPresentValue,
+                             double baseInternalRateOfReturn,
+                             @NotNull Map<Parameter, Series> series) {
+        this.baseProject = baseProject;
+        this.baseNetPresentValue = baseNetPresentValue;
+        this.baseInternalRateOfReturn = baseInternalRateOfReturn;
+        this.series = Collections.unmodifiableMap(new EnumMap<>(series));
+    }
+
+    public ProjectInput getBaseProject() {
+        return baseProject;
+    }
+
+    public double getBaseNetPresentValue() {
+        return baseNetPresentValue;
+    }
+
+    public double getBaseInternalRateOfReturn() {
+        return baseInternalRateOfReturn;
+    }
+
+    public Map<Parameter, Series> getSeries() {
+        return series;
+    }
+
+    /**
+     * One bar per parameter with the lowest and highest NPV over its grid, widest swing first.
+     */
+    public List<TornadoBar> getTornado() {
+        final List<TornadoBar> bars = new ArrayList<>();
+        for (var entry : series.entrySet()) {
+            final var npvs = entry.getValue().netPresentValues;
+            double low = Double.POSITIVE_INFINITY;
+            double high = Double.NEGATIVE_INFINITY;
+            for (double npv : npvs) {
+                if (Double.isNaN(npv)) {
+                    continue;
+                }
+                low = Math.min(low, npv);
+                high = Math.max(high, npv);
+            }
+            if (low <= high) {
+                bars.add(new TornadoBar(entry.getKey(), low, high));
+            }
+        }
+        bars.sort(Comparator.comparingDouble(TornadoBar::getSwing).reversed());
+        return bars;
+    }
+
+    /**
+     * Spider plot data of a parameter: relative change of the input from the base value against relative
+     * change of the NPV from the base NPV.
+     */
+    public double[][] getSpider(@NotNull Parameter parameter) {
+        final var data = series.get(parameter);
+        if (data == null) {
+            throw new IllegalArgumentException("Parameter was not varied: " + parameter);
+        }
+        final double baseValue = parameter.get(baseProject);
+        final double[][] points = new double[2][data.values.length];
+        for (int i = 0; i < data.values.length; i++) {
+            points[0][i] = baseValue == 0 ? Double.NaN : (data.values[i] - baseValue) / Math.abs(baseValue);
+            points[1][i] = baseNetPresentValue == 0 ? Double.NaN
+                    : (data.netPresentValues[i] - baseNetPresentValue) / Math.abs(baseNetPresentValue);
+        }
+        return points;
+    }
+
+    public static final class Series {
+        private final double[] values;
+        private final double[] netPresentValues;
+        private final double[] internalRatesOfReturn;
+
+        public Series(@NotNull double[] values, @NotNull double[] netPresentValues, @NotNull double[] internalRatesOfReturn) {
+            this.values = values.clone();
+            this.netPresentValues = netPresentValues.clone();
+            this.internalRatesOfReturn = internalRatesOfReturn.clone();
+        }
+
+        public double[] getValues() {
+            return values.clone();
+        }
+
+        public double[] getNetPresentValues() {
+            return netPresentValues.clone();
+        }
+
+        public double[] getInternalRatesOfReturn() {
+            return internalRatesOfReturn.clone();
+        }
+    }
+
+    public static final class TornadoBar {
+        private final Parameter parameter;
+        private final double lowNetPresentValue;
+        private final double highNetPresentValue;
+
+        TornadoBar(Parameter parameter, double lowNetPresentValue, double highNetPresentValue) {
+            this.parameter = parameter;
+            this.lowNetPresentValue = lowNetPresentValue;
+            this.highNetPresentValue = highNetPresentValue;
+        }
+
+        public Parameter getParameter() {
+            return parameter;
+        }
+
+        public double getLowNetPresentValue() {
+            return lowNetPresentValue;
+        }
+
+        public double getHighNetPresentValue() {
+            return highNetPresentValue;
+        }
+
+        public double getSwing() {
+            return highNetPresentValue - lowNetPresentValue;
+        }
+
+        @Override
+        public String toString() {
+            return parameter + " [" + lowNetPresentValue + ", " + highNetPresentValue + "]";
+        }
+    }
+}
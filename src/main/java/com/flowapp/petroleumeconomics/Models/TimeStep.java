@@ -0,0 +1,30 @@
+package com.flowapp.petroleumeconomics.Models;
+
+/**
+ * Length of one period of the production and cash-flow schedule.
+ */
+public enum TimeStep {
+    ANNUAL(1, "Years"),
+    MONTHLY(12, "Months"),
+    DAILY(365, "Days");
+
+    private final int periodsPerYear;
+    private final String label;
+
+    TimeStep(int periodsPerYear, String label) {
+        this.periodsPerYear = periodsPerYear;
+        this.label = label;
+    }
+
+    public int getPeriodsPerYear() {
+        return periodsPerYear;
+    }
+
+    public double getDaysPerPeriod() {
+        return 365.0 / periodsPerYear;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,145 @@
+package com.flowapp.petroleumeconomics.Models;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Drilling schedule of a field: when each well is drilled, its initial rate, decline and cost.
+ * Wells are stored column by column, so schedules of thousands of wells hold four arrays and no object per well.
+ */
+public final class WellSchedule {
+
+    private final double[] drillingYears;
+    private final double[] initialRates;
+    private final double[] declineRates;
+    private final double[] costs;
+
+    private WellSchedule(double[] drillingYears, double[] initialRates, double[] declineRates, double[] costs) {
+        this.drillingYears = drillingYears;
+        this.initialRates = initialRates;
+        this.declineRates = declineRates;
+        this.costs = costs;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * The schedule {@link ProjectInput} assumes: all its wells drilled in year 0 with the same rate, decline and cost.
+     */
+    public static WellSchedule uniform(@NotNull ProjectInput input) {
+        return builder()
+                .addWells(input.getNumberOfWells(), 0, input.getInitialProductionPerWellPerDay(),
+                        input.getDeclineRatePerYear(), input.getWellInitialCost())
+                .build();
+    }
+
+    public int size() {
+        return drillingYears.length;
+    }
+
+    /**
+     * Year the well is drilled and paid for, it produces from the next period on. Year 0 is the investment period.
+     */
+    public double getDrillingYear(int well) {
+        return drillingYears[well];
+    }
+
+    /**
+     * Period of a schedule with {@code periodsPerYear} periods per year in which the well is drilled, the drilling
+     * year rounded to the nearest period.
+     */
+    public int getDrillingPeriod(int well, int periodsPerYear) {
+        return (int) Math.round(drillingYears[well] * periodsPerYear);
+    }
+
+    public double getInitialProductionPerDay(int well) {
+        return initialRates[well];
+    }
+
+    public double getDeclineRatePerYear(int well) {
+        return declineRates[well];
+    }
+
+    public double getCost(int well) {
+        return costs[well];
+    }
+
+    public double getTotalCost() {
+        double total = 0;
+        for (double cost : costs) {
+            total += cost;
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return "WellSchedule{" +
+                "wells=" + size() +
+                ", totalCost=" + getTotalCost() +
+                '}';
+    }
+
+    public static final class Builder {
+        private double[] drillingYears = new double[16];
+        private double[] initialRates = new double[16];
+        private double[] declineRates = new double[16];
+        private double[] costs = new double[16];
+        private int size;
+
+        private Builder() {
+        }
+
+        public Builder addWell(double drillingYear, double initialProductionPerDay, double declineRatePerYear,
+                               double cost) {
+            return addWells(1, drillingYear, initialProductionPerDay, declineRatePerYear, cost);
+        }
+
+        /**
+         * Adds {@code count} identical wells, one drilling campaign.
+         */
+        public Builder addWells(int count, double drillingYear, double initialProductionPerDay,
+                                double declineRatePerYear, double cost) {
+            if (count < 0) {
+                throw new IllegalArgumentException("count must not be negative: " + count);
+            }
+            if (!(drillingYear >= 0 && drillingYear < Integer.MAX_VALUE / 366)) {
+                throw new IllegalArgumentException("drillingYear must be a non-negative number of years: " + drillingYear);
+            }
+            if (!(initialProductionPerDay >= 0 && initialProductionPerDay < Double.POSITIVE_INFINITY)) {
+                throw new IllegalArgumentException("initialProductionPerDay must not be negative: " + initialProductionPerDay);
+            }
+            if (!(declineRatePerYear > 0 && declineRatePerYear <= 1)) {
+                throw new IllegalArgumentException("declineRatePerYear must be within (0, 1]: " + declineRatePerYear);
+            }
+            if (!(cost >= 0 && cost < Double.POSITIVE_INFINITY)) {
+                throw new IllegalArgumentException("cost must not be negative: " + cost);
+            }
+            ensureCapacity(size + count);
+            Arrays.fill(drillingYears, size, size + count, drillingYear);
+            Arrays.fill(initialRates, size, size + count, initialProductionPerDay);
+            Arrays.fill(declineRates, size, size + count, declineRatePerYear);
+            Arrays.fill(costs, size, size + count, cost);
+            size += count;
+            return this;
+        }
+
+        public WellSchedule build() {
+            return new WellSchedule(Arrays.copyOf(drillingYears, size), Arrays.copyOf(initialRates, size),
+                    Arrays.copyOf(declineRates, size), Arrays.copyOf(costs, size));
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > drillingYears.length) {
+                final int length = Math.max(capacity, 2 * drillingYears.length);
+                drillingYears = Arrays.copyOf(drillingYears, length);
+                initialRates = Arrays.copyOf(initialRates, length);
+                declineRates = Arrays.copyOf(declineRates, length);
+                costs = Arrays.copyOf(costs, length);
+            }
+        }
+    }
+}
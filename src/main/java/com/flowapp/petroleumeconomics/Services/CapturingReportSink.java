@@ -0,0 +1,53 @@
+package com.flowapp.petroleumeconomics.Services;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Keeps report lines in memory up to a number of characters. Once the cap is reached the rest of the output is
+ * dropped and the sink stops asking for it, so later reports are not formatted at all.
+ */
+public class CapturingReportSink implements ReportSink {
+
+    private final int maxChars;
+    private final StringBuilder text = new StringBuilder();
+    private boolean truncated;
+
+    public CapturingReportSink(int maxChars) {
+        if (maxChars < 0) {
+            throw new IllegalArgumentException("The capture size must not be negative");
+        }
+        this.maxChars = maxChars;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return !truncated;
+    }
+
+    @Override
+    public void writeLine(@NotNull CharSequence line) {
+        if (truncated) {
+            return;
+        }
+        final int room = maxChars - text.length();
+        if (line.length() + 1 > room) {
+            text.append(line, 0, Math.min(room, line.length()));
+            truncated = true;
+            return;
+        }
+        text.append(line).append('\n');
+    }
+
+    public String getText() {
+        return text.toString();
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public void clear() {
+        text.setLength(0);
+        truncated = false;
+    }
+}
@@ -1,25 +1,31 @@
 package com.flowapp.petroleumeconomics.Services;
 
+import com.flowapp.petroleumeconomics.Metrics.MetricsRegistry;
+import com.flowapp.petroleumeconomics.Metrics.Phase;
+import com.flowapp.petroleumeconomics.Models.CashFlowMetrics;
+import com.flowapp.petroleumeconomics.Models.CashFlows;
+import com.flowapp.petroleumeconomics.Models.EconomicsResult;
+import com.flowapp.petroleumeconomics.Models.IRRResult;
+import com.flowapp.petroleumeconomics.Models.ProductionProfile;
+import com.flowapp.petroleumeconomics.Models.ProjectInput;
+import com.flowapp.petroleumeconomics.Utils.ArpsDecline;
+import com.flowapp.petroleumeconomics.Utils.DiscountFactorCache;
 import com.flowapp.petroleumeconomics.Utils.EconomicsUtils;
-import javafx.geometry.Insets;
-import javafx.scene.Scene;
-import javafx.scene.chart.*;
-import javafx.scene.control.Tooltip;
-import javafx.scene.layout.StackPane;
-import javafx.stage.Stage;
-import javafx.util.Duration;
+import com.flowapp.petroleumeconomics.Utils.IRRSolver;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
-import java.util.function.BinaryOperator;
-import java.util.stream.Collectors;
+import java.util.concurrent.CancellationException;
 
+/**
+ * Evaluates project economics. {@link #evaluate(ProjectInput)} is pure and safe to call from any thread,
+ * it never touches the console or JavaFX.
+ */
 public class EconomicsCalculator {
 
+    private static final int INTERRUPT_CHECK_PERIODS = 4096;
+
     final double internalRateOfReturnPrecision = 0.00001;
-    final Printer printer = new Printer(true);
+    final IRRSolver irrSolver = new IRRSolver(internalRateOfReturnPrecision);
 
     public void calculate(
             final double initialProductionPerWellPerDay,
@@ -34,187 +40,176 @@ public class EconomicsCalculator {
             final double abandonmentCost,
             final double abandonmentOilRatePerWellPerDay,
             final double declineRatePerYear) {
-        printer.clear();
-
-        final var wellsCost = numberOfWells * wellInitialCost;
-        final var initialInvestment = facilitiesCost + pipelinesCost + wellsCost;
-
-        final List<Float> cashFlows = new ArrayList<>();
-        cashFlows.add((float) -initialInvestment);
-
-        double totalOilProduction = 0;
-        double lastProductionPerWellPerDay = initialProductionPerWellPerDay;
-        while (lastProductionPerWellPerDay >= abandonmentOilRatePerWellPerDay) {
-            final var oilProduction = upTimeFraction * 365 * lastProductionPerWellPerDay * numberOfWells;
-            final var cashIn = oilProduction * oilPricePerBarrel;
-            final var operatingCost = oilProduction * operatingCostPerBarrel;
-            final var netCashFlow = cashIn - operatingCost;
-
-            cashFlows.add((float) netCashFlow);
-
-            totalOilProduction += oilProduction;
-            lastProductionPerWellPerDay *= (1-declineRatePerYear);
-        }
-
-        final var years = cashFlows.size()- 1;
-
-        cashFlows.set(years, (float) (cashFlows.get(years)-abandonmentCost));
-
-        final float npv = (float) calculateNPV(cashFlows, interestRatePerYear);
-        final float irr = (float) calculateIRR(cashFlows);
-        final float pir = (float) EconomicsUtils.calculateProfitabilityIndex(npv, initialInvestment);
+        final var result = evaluate(new ProjectInput(initialProductionPerWellPerDay,
+                wellInitialCost,
+                facilitiesCost,
+                pipelinesCost,
+                oilPricePerBarrel,
+                upTimeFraction,
+                interestRatePerYear,
+                numberOfWells,
+                operatingCostPerBarrel,
+                abandonmentCost,
+                abandonmentOilRatePerWellPerDay,
+                declineRatePerYear));
+        new EconomicsReport(true).print(result);
+        new EconomicsChart().show(result);
+    }
 
-        renderTableAnnually(cashFlows, interestRatePerYear);
+    public EconomicsResult evaluate(@NotNull ProjectInput input) {
+        final CashFlows cashFlows = new CashFlows();
+        final double totalOilProduction = buildCashFlows(input, cashFlows);
+        return evaluate(input, cashFlows, totalOilProduction);
+    }
 
-        printer.println("NPV = {} MM USD", printer.formatNumber(npv / 1_000_000));
-        printer.println("IRR = {} %", printer.formatNumber(irr * 100));
-        printer.println("PIR = {}", printer.formatNumber(pir));
+    /**
+     * Evaluates {@code input} reusing a production profile built for a project with the same reservoir and
+     * operating inputs, skipping the decline loop.
+     */
+    public EconomicsResult evaluate(@NotNull ProjectInput input, @NotNull ProductionProfile profile) {
+        final CashFlows cashFlows = new CashFlows(profile.size());
+        buildCashFlows(input, profile, cashFlows);
+        return evaluate(input, cashFlows, profile.getTotalOilProduction());
     }
 
-    private void renderTableAnnually(@NotNull List<Float> cashFlows, double discountRate) {
-        final List<Object> years = new ArrayList<>(List.of(""));
-        final List<Object> cf = new ArrayList<>(List.of("Cash flow (USD)"));
-        final List<Object> df = new ArrayList<>(List.of("Discount factor"));
-        final List<Object> pv = new ArrayList<>(List.of("Present Value (USD)"));
-        final List<Object> apv = new ArrayList<>(List.of("Accumulated PV"));
-        final var accumulatedPV = calculateAPVs(cashFlows, discountRate);
-        years.addAll(getYears(cashFlows));
-        cf.addAll(cashFlows);
-        df.addAll(getDiscountFactor(cashFlows, discountRate));
-        pv.addAll(calculatePVs(cashFlows, discountRate));
-        apv.addAll(accumulatedPV);
-        drawLines(cashFlows, accumulatedPV);
-        printer.renderTable(
-                years.toArray(),
-                cf.toArray(),
-                df.toArray(),
-                pv.toArray(),
-                apv.toArray()
-        );
+    public ProductionProfile buildProductionProfile(@NotNull ProjectInput input) {
+        final var timer = MetricsRegistry.shared().time(Phase.PRODUCTION);
+        final var profile = buildProductionProfileUntimed(input);
+        timer.stop(profile.size());
+        return profile;
     }
 
-    private List<Integer> getYears(@NotNull List<Float> cashFlows) {
-        final List<Integer> years = new ArrayList<>();
-        for (int i = 0; i < cashFlows.size(); i++) {
-            years.add(i);
+    private static ProductionProfile buildProductionProfileUntimed(ProjectInput input) {
+        if (!input.isAnnualStepDecline()) {
+            return new ProductionProfile(buildTimeStepProduction(input));
         }
-        return  years;
+        final CashFlows production = new CashFlows();
+        production.add(0);
+        double lastProductionPerWellPerDay = input.getInitialProductionPerWellPerDay();
+        while (lastProductionPerWellPerDay >= input.getAbandonmentOilRatePerWellPerDay()) {
+            checkInterrupted(production.size());
+            production.add(input.getUpTimeFraction() * 365 * lastProductionPerWellPerDay * input.getNumberOfWells());
+            lastProductionPerWellPerDay *= (1-input.getDeclineRatePerYear());
+        }
+        return new ProductionProfile(production.toArray());
     }
 
-    private List<Float> getDiscountFactor(@NotNull List<Float> cashFlows, double discountRate) {
-        final List<Float> discountFactors = new ArrayList<>();
-        for (int i = 0; i < cashFlows.size(); i++) {
-            discountFactors.add((float) EconomicsUtils.calculateDiscountFactor(discountRate, i));
+    /**
+     * Field production per period of the Arps curve, index 0 being the investment period.
+     * The number of producing periods comes from the closed-form abandonment time and the per-period volumes
+     * from the closed-form cumulative production, so nothing is stepped period by period.
+     */
+    static double[] buildTimeStepProduction(@NotNull ProjectInput input) {
+        final var type = input.getDeclineType();
+        final var exponent = input.getHyperbolicExponent();
+        final int periodsPerYear = input.getTimeStep().getPeriodsPerYear();
+        final double nominalDecline = ArpsDecline.calculateNominalDecline(input.getDeclineRatePerYear());
+        final int periods = ArpsDecline.calculateProducingPeriods(type, exponent, nominalDecline,
+                input.getInitialProductionPerWellPerDay(), input.getAbandonmentOilRatePerWellPerDay(), periodsPerYear);
+        final double scale = input.getUpTimeFraction() * input.getInitialProductionPerWellPerDay() * input.getNumberOfWells();
+        final double[] production = new double[periods + 1];
+        for (int k = 0; k < periods; k += INTERRUPT_CHECK_PERIODS) {
+            checkInterrupted(k);
+            ArpsDecline.fillPeriodVolumes(type, exponent, nominalDecline, periodsPerYear, k, scale, production, k + 1,
+                    Math.min(INTERRUPT_CHECK_PERIODS, periods - k));
         }
-        return  discountFactors;
+        return production;
     }
 
-    private double calculateIRR(@NotNull List<Float> cashFlows) {
-        double lastDiscountRate;
-        double discountRate = 0;
-        double lastNpv;
-        double npv = 0;
-
-        do {
-            lastDiscountRate = discountRate;
-            lastNpv = npv;
-            discountRate += internalRateOfReturnPrecision;
-            npv = calculateNPV(cashFlows, discountRate);
-//            System.out.println("" + npv + " " + discountRate);
-        } while (npv > 0);
-        return lastDiscountRate + (discountRate - lastDiscountRate) * (lastNpv / (lastNpv + Math.abs(npv)));
+    /**
+     * Ends a production loop, every {@link #INTERRUPT_CHECK_PERIODS} periods, once the thread is interrupted: a caller
+     * that gave up on the evaluation, such as a server request past its deadline, gets its thread back.
+     */
+    private static void checkInterrupted(int period) {
+        if (period % INTERRUPT_CHECK_PERIODS == 0 && Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("The evaluation was interrupted");
+        }
     }
 
-    private List<Float> calculatePVs(@NotNull List<Float> cashFlows, double discountRate) {
-        final List<Float> npvs = new ArrayList<>();
-        for (int i = 0; i < cashFlows.size(); i++) {
-            final var cashFlow = cashFlows.get(i);
-            final var npv = EconomicsUtils.calculatePresentValue(cashFlow, discountRate, i);
-            npvs.add((float) npv);
-        }
-        return  npvs;
+    /**
+     * Discount rate per period of the project's time step, equivalent to its yearly interest rate.
+     */
+    static double getPeriodicDiscountRate(@NotNull ProjectInput input) {
+        return EconomicsUtils.calculatePeriodicRate(input.getInterestRatePerYear(), input.getTimeStep().getPeriodsPerYear());
     }
 
-    private List<Float> calculateAPVs(@NotNull List<Float> cashFlows, double discountRate) {
-        final List<Float> npvs = new ArrayList<>();
-        double npv = 0;
-        for (int i = 0; i < cashFlows.size(); i++) {
-            final var cashFlow = cashFlows.get(i);
-            npv += EconomicsUtils.calculatePresentValue(cashFlow, discountRate, i);
-            npvs.add((float) npv);
-        }
-        return  npvs;
+    EconomicsResult evaluate(ProjectInput input, CashFlows cashFlows, double totalOilProduction) {
+
+        final int size = cashFlows.size();
+        final var npvTimer = MetricsRegistry.shared().time(Phase.NET_PRESENT_VALUE);
+        final double discountRate = getPeriodicDiscountRate(input);
+        final double[] discountFactors = new double[size];
+        final double[] presentValues = new double[size];
+        final double[] accumulatedPV = new double[size];
+        final CashFlowMetrics metrics = EconomicsUtils.calculateCashFlowMetrics(cashFlows.values(), size,
+                DiscountFactorCache.shared().getDiscountFactors(discountRate, size),
+                discountFactors, presentValues, accumulatedPV);
+        npvTimer.stop(size);
+        final var irrTimer = MetricsRegistry.shared().time(Phase.INTERNAL_RATE_OF_RETURN);
+        final IRRResult irr = irrSolver.solve(cashFlows.values(), size, input.getTimeStep().getPeriodsPerYear());
+        irrTimer.stop(irr.getEvaluations());
+        final double pir = EconomicsUtils.calculateProfitabilityIndex(metrics.getNetPresentValue(), input.getInitialInvestment());
+
+        return EconomicsResult.ofOwnedSeries(input,
+                cashFlows.toArray(),
+                discountFactors,
+                presentValues,
+                accumulatedPV,
+                metrics,
+                irr,
+                pir,
+                totalOilProduction);
     }
 
-    private double calculateNPV(@NotNull List<Float> cashFlows, double discountRate) {
-        return calculateNPV(calculatePVs(cashFlows, discountRate));
+    static void buildCashFlows(@NotNull ProjectInput input, @NotNull ProductionProfile profile, @NotNull CashFlows cashFlows) {
+        cashFlows.clear();
+        cashFlows.add(-input.getInitialInvestment());
+        final double netPricePerBarrel = input.getOilPricePerBarrel() - input.getOperatingCostPerBarrel();
+        for (int period = 1; period < profile.size(); period++) {
+            cashFlows.add(profile.getProduction(period) * netPricePerBarrel);
+        }
+        final var periods = cashFlows.size()- 1;
+        cashFlows.set(periods, cashFlows.get(periods)-input.getAbandonmentCost());
     }
 
-    private double calculateNPV(@NotNull List<Float> discountedCashFlows) {
-        //noinspection OptionalGetWithoutIsPresent
-        return discountedCashFlows.stream().reduce(Float::sum).get();
+    /**
+     * Fills {@code cashFlows} with the net cash flows per period of the project and returns the total oil produced.
+     * The buffer is cleared first so callers can reuse it across evaluations.
+     */
+    static double buildCashFlows(@NotNull ProjectInput input, @NotNull CashFlows cashFlows) {
+        final var timer = MetricsRegistry.shared().time(Phase.PRODUCTION);
+        final double totalOilProduction = buildCashFlowsUntimed(input, cashFlows);
+        timer.stop(cashFlows.size());
+        return totalOilProduction;
     }
 
-    private void drawLines(List<Float> cashFlow, List<Float> cumulativePV) {
-        XYChart.Series<String, Number> cashFlowSeries = new XYChart.Series<>();
-        cashFlowSeries.setName("Cash Flow");
-        for (int i = 0; i < cashFlow.size(); i++) {
-            final var point = cashFlow.get(i);
-            cashFlowSeries.getData().add(new XYChart.Data<>(String.valueOf(i), point));
+    private static double buildCashFlowsUntimed(ProjectInput input, CashFlows cashFlows) {
+        if (!input.isAnnualStepDecline()) {
+            final var profile = new ProductionProfile(buildTimeStepProduction(input));
+            buildCashFlows(input, profile, cashFlows);
+            return profile.getTotalOilProduction();
         }
+        cashFlows.clear();
+        cashFlows.add(-input.getInitialInvestment());
 
-        XYChart.Series<String, Number> cumulativePVSeries = new XYChart.Series<>();
-        cumulativePVSeries.setName("NPV");
-        for (int i = 0; i < cumulativePV.size(); i++) {
-            final var point = cumulativePV.get(i);
-            cumulativePVSeries.getData().add(new XYChart.Data<>(String.valueOf(i), point));
-        }
+        double totalOilProduction = 0;
+        double lastProductionPerWellPerDay = input.getInitialProductionPerWellPerDay();
+        while (lastProductionPerWellPerDay >= input.getAbandonmentOilRatePerWellPerDay()) {
+            checkInterrupted(cashFlows.size());
+            final var oilProduction = input.getUpTimeFraction() * 365 * lastProductionPerWellPerDay * input.getNumberOfWells();
+            final var cashIn = oilProduction * input.getOilPricePerBarrel();
+            final var operatingCost = oilProduction * input.getOperatingCostPerBarrel();
+            final var netCashFlow = cashIn - operatingCost;
+
+            cashFlows.add(netCashFlow);
 
-        //Defining the x an y axes
-        final CategoryAxis xAxis = new CategoryAxis();
-        final NumberAxis yAxis = new NumberAxis();
-
-        //Setting labels for the axes
-        xAxis.setLabel("Years");
-        yAxis.setLabel("$");
-
-        LineChart<String, Number> npv = new LineChart<>(xAxis, yAxis);
-        BarChart<String, Number> cf = new BarChart<>(xAxis, yAxis);
-        cf.setLegendVisible(false);
-        cf.setAnimated(false);
-        npv.getData().add(cumulativePVSeries);
-        cf.getData().add(cashFlowSeries);
-
-        npv.setLegendVisible(false);
-        npv.setAnimated(false);
-        npv.setCreateSymbols(true);
-        npv.setAlternativeRowFillVisible(false);
-        npv.setAlternativeColumnFillVisible(false);
-        npv.setHorizontalGridLinesVisible(false);
-        npv.setVerticalGridLinesVisible(false);
-        npv.getXAxis().setVisible(false);
-        npv.getYAxis().setVisible(false);
-        npv.getStylesheets().addAll(Objects.requireNonNull(getClass().getResource("chart.css")).toExternalForm());
-
-        for (var series: List.of(npv, cf)) {
-            for (var item: series.getData()) {
-                for (XYChart.Data<String, Number> entry : item.getData()) {
-                    Tooltip t = new Tooltip("(" + entry.getXValue() + " , " + String.format("%.0f", entry.getYValue().doubleValue()) + ")");
-                    t.setShowDelay(new Duration(50));
-                    Tooltip.install(entry.getNode(), t);
-                }
-            }
+            totalOilProduction += oilProduction;
+            lastProductionPerWellPerDay *= (1-input.getDeclineRatePerYear());
         }
 
-        //Creating a stack pane to hold the chart
-        StackPane pane = new StackPane(cf, npv);
-        pane.setPadding(new Insets(15, 15, 15, 15));
-        pane.setStyle("-fx-background-color: BEIGE");
-        //Setting the Scene
-        Scene scene = new Scene(pane, 595, 350);
-        final var chartsWindow = new Stage();
-        chartsWindow.setTitle("Economics");
-        chartsWindow.setScene(scene);
-        chartsWindow.show();
+        final var years = cashFlows.size()- 1;
+
+        cashFlows.set(years, cashFlows.get(years)-input.getAbandonmentCost());
+        return totalOilProduction;
     }
 }
@@ -0,0 +1,104 @@
+package com.flowapp.petroleumeconomics.Services;
+
+import com.flowapp.petroleumeconomics.Metrics.MetricsRegistry;
+import com.flowapp.petroleumeconomics.Metrics.Phase;
+import com.flowapp.petroleumeconomics.Models.EconomicsResult;
+import com.flowapp.petroleumeconomics.Models.MonteCarloSummary;
+import com.flowapp.petroleumeconomics.Models.NpvProfile;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.stage.Stage;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Shows the cash flows and the accumulated present value of an {@link EconomicsResult} in a chart window, above
+ * the NPV profile of the project over the discount rate, and below them the fan of yearly cash flows of the last
+ * Monte Carlo study shown.
+ * The window is created once and reused by later calls. Must be called on the JavaFX Application Thread.
+ */
+public class EconomicsChart {
+
+    private static final Color CASH_FLOW_COLOR = Color.web("#f3622d");
+    private static final Color NPV_COLOR = Color.BLUE;
+    private static final Color PROFILE_COLOR = Color.web("#2e8b57");
+    private static final Color FAN_OUTER_COLOR = Color.web("#f3622d", 0.5);
+    private static final Color FAN_MEDIAN_COLOR = Color.web("#f3622d");
+
+    private final NpvProfileAnalyzer profileAnalyzer = new NpvProfileAnalyzer();
+    private Stage chartsWindow;
+    private SeriesCanvas chart;
+    private SeriesCanvas profileChart;
+    private SeriesCanvas fanChart;
+    private VBox pane;
+
+    public void show(@NotNull EconomicsResult result) {
+        show(result, profileAnalyzer.analyze(result));
+    }
+
+    public void show(@NotNull EconomicsResult result, @NotNull NpvProfile profile) {
+        final var timer = MetricsRegistry.shared().time(Phase.CHARTING);
+        if (chartsWindow == null) {
+            createWindow();
+        }
+        chart.clear();
+        chart.setAxisLabels(result.getTimeStep().getLabel(), "$");
+        chart.addBars("Cash Flow", result.getCashFlows(), CASH_FLOW_COLOR);
+        chart.addLine("NPV", result.getAccumulatedPresentValues(), NPV_COLOR);
+
+        final double[] rates = profile.getDiscountRates();
+        profileChart.clear();
+        profileChart.setAxisLabels("Discount rate (%)", "NPV $");
+        if (rates.length > 0) {
+            profileChart.setXScale(100 * rates[0], rates.length > 1 ? 100 * (rates[1] - rates[0]) : 1);
+            profileChart.addLine("NPV", profile.getNetPresentValues(), PROFILE_COLOR);
+        }
+        timer.stop(2L * result.getCashFlows().length + rates.length);
+        chartsWindow.show();
+        chartsWindow.toFront();
+    }
+
+    /**
+     * Shows the P90, P50 and P10 of the yearly cash flows of a study, and their mean.
+     */
+    public void showCashFlowFan(@NotNull MonteCarloSummary summary) {
+        final var timer = MetricsRegistry.shared().time(Phase.CHARTING);
+        if (chartsWindow == null) {
+            createWindow();
+        }
+        if (fanChart == null) {
+            fanChart = new SeriesCanvas();
+            VBox.setVgrow(fanChart, Priority.ALWAYS);
+            pane.getChildren().add(fanChart);
+        }
+        final var fan = summary.getCashFlowFan();
+        fanChart.clear();
+        fanChart.setAxisLabels("Years", "Cash flow $");
+        // percentiles as exceedance probabilities: P90 is exceeded by 90% of the trials
+        fanChart.addLine("P90", fan.getQuantiles(0.1), FAN_OUTER_COLOR);
+        fanChart.addLine("P50", fan.getQuantiles(0.5), FAN_MEDIAN_COLOR);
+        fanChart.addLine("P10", fan.getQuantiles(0.9), FAN_OUTER_COLOR);
+        fanChart.addLine("Mean", fan.getMeans(), NPV_COLOR);
+        timer.stop(4L * fan.getYears());
+        chartsWindow.show();
+        chartsWindow.toFront();
+    }
+
+    private void createWindow() {
+        chart = new SeriesCanvas();
+        profileChart = new SeriesCanvas();
+        VBox.setVgrow(chart, Priority.ALWAYS);
+        VBox.setVgrow(profileChart, Priority.ALWAYS);
+        //Creating a box to hold the charts
+        pane = new VBox(10, chart, profileChart);
+        pane.setPadding(new Insets(15, 15, 15, 15));
+        pane.setStyle("-fx-background-color: BEIGE");
+        //Setting the Scene
+        Scene scene = new Scene(pane, 595, 600);
+        chartsWindow = new Stage();
+        chartsWindow.setTitle("Economics");
+        chartsWindow.setScene(scene);
+    }
+}
@@ -0,0 +1,101 @@
+package com.flowapp.petroleumeconomics.Services;
+
+import com.flowapp.petroleumeconomics.Models.DeclineType;
+import com.flowapp.petroleumeconomics.Models.EconomicsResult;
+import com.flowapp.petroleumeconomics.Models.Parameter;
+import com.flowapp.petroleumeconomics.Models.ProjectInput;
+import com.flowapp.petroleumeconomics.Models.TimeStep;
+import com.flowapp.petroleumeconomics.Utils.JsonReader;
+import com.flowapp.petroleumeconomics.Utils.JsonWriter;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JSON form of projects and their results, with the {@link Parameter} keys as member names.
+ */
+public class EconomicsJson {
+
+    static public void writeInput(@NotNull JsonWriter json, @NotNull ProjectInput input) throws IOException {
+        json.beginObject();
+        for (var parameter : Parameter.values()) {
+            json.name(parameter.getKey()).value(parameter.get(input));
+        }
+        json.name("timeStep").value(input.getTimeStep().name());
+        json.name("declineType").value(input.getDeclineType().name());
+        json.name("hyperbolicExponent").value(input.getHyperbolicExponent());
+        json.endObject();
+    }
+
+    /**
+     * The project described by a parsed {@link #writeInput} object. Every parameter is required, the time step and
+     * decline curve keep their defaults when absent.
+     */
+    static public ProjectInput readInput(@NotNull Map<String, Object> members) {
+        final var builder = ProjectInput.builder();
+        final Set<Parameter> missing = EnumSet.allOf(Parameter.class);
+        for (var member : members.entrySet()) {
+            final var name = member.getKey();
+            final var value = member.getValue();
+            if (name.equals("timeStep")) {
+                builder.timeStep(TimeStep.valueOf(asString(value, name).toUpperCase(Locale.ROOT)));
+            } else if (name.equals("declineType")) {
+                builder.declineType(DeclineType.valueOf(asString(value, name).toUpperCase(Locale.ROOT)));
+            } else if (name.equals("hyperbolicExponent")) {
+                builder.hyperbolicExponent(JsonReader.asNumber(value, name));
+            } else {
+                final var parameter = Parameter.fromKey(name);
+                parameter.set(builder, JsonReader.asNumber(value, name));
+                missing.remove(parameter);
+            }
+        }
+        if (!missing.isEmpty()) {
+            final var keys = new StringBuilder();
+            for (var parameter : missing) {
+                keys.append(keys.length() > 0 ? ", " : "").append(parameter.getKey());
+            }
+            throw new IllegalArgumentException("Missing parameters: " + keys);
+        }
+        return builder.build();
+    }
+
+    /**
+     * The summary of {@code result}, with the per-period schedules when {@code schedules} is set.
+     */
+    static public void writeResult(@NotNull JsonWriter json, @NotNull EconomicsResult result, boolean schedules) throws IOException {
+        final var irr = result.getInternalRateOfReturn();
+        json.beginObject();
+        json.name("input");
+        writeInput(json, result.getInput());
+        json.name("npv").value(result.getNetPresentValue());
+        json.name("irr").value(irr.getRate());
+        json.name("irrStatus").value(irr.getStatus().name());
+        json.name("irrRates").value(irr.getRates());
+        json.name("pir").value(result.getProfitabilityIndex());
+        json.name("dpir").value(result.getDiscountedProfitabilityIndex());
+        json.name("paybackYears").value(result.getPaybackYears());
+        json.name("discountedPaybackYears").value(result.getDiscountedPaybackYears());
+        json.name("maximumExposure").value(result.getMaximumExposure());
+        json.name("economicLife").value(result.getEconomicLife());
+        json.name("economicLifeYears").value(result.getEconomicLifeYears());
+        json.name("totalOilProduction").value(result.getTotalOilProduction());
+        json.name("initialInvestment").value(result.getInitialInvestment());
+        if (schedules) {
+            json.name("cashFlows").value(result.getCashFlows());
+            json.name("presentValues").value(result.getPresentValues());
+            json.name("accumulatedPresentValues").value(result.getAccumulatedPresentValues());
+        }
+        json.endObject();
+    }
+
+    private static String asString(Object value, String name) {
+        if (!(value instanceof String)) {
+            throw new IllegalArgumentException(name + " must be a string");
+        }
+        return (String) value;
+    }
+}
@@ -0,0 +1,121 @@
+package com.flowapp.petroleumeconomics.Services;
+
+import com.flowapp.petroleumeconomics.Models.EconomicsResult;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Prints the yearly table and the headline figures of an {@link EconomicsResult} to a {@link ReportSink}.
+ */
+public class EconomicsReport {
+
+    private final Printer printer;
+
+    public EconomicsReport(boolean printOut) {
+        this.printer = new Printer(printOut);
+    }
+
+    public EconomicsReport(@NotNull ReportSink sink) {
+        this.printer = new Printer(sink);
+    }
+
+    public void print(@NotNull EconomicsResult result) {
+        if (!printer.isEnabled()) {
+            return;
+        }
+        renderTableAnnually(result);
+
+        final var irr = result.getInternalRateOfReturn();
+        printer.println("NPV = {} MM USD", printer.formatNumber(result.getNetPresentValue() / 1_000_000));
+        switch (irr.getStatus()) {
+            case NONE:
+                printer.println("IRR = none, the NPV never crosses zero");
+                break;
+            case UNIQUE:
+                printer.println("IRR = {} %", printer.formatNumber(irr.getRate() * 100));
+                break;
+            case MULTIPLE:
+                final var rates = Arrays.stream(irr.getRates())
+                        .mapToObj(rate -> printer.formatNumber(rate * 100) + " %")
+                        .collect(Collectors.joining(", "));
+                printer.println("IRR = {} % (multiple roots: {})", printer.formatNumber(irr.getRate() * 100), rates);
+                break;
+        }
+        printer.println("PIR = {}", printer.formatNumber(result.getProfitabilityIndex()));
+        printer.println("DPIR = {}", printer.formatNumber(result.getDiscountedProfitabilityIndex()));
+        printer.println("Payback = {}", formatYears(result.getPaybackYears()));
+        printer.println("Discounted payback = {}", formatYears(result.getDiscountedPaybackYears()));
+        printer.println("Maximum exposure = {} MM USD", printer.formatNumber(result.getMaximumExposure() / 1_000_000));
+        printer.flush();
+    }
+
+    private String formatYears(double years) {
+        return Double.isNaN(years) ? "never" : printer.formatNumber(years) + " years";
+    }
+
+    private void renderTableAnnually(@NotNull EconomicsResult result) {
+        final int periodsPerYear = result.getTimeStep().getPeriodsPerYear();
+        if (periodsPerYear == 1) {
+            printer.renderTable(
+                    getYears(result.getEconomicLife() + 1),
+                    row("Cash flow (USD)", result.getCashFlows()),
+                    row("Discount factor", result.getDiscountFactors()),
+                    row("Present Value (USD)", result.getPresentValues()),
+                    row("Accumulated PV", result.getAccumulatedPresentValues())
+            );
+            return;
+        }
+        // sub-annual schedules are summed per year so the table stays readable; the discount factor of a year is
+        // the effective one of its periods, the one that turns the yearly cash flow into the yearly present value
+        final var cashFlows = sumPerYear(result.getCashFlows(), periodsPerYear);
+        final var presentValues = sumPerYear(result.getPresentValues(), periodsPerYear);
+        final double[] discountFactors = new double[cashFlows.length];
+        final double[] accumulatedPV = new double[cashFlows.length];
+        double accumulated = 0;
+        for (int year = 0; year < presentValues.length; year++) {
+            discountFactors[year] = presentValues[year] == 0 ? Double.NaN : cashFlows[year] / presentValues[year];
+            accumulated += presentValues[year];
+            accumulatedPV[year] = accumulated;
+        }
+        printer.renderTable(
+                getYears(cashFlows.length),
+                row("Cash flow (USD)", cashFlows),
+                row("Discount factor (CF / PV)", discountFactors),
+                row("Present Value (USD)", presentValues),
+                row("Accumulated PV", accumulatedPV)
+        );
+    }
+
+    /**
+     * Period 0 stays year 0, period k belongs to year ceil(k / periodsPerYear).
+     */
+    private double[] sumPerYear(@NotNull double[] values, int periodsPerYear) {
+        final int years = (values.length - 1 + periodsPerYear - 1) / periodsPerYear + 1;
+        final double[] yearly = new double[years];
+        yearly[0] = values[0];
+        for (int period = 1; period < values.length; period++) {
+            yearly[(period + periodsPerYear - 1) / periodsPerYear] += values[period];
+        }
+        return yearly;
+    }
+
+    private Object[] getYears(int size) {
+        final Object[] years = new Object[size + 1];
+        years[0] = "";
+        for (int i = 0; i < size; i++) {
+            years[i + 1] = i;
+        }
+        return years;
+    }
+
+    private Object[] row(@NotNull String title, @NotNull double[] values) {
+        final Object[] row = new Object[values.length + 1];
+        row[0] = title;
+        for (int i = 0; i < values.length; i++) {
+            row[i + 1] = values[i];
+        }
+        return row;
+    }
+}
@@ -0,0 +1,332 @@
+package com.flowapp.petroleumeconomics.Services;
+
+import com.flowapp.petroleumeconomics.Metrics.MetricsRegistry;
+import com.flowapp.petroleumeconomics.Metrics.Phase;
+import com.flowapp.petroleumeconomics.Utils.EconomicsUtils;
+import com.flowapp.petroleumeconomics.Utils.IRRSolver;
+import com.flowapp.petroleumeconomics.Utils.JsonReader;
+import com.flowapp.petroleumeconomics.Utils.JsonWriter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Embedded HTTP/JSON service over the evaluation engine, on the JDK's {@link HttpServer}:
+ * <ul>
+ *     <li>{@code POST /evaluate} takes a project, in the form of {@link EconomicsJson#writeInput}, and answers its
+ *     result, with the per-period schedules when the query has {@code schedules=true};</li>
+ *     <li>{@code POST /batch} takes an array of projects and answers {@code {"results": [...]}} in the same order;</li>
+ *     <li>{@code POST /npv} takes {@code {"cashFlows": [...], "discountRate": r}}, or {@code "discountRates": [...]}
+ *     for several rates at once, and {@code POST /irr} takes {@code {"cashFlows": [...]}};</li>
+ *     <li>{@code GET /health} and {@code GET /metrics} report the state of the service.</li>
+ * </ul>
+ * Every exchange is handled on its own virtual thread. At most {@code maxConcurrency} requests are computed at once,
+ * a request still waiting for its turn when the request timeout expires is refused with 503, and one whose
+ * computation outlasts it is answered with 504 while its computation is interrupted. A computation cancelled
+ * otherwise, such as by the server stopping, is answered with 503. Malformed requests get 400, every error body is
+ * {@code {"error": "..."}}.
+ */
+public class EconomicsServer implements Closeable {
+
+    private static final int BACKLOG = 1024;
+    private static final String JSON = "application/json; charset=utf-8";
+
+    static {
+        // the JDK server sends the headers and the body of a response in separate writes, without TCP_NODELAY the
+        // body waits for the delayed ACK of the headers, up to 40 ms on Linux
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final ResultCache resultCache;
+    private final IRRSolver irrSolver = new IRRSolver(0.00001);
+    private final ThreadFactory workerFactory = Thread.ofVirtual().name("economics-worker-", 0).factory();
+    private int maxConcurrency = 4 * Runtime.getRuntime().availableProcessors();
+    private Duration requestTimeout = Duration.ofSeconds(10);
+    private int maxRequestBytes = 8 << 20;
+    private HttpServer server;
+    private ExecutorService exchangeExecutor;
+    private Semaphore permits;
+
+    public EconomicsServer() {
+        this(new ResultCache());
+    }
+
+    /**
+     * @param resultCache cache the evaluations go through, which may be shared with other services
+     */
+    public EconomicsServer(@NotNull ResultCache resultCache) {
+        this.resultCache = resultCache;
+    }
+
+    public EconomicsServer withMaxConcurrency(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("At least one request must be computed at a time");
+        }
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    public EconomicsServer withRequestTimeout(@NotNull Duration requestTimeout) {
+        if (requestTimeout.isNegative() || requestTimeout.isZero()) {
+            throw new IllegalArgumentException("The request timeout must be positive");
+        }
+        this.requestTimeout = requestTimeout;
+        return this;
+    }
+
+    public EconomicsServer withMaxRequestBytes(int maxRequestBytes) {
+        if (maxRequestBytes < 1) {
+            throw new IllegalArgumentException("Requests must be allowed a body");
+        }
+        this.maxRequestBytes = maxRequestBytes;
+        return this;
+    }
+
+    /**
+     * Binds to {@code address}, port 0 picking a free port, and starts serving.
+     */
+    public EconomicsServer start(@NotNull InetSocketAddress address) throws IOException {
+        if (server != null) {
+            throw new IllegalStateException("The server is already started");
+        }
+        permits = new Semaphore(maxConcurrency);
+        exchangeExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("economics-http-", 0).factory());
+        server = HttpServer.create(address, BACKLOG);
+        server.setExecutor(exchangeExecutor);
+        server.createContext("/evaluate", exchange -> handle(exchange, "POST", this::evaluate));
+        server.createContext("/batch", exchange -> handle(exchange, "POST", this::evaluateBatch));
+        server.createContext("/npv", exchange -> handle(exchange, "POST", this::netPresentValue));
+        server.createContext("/irr", exchange -> handle(exchange, "POST", this::internalRateOfReturn));
+        server.createContext("/health", exchange -> handle(exchange, "GET", this::health));
+        server.createContext("/metrics", this::metrics);
+        server.start();
+        return this;
+    }
+
+    /**
+     * The address the server is bound to, with the actual port.
+     */
+    public InetSocketAddress getAddress() {
+        if (server == null) {
+            throw new IllegalStateException("The server is not started");
+        }
+        return server.getAddress();
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    /**
+     * Stops accepting connections and interrupts the requests in progress.
+     */
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+            exchangeExecutor.shutdownNow();
+            server = null;
+        }
+    }
+
+    /// Endpoints
+
+    private void evaluate(Object body, String query, JsonWriter json) throws IOException {
+        final var input = EconomicsJson.readInput(JsonReader.asObject(body, "The project"));
+        EconomicsJson.writeResult(json, resultCache.evaluate(input), hasFlag(query, "schedules"));
+    }
+
+    private void evaluateBatch(Object body, String query, JsonWriter json) throws IOException {
+        final var projects = JsonReader.asArray(body, "The batch");
+        final boolean schedules = hasFlag(query, "schedules");
+        json.beginObject().name("results").beginArray();
+        for (int i = 0; i < projects.size(); i++) {
+            if (Thread.interrupted()) {
+                throw new CancellationException();
+            }
+            final var what = "projects[" + i + "]";
+            try {
+                final var input = EconomicsJson.readInput(JsonReader.asObject(projects.get(i), what));
+                EconomicsJson.writeResult(json, resultCache.evaluate(input), schedules);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(what + ": " + e.getMessage(), e);
+            }
+        }
+        json.endArray().endObject();
+    }
+
+    private void netPresentValue(Object body, String query, JsonWriter json) throws IOException {
+        final var members = JsonReader.asObject(body, "The request");
+        final double[] cashFlows = JsonReader.asNumbers(members.get("cashFlows"), "cashFlows");
+        json.beginObject();
+        if (members.containsKey("discountRates")) {
+            final double[] rates = JsonReader.asNumbers(members.get("discountRates"), "discountRates");
+            final double[] values = new double[rates.length];
+            EconomicsUtils.calculateNetPresentValues(cashFlows, cashFlows.length, rates, rates.length, values);
+            json.name("discountRates").value(rates);
+            json.name("npvs").value(values);
+        } else {
+            final double rate = JsonReader.asNumber(members.get("discountRate"), "discountRate");
+            json.name("discountRate").value(rate);
+            json.name("npv").value(EconomicsUtils.calculateNetPresentValue(cashFlows, cashFlows.length, rate));
+        }
+        json.endObject();
+    }
+
+    private void internalRateOfReturn(Object body, String query, JsonWriter json) throws IOException {
+        final var members = JsonReader.asObject(body, "The request");
+        final var irr = irrSolver.solve(JsonReader.asNumbers(members.get("cashFlows"), "cashFlows"));
+        json.beginObject();
+        json.name("irr").value(irr.getRate());
+        json.name("irrStatus").value(irr.getStatus().name());
+        json.name("irrRates").value(irr.getRates());
+        json.name("evaluations").value(irr.getEvaluations());
+        json.endObject();
+    }
+
+    private void health(Object body, String query, JsonWriter json) throws IOException {
+        json.beginObject();
+        json.name("status").value("UP");
+        json.name("maxConcurrency").value(maxConcurrency);
+        json.name("cache").value(resultCache.toString());
+        json.endObject();
+    }
+
+    /**
+     * Plain text, like the snapshots the CLI prints, and answered without taking a permit so it stays available
+     * under load.
+     */
+    private void metrics(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                exchange.getResponseHeaders().set("Allow", "GET");
+                sendError(exchange, 405, "Method not allowed");
+                return;
+            }
+            send(exchange, 200, "text/plain; charset=utf-8", MetricsRegistry.shared().snapshot().toString());
+        }
+    }
+
+    /// Exchange handling
+
+    @FunctionalInterface
+    private interface Endpoint {
+        void answer(Object body, String query, JsonWriter json) throws IOException;
+    }
+
+    private void handle(HttpExchange exchange, String method, Endpoint endpoint) {
+        final var timer = MetricsRegistry.shared().time(Phase.REQUEST);
+        final long deadline = System.nanoTime() + requestTimeout.toNanos();
+        long size = 0;
+        try (exchange) {
+            if (!exchange.getRequestURI().getPath().equals(exchange.getHttpContext().getPath())) {
+                sendError(exchange, 404, "Not found");
+                return;
+            }
+            if (!exchange.getRequestMethod().equals(method)) {
+                exchange.getResponseHeaders().set("Allow", method);
+                sendError(exchange, 405, "Method not allowed");
+                return;
+            }
+            final byte[] request = exchange.getRequestBody().readNBytes(maxRequestBytes + 1);
+            size = request.length;
+            if (request.length > maxRequestBytes) {
+                sendError(exchange, 413, "The request body is larger than " + maxRequestBytes + " bytes");
+                return;
+            }
+            if (!permits.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                sendError(exchange, 503, "Too many requests in progress");
+                return;
+            }
+            final var response = new CompletableFuture<String>();
+            final var worker = workerFactory.newThread(() -> {
+                try {
+                    response.complete(compute(endpoint, request, exchange.getRequestURI().getRawQuery()));
+                } catch (Throwable e) {
+                    response.completeExceptionally(e);
+                } finally {
+                    permits.release();
+                }
+            });
+            worker.start();
+            try {
+                send(exchange, 200, JSON, response.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                worker.interrupt();
+                sendError(exchange, 504, "The request took longer than " + requestTimeout.toMillis() + " ms");
+            } catch (CancellationException e) {
+                worker.interrupt();
+                sendError(exchange, 503, "The computation was cancelled");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IllegalArgumentException) {
+                    sendError(exchange, 400, e.getCause().getMessage());
+                } else if (e.getCause() instanceof CancellationException) {
+                    sendError(exchange, 503, "The computation was cancelled");
+                } else {
+                    sendError(exchange, 500, "Internal error: " + e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            // the server is stopping
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // the client went away, the exchange is closed
+        } finally {
+            timer.stop(size);
+        }
+    }
+
+    private static String compute(Endpoint endpoint, byte[] request, String query) throws IOException {
+        final var body = request.length == 0 ? null : JsonReader.parse(new String(request, StandardCharsets.UTF_8));
+        final var response = new StringBuilder(256);
+        endpoint.answer(body, query, new JsonWriter(response));
+        return response.toString();
+    }
+
+    private static boolean hasFlag(String query, String name) {
+        if (query == null) {
+            return false;
+        }
+        for (var pair : query.split("&")) {
+            if (pair.equals(name) || pair.equals(name + "=true")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        final var body = new StringBuilder();
+        new JsonWriter(body).beginObject().name("error").value(message).endObject();
+        send(exchange, status, JSON, body.toString());
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+}
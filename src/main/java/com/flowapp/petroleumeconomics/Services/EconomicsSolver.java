@@ -0,0 +1,184 @@
+package com.flowapp.petroleumeconomics.Services;
+
+import com.flowapp.petroleumeconomics.Models.BreakEvenResult;
+import com.flowapp.petroleumeconomics.Models.CashFlows;
+import com.flowapp.petroleumeconomics.Models.EconomicsResult;
+import com.flowapp.petroleumeconomics.Models.Objective;
+import com.flowapp.petroleumeconomics.Models.OptimizationResult;
+import com.flowapp.petroleumeconomics.Models.Parameter;
+import com.flowapp.petroleumeconomics.Models.ProductionProfile;
+import com.flowapp.petroleumeconomics.Models.ProjectInput;
+import com.flowapp.petroleumeconomics.Utils.EconomicsUtils;
+import com.flowapp.petroleumeconomics.Utils.RootFinder;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleFunction;
+import java.util.function.DoubleUnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * Answers inverse questions on the {@link EconomicsCalculator} model: the value of a variable at which the NPV
+ * is zero, and the best of a set of project configurations within a capital budget.
+ * <p>
+ * Break-even searches use Brent's method and only compute cash flows and their NPV at every step, reusing the
+ * production profile of the base project when the variable does not affect production. Configuration searches
+ * evaluate the candidates in parallel.
+ */
+public class EconomicsSolver {
+
+    private static final double RELATIVE_TOLERANCE = 1e-9;
+    private static final int MAX_BRACKET_EXPANSIONS = 60;
+
+    private final EconomicsCalculator calculator = new EconomicsCalculator();
+
+    /**
+     * Oil price at which the NPV is zero. At the operating cost every period loses money, so the search starts
+     * there and widens upwards until the NPV turns positive.
+     */
+    public BreakEvenResult breakEvenOilPrice(@NotNull ProjectInput base) {
+        final double low = base.getOperatingCostPerBarrel();
+        final double high = Math.max(2 * base.getOilPricePerBarrel(), low + 1);
+        return solve(Parameter.OIL_PRICE_PER_BARREL.getKey(), base.getOilPricePerBarrel(), base,
+                value -> Parameter.OIL_PRICE_PER_BARREL.with(base, value), true, low, high, true);
+    }
+
+    /**
+     * Highest operating cost per barrel the project can bear, between free operations and the oil price.
+     */
+    public BreakEvenResult breakEvenOperatingCost(@NotNull ProjectInput base) {
+        return solve(Parameter.OPERATING_COST_PER_BARREL.getKey(), base.getOperatingCostPerBarrel(), base,
+                value -> Parameter.OPERATING_COST_PER_BARREL.with(base, value), true, 0, base.getOilPricePerBarrel(), false);
+    }
+
+    /**
+     * Factor on the well, facilities and pipelines costs at which the NPV is zero, so the tolerable capital cost
+     * overrun is {@link BreakEvenResult#getMargin()}.
+     */
+    public BreakEvenResult breakEvenCapitalCostFactor(@NotNull ProjectInput base) {
+        return solve("capitalCostFactor", 1, base, factor -> base.toBuilder()
+                        .wellInitialCost(base.getWellInitialCost() * factor)
+                        .facilitiesCost(base.getFacilitiesCost() * factor)
+                        .pipelinesCost(base.getPipelinesCost() * factor)
+                        .build(),
+                true, 0, 2, true);
+    }
+
+    /**
+     * Value of {@code parameter} between {@code low} and {@code high} at which the NPV is zero.
+     */
+    public BreakEvenResult breakEven(@NotNull ProjectInput base, @NotNull Parameter parameter, double low, double high) {
+        return solve(parameter.getKey(), parameter.get(base), base, value -> parameter.with(base, value),
+                !parameter.affectsProduction(), low, high, false);
+    }
+
+    /**
+     * Number of wells between {@code minWells} and {@code maxWells} maximising {@code objective} while the initial
+     * investment stays within {@code capitalBudget}.
+     */
+    public OptimizationResult optimizeWellCount(@NotNull ProjectInput base, int minWells, int maxWells,
+                                                @NotNull Objective objective, double capitalBudget) {
+        if (minWells < 0 || maxWells < minWells) {
+            throw new IllegalArgumentException("Invalid well count range: " + minWells + " to " + maxWells);
+        }
+        final List<ProjectInput> candidates = new ArrayList<>();
+        for (int wells = minWells; wells <= maxWells; wells++) {
+            candidates.add(base.toBuilder().numberOfWells(wells).build());
+        }
+        return optimize(candidates, objective, capitalBudget);
+    }
+
+    /**
+     * Best drilling configuration: a well count between {@code minWells} and {@code maxWells} combined with one of
+     * the well designs, design i giving {@code initialRates[i]} barrels per day per well for {@code wellCosts[i]}.
+     */
+    public OptimizationResult optimizeDrilling(@NotNull ProjectInput base, int minWells, int maxWells,
+                                               @NotNull double[] initialRates, @NotNull double[] wellCosts,
+                                               @NotNull Objective objective, double capitalBudget) {
+        if (initialRates.length != wellCosts.length) {
+            throw new IllegalArgumentException("Every well design needs an initial rate and a cost");
+        }
+        if (minWells < 0 || maxWells < minWells) {
+            throw new IllegalArgumentException("Invalid well count range: " + minWells + " to " + maxWells);
+        }
+        final List<ProjectInput> candidates = new ArrayList<>();
+        for (int design = 0; design < initialRates.length; design++) {
+            for (int wells = minWells; wells <= maxWells; wells++) {
+                candidates.add(base.toBuilder()
+                        .initialProductionPerWellPerDay(initialRates[design])
+                        .wellInitialCost(wellCosts[design])
+                        .numberOfWells(wells)
+                        .build());
+            }
+        }
+        return optimize(candidates, objective, capitalBudget);
+    }
+
+    /**
+     * Evaluates in parallel every candidate whose initial investment is within {@code capitalBudget} and returns
+     * the one maximising {@code objective}, the first one listed on ties.
+     */
+    public OptimizationResult optimize(@NotNull List<ProjectInput> candidates, @NotNull Objective objective,
+                                       double capitalBudget) {
+        final long start = System.nanoTime();
+        final var results = new EconomicsResult[candidates.size()];
+        final var evaluations = new AtomicInteger();
+        IntStream.range(0, candidates.size()).parallel().forEach(i -> {
+            final var candidate = candidates.get(i);
+            if (candidate.getInitialInvestment() <= capitalBudget) {
+                evaluations.incrementAndGet();
+                results[i] = calculator.evaluate(candidate);
+            }
+        });
+        EconomicsResult best = null;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        int feasible = 0;
+        for (var result : results) {
+            if (result == null) {
+                continue;
+            }
+            feasible++;
+            final double value = objective.of(result);
+            if (best == null || value > bestValue) {
+                best = result;
+                bestValue = value;
+            }
+        }
+        return new OptimizationResult(objective, best, candidates.size(), feasible, evaluations.get(),
+                System.nanoTime() - start);
+    }
+
+    private BreakEvenResult solve(String variable, double baseValue, ProjectInput base, DoubleFunction<ProjectInput> project,
+                                  boolean reuseProfile, double low, double high, boolean widenHigh) {
+        final long start = System.nanoTime();
+        final ProductionProfile profile = reuseProfile ? calculator.buildProductionProfile(base) : null;
+        final var cashFlows = new CashFlows();
+        final int[] evaluations = new int[1];
+        final DoubleUnaryOperator npv = value -> {
+            evaluations[0]++;
+            try {
+                final var input = project.apply(value);
+                if (profile != null) {
+                    EconomicsCalculator.buildCashFlows(input, profile, cashFlows);
+                } else {
+                    EconomicsCalculator.buildCashFlows(input, cashFlows);
+                }
+                return EconomicsUtils.calculateNetPresentValue(cashFlows.values(), cashFlows.size(),
+                        EconomicsCalculator.getPeriodicDiscountRate(input));
+            } catch (IllegalArgumentException e) {
+                return Double.NaN;
+            }
+        };
+        final double fLow = npv.applyAsDouble(low);
+        double fHigh = npv.applyAsDouble(high);
+        for (int i = 0; widenHigh && i < MAX_BRACKET_EXPANSIONS && !Double.isNaN(fHigh) && (fHigh > 0) == (fLow > 0); i++) {
+            high = low + 2 * (high - low);
+            fHigh = npv.applyAsDouble(high);
+        }
+        final double tolerance = RELATIVE_TOLERANCE * Math.max(1, Math.max(Math.abs(low), Math.abs(high)));
+        final double value = RootFinder.findRoot(npv, low, high, fLow, fHigh, tolerance);
+        return new BreakEvenResult(variable, baseValue, value, evaluations[0], System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,85 @@
+package com.flowapp.petroleumeconomics.Services;
+
+import com.flowapp.petroleumeconomics.Models.EconomicsResult;
+import com.flowapp.petroleumeconomics.Models.ProjectInput;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.concurrent.Service;
+import javafx.concurrent.Task;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Evaluates a project and writes its report on a background thread.
+ * Only the finished {@link EconomicsResult} reaches the JavaFX Application Thread, as the service value.
+ * Evaluating new inputs cancels the running evaluation.
+ */
+public class EvaluationService extends Service<EconomicsResult> {
+
+    private final ObjectProperty<ProjectInput> input = new SimpleObjectProperty<>(this, "input");
+    private final ResultCache resultCache;
+    private ReportSink reportSink = ReportSink.NULL;
+
+    public EvaluationService() {
+        this(new ResultCache());
+    }
+
+    /**
+     * @param resultCache cache the evaluations go through, which may be shared with other services
+     */
+    public EvaluationService(@NotNull ResultCache resultCache) {
+        this.resultCache = resultCache;
+    }
+
+    public ObjectProperty<ProjectInput> inputProperty() {
+        return input;
+    }
+
+    public ProjectInput getInput() {
+        return input.get();
+    }
+
+    public void setInput(ProjectInput input) {
+        this.input.set(input);
+    }
+
+    /**
+     * Sink the report of every evaluation is written to, from the background thread.
+     */
+    public void setReportSink(@NotNull ReportSink reportSink) {
+        this.reportSink = reportSink;
+    }
+
+    /**
+     * Cancels the running evaluation, if any, and starts evaluating {@code project}.
+     */
+    public void evaluate(@NotNull ProjectInput project) {
+        setInput(project);
+        restart();
+    }
+
+    @Override
+    protected Task<EconomicsResult> createTask() {
+        final var project = getInput();
+        final var sink = reportSink;
+        return new Task<>() {
+            @Override
+            protected EconomicsResult call() {
+                if (project == null) {
+                    throw new IllegalArgumentException("No project to evaluate");
+                }
+                updateMessage("Evaluating");
+                updateProgress(-1, 1);
+                final var result = resultCache.evaluate(project);
+                if (isCancelled()) {
+                    return null;
+                }
+                updateMessage("Writing report");
+                new EconomicsReport(sink).print(result);
+                updateProgress(1, 1);
+                updateMessage(String.format("NPV = %.2f MM USD over %d %s", result.getNetPresentValue() / 1_000_000,
+                        result.getEconomicLife(), result.getTimeStep().getLabel().toLowerCase()));
+                return result;
+            }
+        };
+    }
+}
@@ -0,0 +1,88 @@
+package com.flowapp.petroleumeconomics.Services;
+
+import com.flowapp.petroleumeconomics.Models.CashFlows;
+import com.flowapp.petroleumeconomics.Models.EconomicsResult;
+import com.flowapp.petroleumeconomics.Models.Parameter;
+import com.flowapp.petroleumeconomics.Models.ProductionProfile;
+import com.flowapp.petroleumeconomics.Models.ProjectInput;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Re-evaluates a project whose inputs change a few at a time, redoing only what the change requires.
+ * <p>
+ * The production profile is rebuilt only when a parameter affecting production changes. An oil price or
+ * operating cost change rescales the cached profile into cash flows, an abandonment cost change touches the
+ * last period and a capital cost change touches period 0 only. Discounting and the IRR always run over the
+ * whole series. Not thread-safe.
+ */
+public class IncrementalEvaluator {
+
+    private final EconomicsCalculator calculator;
+    private final CashFlows cashFlows = new CashFlows();
+    private ProjectInput last;
+    private ProductionProfile profile;
+    private long profileBuilds;
+    private long cashFlowBuilds;
+
+    public IncrementalEvaluator() {
+        this(new EconomicsCalculator());
+    }
+
+    public IncrementalEvaluator(@NotNull EconomicsCalculator calculator) {
+        this.calculator = calculator;
+    }
+
+    public EconomicsResult evaluate(@NotNull ProjectInput input) {
+        if (last == null || !sameProduction(last, input)) {
+            profile = calculator.buildProductionProfile(input);
+            profileBuilds++;
+            rebuildCashFlows(input);
+        } else if (last.getOilPricePerBarrel() != input.getOilPricePerBarrel()
+                || last.getOperatingCostPerBarrel() != input.getOperatingCostPerBarrel()
+                || cashFlows.size() < 2) {
+            rebuildCashFlows(input);
+        } else {
+            if (last.getInitialInvestment() != input.getInitialInvestment()) {
+                cashFlows.set(0, -input.getInitialInvestment());
+            }
+            if (last.getAbandonmentCost() != input.getAbandonmentCost()) {
+                final int lastPeriod = cashFlows.size() - 1;
+                cashFlows.set(lastPeriod, cashFlows.get(lastPeriod) + last.getAbandonmentCost() - input.getAbandonmentCost());
+            }
+        }
+        last = input;
+        return calculator.evaluate(input, cashFlows, profile.getTotalOilProduction());
+    }
+
+    /**
+     * Forgets the cached profile, the next evaluation runs the whole pipeline.
+     */
+    public void reset() {
+        last = null;
+        profile = null;
+    }
+
+    public long getProfileBuilds() {
+        return profileBuilds;
+    }
+
+    public long getCashFlowBuilds() {
+        return cashFlowBuilds;
+    }
+
+    private void rebuildCashFlows(ProjectInput input) {
+        EconomicsCalculator.buildCashFlows(input, profile, cashFlows);
+        cashFlowBuilds++;
+    }
+
+    private static boolean sameProduction(ProjectInput a, ProjectInput b) {
+        for (var parameter : Parameter.values()) {
+            if (parameter.affectsProduction() && parameter.get(a) != parameter.get(b)) {
+                return false;
+            }
+        }
+        return a.getTimeStep() == b.getTimeStep()
+                && a.getDeclineType() == b.getDeclineType()
+                && a.getHyperbolicExponent() == b.getHyperbolicExponent();
+    }
+}
@@ -0,0 +1,52 @@
+package com.flowapp.petroleumeconomics.Services;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Passes the text appended to it to a {@link ReportSink} one line at a time, holding only the current line.
+ */
+final class LineAppender implements Appendable {
+
+    private final ReportSink sink;
+    private final StringBuilder line = new StringBuilder();
+
+    LineAppender(@NotNull ReportSink sink) {
+        this.sink = sink;
+    }
+
+    @Override
+    public Appendable append(CharSequence text) {
+        final CharSequence value = text == null ? "null" : text;
+        return append(value, 0, value.length());
+    }
+
+    @Override
+    public Appendable append(CharSequence text, int start, int end) {
+        final CharSequence value = text == null ? "null" : text;
+        int from = start;
+        for (int i = start; i < end; i++) {
+            if (value.charAt(i) == '\n') {
+                line.append(value, from, i);
+                endLine();
+                from = i + 1;
+            }
+        }
+        line.append(value, from, end);
+        return this;
+    }
+
+    @Override
+    public Appendable append(char c) {
+        if (c == '\n') {
+            endLine();
+        } else {
+            line.append(c);
+        }
+        return this;
+    }
+
+    private void endLine() {
+        sink.writeLine(line);
+        line.setLength(0);
+    }
+}
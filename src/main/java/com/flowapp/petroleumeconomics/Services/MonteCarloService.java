@@ -0,0 +1,84 @@
+package com.flowapp.petroleumeconomics.Services;
+
+import com.flowapp.petroleumeconomics.Models.MonteCarloInput;
+import com.flowapp.petroleumeconomics.Models.MonteCarloSummary;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.concurrent.Service;
+import javafx.concurrent.Task;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Runs a Monte Carlo study in the background, reporting progress and the running expected NPV as the
+ * message after every block of trials. Updates are coalesced by {@link Task}, so the JavaFX Application Thread
+ * sees at most one per pulse however fast the blocks complete. Cancelling stops the study at the next block.
+ * <p>
+ * The trials are summarised as they run, see {@link MonteCarloSimulator#summarize}, so a study of any size keeps
+ * the memory of a few sketches, and the summary carries the fan of yearly cash flows for the chart.
+ */
+public class MonteCarloService extends Service<MonteCarloSummary> {
+
+    private final ObjectProperty<MonteCarloInput> input = new SimpleObjectProperty<>(this, "input");
+    private final MonteCarloSimulator simulator;
+
+    public MonteCarloService() {
+        this(new MonteCarloSimulator());
+    }
+
+    public MonteCarloService(@NotNull MonteCarloSimulator simulator) {
+        this.simulator = simulator;
+    }
+
+    public ObjectProperty<MonteCarloInput> inputProperty() {
+        return input;
+    }
+
+    public MonteCarloInput getInput() {
+        return input.get();
+    }
+
+    public void setInput(MonteCarloInput input) {
+        this.input.set(input);
+    }
+
+    /**
+     * Cancels the running study, if any, and starts {@code study}.
+     */
+    public void simulate(@NotNull MonteCarloInput study) {
+        setInput(study);
+        restart();
+    }
+
+    @Override
+    protected Task<MonteCarloSummary> createTask() {
+        return new StudyTask(getInput());
+    }
+
+    private class StudyTask extends Task<MonteCarloSummary> implements MonteCarloSimulator.Progress {
+        private final MonteCarloInput study;
+
+        StudyTask(MonteCarloInput study) {
+            this.study = study;
+        }
+
+        @Override
+        protected MonteCarloSummary call() {
+            if (study == null) {
+                throw new IllegalArgumentException("No study to run");
+            }
+            updateProgress(0, study.getTrials());
+            final var summary = simulator.summarize(study, this);
+            updateMessage(String.format("E[NPV] = %.2f MM USD, P(loss) = %.1f %%, %d trials in %d ms",
+                    summary.getNetPresentValue().getMean() / 1_000_000, summary.getProbabilityOfLoss() * 100,
+                    summary.getTrials(), summary.getElapsedNanos() / 1_000_000));
+            return summary;
+        }
+
+        @Override
+        public void onBlockCompleted(int completedTrials, int trials, double netPresentValueSum) {
+            updateProgress(completedTrials, trials);
+            updateMessage(String.format("%d / %d trials, E[NPV] = %.2f MM USD",
+                    completedTrials, trials, netPresentValueSum / completedTrials / 1_000_000));
+        }
+    }
+}
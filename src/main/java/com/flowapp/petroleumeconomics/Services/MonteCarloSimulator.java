@@ -0,0 +1,325 @@
+package com.flowapp.petroleumeconomics.Services;
+
+import com.flowapp.petroleumeconomics.Models.CashFlows;
+import com.flowapp.petroleumeconomics.Models.MonteCarloInput;
+import com.flowapp.petroleumeconomics.Models.MonteCarloResult;
+import com.flowapp.petroleumeconomics.Models.MonteCarloSummary;
+import com.flowapp.petroleumeconomics.Models.ProjectInput;
+import com.flowapp.petroleumeconomics.Statistics.CashFlowFan;
+import com.flowapp.petroleumeconomics.Statistics.DistributionSummary;
+import com.flowapp.petroleumeconomics.Utils.ArpsDecline;
+import com.flowapp.petroleumeconomics.Utils.EconomicsUtils;
+import com.flowapp.petroleumeconomics.Utils.IRRSolver;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * Runs the {@link EconomicsCalculator} model over randomly sampled projects on a fork/join pool.
+ * <p>
+ * Trials are grouped in fixed blocks and every block draws from its own {@link SplittableRandom} seeded from
+ * the study seed and the block index, so the samples of a trial never depend on which thread ran it.
+ * {@link #simulate} keeps every trial, {@link #summarize} only streaming statistics, for studies too large to store.
+ */
+public class MonteCarloSimulator {
+
+    static final int BLOCK_SIZE = 1024;
+    /**
+     * Longest life a sampled decline is allowed, in years, unless the base project lasts longer: declines sampled
+     * at or near zero are raised to it, rather than running trials of thousands of years.
+     */
+    static final int MAX_TRIAL_YEARS = 100;
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final ForkJoinPool pool;
+    private final IRRSolver irrSolver = new IRRSolver(0.00001);
+
+    public MonteCarloSimulator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public MonteCarloSimulator(@NotNull ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public MonteCarloResult simulate(@NotNull MonteCarloInput input) {
+        return simulate(input, Progress.NONE);
+    }
+
+    /**
+     * Runs the study reporting {@code progress} after every block of trials.
+     *
+     * @throws CancellationException when {@link Progress#isCancelled()} turns true, checked before every block
+     */
+    public MonteCarloResult simulate(@NotNull MonteCarloInput input, @NotNull Progress progress) {
+        final long start = System.nanoTime();
+        final var run = new StoredRun(input, progress);
+        pool.invoke(new TrialsTask(run, 0, run.getBlocks()));
+        return new MonteCarloResult(run.npvs, run.irrs, run.reserves, System.nanoTime() - start);
+    }
+
+    public MonteCarloSummary summarize(@NotNull MonteCarloInput input) {
+        return summarize(input, Progress.NONE);
+    }
+
+    /**
+     * Runs the study keeping only the moments and quantile sketches of the NPV, IRR and reserves and of the yearly
+     * cash flows. Every leaf task feeds its own {@link TrialStatistics} and they are merged pairwise as the tasks
+     * join, always in block order, so memory depends on the number of threads and years, not on the number of
+     * trials, and a seed always gives the same summary whatever thread ran which block.
+     *
+     * @throws CancellationException when {@link Progress#isCancelled()} turns true, checked before every block
+     */
+    public MonteCarloSummary summarize(@NotNull MonteCarloInput input, @NotNull Progress progress) {
+        final long start = System.nanoTime();
+        final var run = new SummarizedRun(input, progress);
+        final var statistics = (TrialStatistics) pool.invoke(new TrialsTask(run, 0, run.getBlocks()));
+        return new MonteCarloSummary(input.getTrials(), statistics.netPresentValue, statistics.internalRateOfReturn,
+                statistics.totalOilProduction, statistics.cashFlowFan, statistics.losses, System.nanoTime() - start);
+    }
+
+    /**
+     * Random stream of a block, derived with the SplitMix64 finaliser so that neighbouring blocks are uncorrelated.
+     */
+    static SplittableRandom blockRandom(long seed, long block) {
+        long z = seed + (block + 1) * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return new SplittableRandom(z ^ (z >>> 31));
+    }
+
+    private void runBlock(Run run, int block, CashFlows cashFlows, TrialSink sink) {
+        if (run.progress.isCancelled()) {
+            throw new CancellationException();
+        }
+        final var input = run.input;
+        final var random = blockRandom(input.getSeed(), block);
+        final var base = input.getBaseProject();
+        final int trials = input.getTrials();
+        final int from = block * BLOCK_SIZE;
+        final int to = Math.min(trials, from + BLOCK_SIZE);
+        final double discountRate = EconomicsCalculator.getPeriodicDiscountRate(base);
+        final int periodsPerYear = base.getTimeStep().getPeriodsPerYear();
+        double blockNpv = 0;
+        for (int trial = from; trial < to; trial++) {
+            final var project = sample(input, base, random);
+            final double reserves = EconomicsCalculator.buildCashFlows(project, cashFlows);
+            final double npv = EconomicsUtils.calculateNetPresentValue(cashFlows.values(), cashFlows.size(), discountRate);
+            final double irr = irrSolver.solve(cashFlows.values(), cashFlows.size(), periodsPerYear).getRate();
+            sink.accept(trial, cashFlows, periodsPerYear, npv, irr, reserves);
+            blockNpv += npv;
+        }
+        run.netPresentValueSum.add(blockNpv);
+        run.progress.onBlockCompleted(run.completedTrials.addAndGet(to - from), trials, run.netPresentValueSum.sum());
+    }
+
+    private static ProjectInput sample(MonteCarloInput input, ProjectInput base, SplittableRandom random) {
+        // sample every parameter in a fixed order, whatever distributions are constant
+        final double oilPrice = input.getOilPricePerBarrel().sample(random);
+        final double declineRate = input.getDeclineRatePerYear().sample(random);
+        final double upTime = input.getUpTimeFraction().sample(random);
+        final double initialRate = input.getInitialProductionPerWellPerDay().sample(random);
+        final double operatingCost = input.getOperatingCostPerBarrel().sample(random);
+        final double capitalFactor = input.getCapitalCostFactor().sample(random);
+        return new ProjectInput(Math.max(0, initialRate),
+                base.getWellInitialCost() * capitalFactor,
+                base.getFacilitiesCost() * capitalFactor,
+                base.getPipelinesCost() * capitalFactor,
+                oilPrice,
+                Math.min(1, Math.max(0, upTime)),
+                base.getInterestRatePerYear(),
+                base.getNumberOfWells(),
+                operatingCost,
+                base.getAbandonmentCost(),
+                base.getAbandonmentOilRatePerWellPerDay(),
+                Math.min(base.isAnnualStepDecline() ? 1 : 0.999999,
+                        Math.max(calculateMinimumDecline(base, initialRate), declineRate)),
+                base.getTimeStep(),
+                base.getDeclineType(),
+                base.getHyperbolicExponent());
+    }
+
+    /**
+     * Smallest decline sampled: the one whose well starting at {@code initialRate} reaches the abandonment rate in
+     * {@link #MAX_TRIAL_YEARS} years, or the base decline when it is smaller, and never one that takes more than
+     * {@link ProjectInput#MAX_PRODUCING_PERIODS} periods. The life is inversely proportional to the nominal decline
+     * on every curve.
+     */
+    private static double calculateMinimumDecline(ProjectInput base, double initialRate) {
+        final double lifeAtUnitDecline = ArpsDecline.calculateAbandonmentTime(base.getDeclineType(),
+                base.getHyperbolicExponent(), 1, initialRate, base.getAbandonmentOilRatePerWellPerDay());
+        final double horizonDecline = -Math.expm1(-lifeAtUnitDecline / MAX_TRIAL_YEARS);
+        final double capDecline = -Math.expm1(-lifeAtUnitDecline * base.getTimeStep().getPeriodsPerYear()
+                / (ProjectInput.MAX_PRODUCING_PERIODS - 2));
+        return Math.max(1e-6, Math.max(capDecline, Math.min(horizonDecline, base.getDeclineRatePerYear())));
+    }
+
+    /**
+     * Observer of a running study, called from the worker threads.
+     */
+    public interface Progress {
+        Progress NONE = new Progress() {
+        };
+
+        default boolean isCancelled() {
+            return false;
+        }
+
+        /**
+         * Called after every block with the number of trials done so far and the sum of their NPVs,
+         * blocks completing in any order.
+         */
+        default void onBlockCompleted(int completedTrials, int trials, double netPresentValueSum) {
+        }
+    }
+
+    private interface TrialSink {
+        void accept(int trial, CashFlows cashFlows, int periodsPerYear, double npv, double irr, double reserves);
+
+        /**
+         * Adds the trials of {@code other}, a sink of the same run that took the blocks right after this one's.
+         */
+        void addAll(TrialSink other);
+    }
+
+    private abstract static class Run {
+        final MonteCarloInput input;
+        final Progress progress;
+        final AtomicInteger completedTrials = new AtomicInteger();
+        final DoubleAdder netPresentValueSum = new DoubleAdder();
+
+        Run(MonteCarloInput input, Progress progress) {
+            this.input = input;
+            this.progress = progress;
+        }
+
+        int getBlocks() {
+            return (input.getTrials() + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        }
+
+        /**
+         * Where a leaf task writes the outcome of its trials.
+         */
+        abstract TrialSink newSink();
+    }
+
+    /**
+     * Writes every trial to its own index, so threads never share a slot.
+     */
+    private static final class StoredRun extends Run implements TrialSink {
+        private final double[] npvs;
+        private final double[] irrs;
+        private final double[] reserves;
+
+        StoredRun(MonteCarloInput input, Progress progress) {
+            super(input, progress);
+            this.npvs = new double[input.getTrials()];
+            this.irrs = new double[input.getTrials()];
+            this.reserves = new double[input.getTrials()];
+        }
+
+        @Override
+        TrialSink newSink() {
+            return this;
+        }
+
+        @Override
+        public void accept(int trial, CashFlows cashFlows, int periodsPerYear, double npv, double irr, double reserves) {
+            this.npvs[trial] = npv;
+            this.irrs[trial] = irr;
+            this.reserves[trial] = reserves;
+        }
+
+        @Override
+        public void addAll(TrialSink other) {
+            // every trial already has its slot
+        }
+    }
+
+    /**
+     * One {@link TrialStatistics} per leaf task, owned by the thread running it until it is merged into its
+     * neighbour's, so they need no locking.
+     */
+    private static final class SummarizedRun extends Run {
+
+        SummarizedRun(MonteCarloInput input, Progress progress) {
+            super(input, progress);
+        }
+
+        @Override
+        TrialSink newSink() {
+            return new TrialStatistics();
+        }
+    }
+
+    private static final class TrialStatistics implements TrialSink {
+        private final DistributionSummary netPresentValue = new DistributionSummary();
+        private final DistributionSummary internalRateOfReturn = new DistributionSummary();
+        private final DistributionSummary totalOilProduction = new DistributionSummary();
+        private final CashFlowFan cashFlowFan = new CashFlowFan();
+        private long losses;
+
+        @Override
+        public void accept(int trial, CashFlows cashFlows, int periodsPerYear, double npv, double irr, double reserves) {
+            netPresentValue.add(npv);
+            internalRateOfReturn.add(irr);
+            totalOilProduction.add(reserves);
+            cashFlowFan.add(cashFlows.values(), cashFlows.size(), periodsPerYear);
+            if (npv < 0) {
+                losses++;
+            }
+        }
+
+        @Override
+        public void addAll(TrialSink sink) {
+            final var other = (TrialStatistics) sink;
+            netPresentValue.merge(other.netPresentValue);
+            internalRateOfReturn.merge(other.internalRateOfReturn);
+            totalOilProduction.merge(other.totalOilProduction);
+            cashFlowFan.merge(other.cashFlowFan);
+            losses += other.losses;
+        }
+    }
+
+    /**
+     * Runs a range of blocks and returns the sink of its trials, the sink of the right half of a range being
+     * merged into the left one's, so that the order of the merges only depends on the number of blocks.
+     */
+    private class TrialsTask extends RecursiveTask<TrialSink> {
+        private static final int BLOCKS_PER_TASK = 4;
+
+        private final Run run;
+        private final int fromBlock;
+        private final int toBlock;
+
+        TrialsTask(Run run, int fromBlock, int toBlock) {
+            this.run = run;
+            this.fromBlock = fromBlock;
+            this.toBlock = toBlock;
+        }
+
+        @Override
+        protected TrialSink compute() {
+            if (toBlock - fromBlock <= BLOCKS_PER_TASK) {
+                final var cashFlows = new CashFlows(64);
+                final var sink = run.newSink();
+                for (int block = fromBlock; block < toBlock; block++) {
+                    runBlock(run, block, cashFlows, sink);
+                }
+                return sink;
+            }
+            final int middle = (fromBlock + toBlock) >>> 1;
+            final var left = new TrialsTask(run, fromBlock, middle);
+            final var right = new TrialsTask(run, middle, toBlock);
+            invokeAll(left, right);
+            final var sink = left.join();
+            sink.addAll(right.join());
+            return sink;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.flowapp.petroleumeconomics.Services;
+
+import com.flowapp.petroleumeconomics.Models.CashFlows;
+import com.flowapp.petroleumeconomics.Models.EconomicsResult;
+import com.flowapp.petroleumeconomics.Models.NpvProfile;
+import com.flowapp.petroleumeconomics.Models.ProjectInput;
+import com.flowapp.petroleumeconomics.Utils.EconomicsUtils;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Computes the {@link NpvProfile} of a project, by default from 0% to 100% in steps of 0.05%, with the MIRR at
+ * the project's interest rate unless a finance or reinvestment rate is given.
+ */
+public class NpvProfileAnalyzer {
+
+    private double minimumRate = 0;
+    private double maximumRate = 1;
+    private double rateStep = 0.0005;
+    private double financeRate = Double.NaN;
+    private double reinvestmentRate = Double.NaN;
+
+    public NpvProfileAnalyzer withRange(double minimumRate, double maximumRate, double rateStep) {
+        if (minimumRate <= -1 || maximumRate < minimumRate || !(rateStep > 0)) {
+            throw new IllegalArgumentException("Invalid discount rate range: " + minimumRate + " to " + maximumRate
+                    + " by " + rateStep);
+        }
+        this.minimumRate = minimumRate;
+        this.maximumRate = maximumRate;
+        this.rateStep = rateStep;
+        return this;
+    }
+
+    public NpvProfileAnalyzer withFinanceRate(double financeRate) {
+        this.financeRate = financeRate;
+        return this;
+    }
+
+    public NpvProfileAnalyzer withReinvestmentRate(double reinvestmentRate) {
+        this.reinvestmentRate = reinvestmentRate;
+        return this;
+    }
+
+    public NpvProfile analyze(@NotNull ProjectInput input) {
+        final var cashFlows = new CashFlows();
+        EconomicsCalculator.buildCashFlows(input, cashFlows);
+        return analyze(input, cashFlows.values(), cashFlows.size());
+    }
+
+    public NpvProfile analyze(@NotNull EconomicsResult result) {
+        final var cashFlows = result.getCashFlows();
+        return analyze(result.getInput(), cashFlows, cashFlows.length);
+    }
+
+    private NpvProfile analyze(ProjectInput input, double[] cashFlows, int length) {
+        final int periodsPerYear = input.getTimeStep().getPeriodsPerYear();
+        final int count = (int) Math.floor((maximumRate - minimumRate) / rateStep + 1e-9) + 1;
+        final double[] rates = new double[count];
+        final double[] periodicRates = new double[count];
+        for (int i = 0; i < count; i++) {
+            rates[i] = minimumRate + i * rateStep;
+            periodicRates[i] = EconomicsUtils.calculatePeriodicRate(rates[i], periodsPerYear);
+        }
+        final double[] npvs = new double[count];
+        EconomicsUtils.calculateNetPresentValues(cashFlows, length, periodicRates, count, npvs);
+
+        final double finance = Double.isNaN(financeRate) ? input.getInterestRatePerYear() : financeRate;
+        final double reinvestment = Double.isNaN(reinvestmentRate) ? input.getInterestRatePerYear() : reinvestmentRate;
+        final double mirr = EconomicsUtils.calculateAnnualRate(EconomicsUtils.calculateModifiedInternalRateOfReturn(cashFlows, length,
+                EconomicsUtils.calculatePeriodicRate(finance, periodsPerYear),
+                EconomicsUtils.calculatePeriodicRate(reinvestment, periodsPerYear)), periodsPerYear);
+        return new NpvProfile(rates, npvs, finance, reinvestment, mirr);
+    }
+}
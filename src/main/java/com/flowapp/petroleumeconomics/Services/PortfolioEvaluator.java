@@ -0,0 +1,368 @@
+package com.flowapp.petroleumeconomics.Services;
+
+import com.flowapp.petroleumeconomics.Models.EconomicsResult;
+import com.flowapp.petroleumeconomics.Models.Parameter;
+import com.flowapp.petroleumeconomics.Models.PortfolioSummary;
+import com.flowapp.petroleumeconomics.Models.ProjectInput;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Streams a delimited file of projects, one per row, evaluates the rows in parallel and streams one result row
+ * per project in input order.
+ * <p>
+ * Memory stays constant in the number of rows: at most {@code parallelism * 4} rows are in flight, the reader
+ * blocks on the oldest one when the window is full, and only the aggregates of finished rows are kept.
+ * The header row names the columns with the {@link Parameter} keys, plus an optional {@code id} column.
+ */
+public class PortfolioEvaluator {
+
+    private static final String[] OUTPUT_HEADER = {
+            "id", "npv", "irr", "irrStatus", "pir", "economicLife", "totalOilProduction", "initialInvestment", "error"
+    };
+    private static final Set<String> ID_COLUMNS = Set.of("id", "name", "project");
+
+    private final EconomicsCalculator calculator = new EconomicsCalculator();
+    private final int parallelism;
+    private char delimiter = ',';
+    private ProjectInput defaults;
+    private double capitalBudget = Double.POSITIVE_INFINITY;
+    private int maxRankedProjects = 1_000;
+    private ResultCache resultCache;
+
+    public PortfolioEvaluator() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public PortfolioEvaluator(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    public PortfolioEvaluator withDelimiter(char delimiter) {
+        this.delimiter = delimiter;
+        return this;
+    }
+
+    /**
+     * Values used for the parameters that have no column in the file.
+     */
+    public PortfolioEvaluator withDefaults(ProjectInput defaults) {
+        this.defaults = defaults;
+        return this;
+    }
+
+    public PortfolioEvaluator withCapitalBudget(double capitalBudget) {
+        this.capitalBudget = capitalBudget;
+        return this;
+    }
+
+    /**
+     * Upper bound of the projects kept for the capital ranking, which bounds its memory.
+     */
+    public PortfolioEvaluator withMaxRankedProjects(int maxRankedProjects) {
+        this.maxRankedProjects = maxRankedProjects;
+        return this;
+    }
+
+    /**
+     * Cache in front of the evaluations, so projects seen by earlier screenings are not evaluated again.
+     */
+    public PortfolioEvaluator withResultCache(ResultCache resultCache) {
+        this.resultCache = resultCache;
+        return this;
+    }
+
+    public PortfolioSummary evaluate(@NotNull Path input, @NotNull Path output) throws IOException {
+        try (var reader = Files.newBufferedReader(input, StandardCharsets.UTF_8);
+             var writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            return evaluate(reader, writer);
+        }
+    }
+
+    public PortfolioSummary evaluate(@NotNull Reader input, @NotNull Writer output) throws IOException {
+        final long start = System.nanoTime();
+        final var reader = input instanceof BufferedReader ? (BufferedReader) input : new BufferedReader(input);
+        final var writer = output instanceof BufferedWriter ? (BufferedWriter) output : new BufferedWriter(output);
+        final var headerLine = reader.readLine();
+        if (headerLine == null) {
+            throw new IllegalArgumentException("The portfolio file is empty");
+        }
+        final var columns = parseHeader(split(headerLine));
+        writeRow(writer, OUTPUT_HEADER);
+
+        final var aggregate = new Aggregate(capitalBudget, maxRankedProjects);
+        final ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        final ArrayDeque<Future<Outcome>> window = new ArrayDeque<>();
+        final int maxInFlight = parallelism * 4;
+        try {
+            String line;
+            long row = 0;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                row++;
+                final var fields = line;
+                final var rowNumber = row;
+                window.add(executor.submit(() -> evaluateRow(columns, fields, rowNumber)));
+                if (window.size() >= maxInFlight) {
+                    aggregate.accept(await(window.poll()), writer);
+                }
+            }
+            while (!window.isEmpty()) {
+                aggregate.accept(await(window.poll()), writer);
+            }
+        } finally {
+            window.forEach(future -> future.cancel(true));
+            executor.shutdownNow();
+        }
+        writer.flush();
+        return aggregate.summary(System.nanoTime() - start);
+    }
+
+    private Outcome evaluateRow(Column[] columns, String line, long row) {
+        String id = String.valueOf(row);
+        try {
+            final var fields = split(line);
+            if (fields.length != columns.length) {
+                throw new IllegalArgumentException("expected " + columns.length + " fields but found " + fields.length);
+            }
+            final var builder = defaults != null ? defaults.toBuilder() : ProjectInput.builder();
+            for (int i = 0; i < columns.length; i++) {
+                final var column = columns[i];
+                if (column.id) {
+                    id = fields[i];
+                } else if (column.parameter != null) {
+                    column.parameter.set(builder, Double.parseDouble(fields[i].trim()));
+                }
+            }
+            final var project = builder.build();
+            return new Outcome(id, resultCache != null ? resultCache.evaluate(project) : calculator.evaluate(project), null);
+        } catch (RuntimeException e) {
+            return new Outcome(id, null, e.getMessage() != null ? e.getMessage() : e.toString());
+        }
+    }
+
+    private Column[] parseHeader(String[] header) {
+        final var columns = new Column[header.length];
+        final Set<Parameter> missing = EnumSet.allOf(Parameter.class);
+        for (int i = 0; i < header.length; i++) {
+            final var name = header[i].trim();
+            if (ID_COLUMNS.contains(name.toLowerCase())) {
+                columns[i] = new Column(null, true);
+                continue;
+            }
+            Parameter parameter = null;
+            try {
+                parameter = Parameter.fromKey(name);
+                missing.remove(parameter);
+            } catch (IllegalArgumentException ignored) {
+                // extra columns are carried by the file but not used
+            }
+            columns[i] = new Column(parameter, false);
+        }
+        if (defaults == null && !missing.isEmpty()) {
+            throw new IllegalArgumentException("Missing columns without defaults: " + missing);
+        }
+        return columns;
+    }
+
+    private static Outcome await(Future<Outcome> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Portfolio evaluation interrupted");
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Splits a delimited line, honouring double quoted fields with doubled quotes as escapes.
+     */
+    String[] split(String line) {
+        final List<String> fields = new ArrayList<>();
+        final var field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            final char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields.toArray(new String[0]);
+    }
+
+    private void writeRow(Writer writer, String... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write(delimiter);
+            }
+            final var field = fields[i];
+            if (field.indexOf(delimiter) >= 0 || field.indexOf('"') >= 0 || field.indexOf('\n') >= 0) {
+                writer.write('"');
+                writer.write(field.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(field);
+            }
+        }
+        writer.write('\n');
+    }
+
+    private static final class Column {
+        final Parameter parameter;
+        final boolean id;
+
+        Column(Parameter parameter, boolean id) {
+            this.parameter = parameter;
+            this.id = id;
+        }
+    }
+
+    private static final class Outcome {
+        final String id;
+        final EconomicsResult result;
+        final String error;
+
+        Outcome(String id, EconomicsResult result, String error) {
+            this.id = id;
+            this.result = result;
+            this.error = error;
+        }
+    }
+
+    /**
+     * Running portfolio totals, only touched by the thread that writes the output.
+     */
+    private final class Aggregate {
+        private final double budget;
+        private final int maxRanked;
+        private final PriorityQueue<PortfolioSummary.RankedProject> ranked =
+                new PriorityQueue<>(Comparator.comparingDouble(PortfolioSummary.RankedProject::getProfitabilityIndex));
+        private double rankedInvestment = 0;
+        private double cutOffIndex = Double.NEGATIVE_INFINITY;
+        private long projects = 0;
+        private long failed = 0;
+        private double totalNpv = 0;
+        private double totalInvestment = 0;
+        private double[] yearlyCashFlows = new double[64];
+        private int years = 0;
+
+        Aggregate(double budget, int maxRanked) {
+            this.budget = budget;
+            this.maxRanked = maxRanked;
+        }
+
+        void accept(Outcome outcome, Writer writer) throws IOException {
+            projects++;
+            if (outcome.result == null) {
+                failed++;
+                writeRow(writer, outcome.id, "", "", "", "", "", "", "", outcome.error);
+                return;
+            }
+            final var result = outcome.result;
+            final var irr = result.getInternalRateOfReturn();
+            writeRow(writer,
+                    outcome.id,
+                    String.valueOf(result.getNetPresentValue()),
+                    irr.exists() ? String.valueOf(irr.getRate()) : "",
+                    irr.getStatus().name(),
+                    String.valueOf(result.getProfitabilityIndex()),
+                    String.valueOf(result.getEconomicLife()),
+                    String.valueOf(result.getTotalOilProduction()),
+                    String.valueOf(result.getInitialInvestment()),
+                    "");
+
+            totalNpv += result.getNetPresentValue();
+            totalInvestment += result.getInitialInvestment();
+            // period 0 stays year 0, period k belongs to year ceil(k / periodsPerYear), whatever the time step
+            final var cashFlows = result.getCashFlows();
+            final int periodsPerYear = result.getTimeStep().getPeriodsPerYear();
+            final int projectYears = (cashFlows.length - 1 + periodsPerYear - 1) / periodsPerYear + 1;
+            if (projectYears > yearlyCashFlows.length) {
+                yearlyCashFlows = Arrays.copyOf(yearlyCashFlows, Math.max(projectYears, yearlyCashFlows.length * 2));
+            }
+            yearlyCashFlows[0] += cashFlows[0];
+            for (int period = 1; period < cashFlows.length; period++) {
+                yearlyCashFlows[(period + periodsPerYear - 1) / periodsPerYear] += cashFlows[period];
+            }
+            years = Math.max(years, projectYears);
+            rank(outcome.id, result);
+        }
+
+        /**
+         * Keeps the longest run of projects, by descending profitability index, that fits in the budget.
+         * Once a project has been dropped every project ranked below it is rejected as well, so the kept set
+         * is the same as sorting the whole portfolio and funding from the top until the money runs out.
+         */
+        private void rank(String id, EconomicsResult result) {
+            final double index = result.getProfitabilityIndex();
+            if (result.getNetPresentValue() <= 0 || Double.isNaN(index) || index <= cutOffIndex) {
+                return;
+            }
+            ranked.add(new PortfolioSummary.RankedProject(id, result.getNetPresentValue(), result.getInitialInvestment(), index));
+            rankedInvestment += result.getInitialInvestment();
+            while (!ranked.isEmpty() && (rankedInvestment > budget || ranked.size() > maxRanked)) {
+                final var dropped = ranked.poll();
+                rankedInvestment -= dropped.getInitialInvestment();
+                cutOffIndex = Math.max(cutOffIndex, dropped.getProfitabilityIndex());
+            }
+        }
+
+        PortfolioSummary summary(long elapsedNanos) {
+            final List<PortfolioSummary.RankedProject> selected = new ArrayList<>(ranked);
+            selected.sort(Comparator.comparingDouble(PortfolioSummary.RankedProject::getProfitabilityIndex).reversed());
+            return new PortfolioSummary(projects,
+                    failed,
+                    totalNpv,
+                    totalInvestment,
+                    Arrays.copyOf(yearlyCashFlows, years),
+                    budget,
+                    selected,
+                    elapsedNanos);
+        }
+    }
+}
@@ -1,21 +1,33 @@
 package com.flowapp.petroleumeconomics.Services;
 
+import com.flowapp.petroleumeconomics.Metrics.MetricsRegistry;
+import com.flowapp.petroleumeconomics.Metrics.Phase;
+import com.flowapp.petroleumeconomics.Utils.MessageTemplate;
 import com.flowapp.petroleumeconomics.Utils.TableList;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 class Printer {
 
-    private final boolean printOut;
-    private StringBuilder steps;
+    private final ReportSink sink;
+    private final Appendable text;
+    private final StringBuilder line = new StringBuilder();
 
     Printer(boolean printOut) {
-        this.printOut = printOut;
-        this.steps = new StringBuilder();
+        this(printOut ? WriterReportSink.stdout() : ReportSink.NULL);
+    }
+
+    Printer(@NotNull ReportSink sink) {
+        this.sink = sink;
+        this.text = sink.asAppendable();
+    }
+
+    public boolean isEnabled() {
+        return sink.isEnabled();
     }
 
     public void renderTable(List<Object[]> args) {
@@ -23,6 +35,10 @@ class Printer {
     }
 
     public void renderTable(Object[] ... args) {
+        if (!sink.isEnabled()) {
+            return;
+        }
+        final var timer = MetricsRegistry.shared().time(Phase.PRINTING);
         final var temp = args[0];
         final String[] firstRow = new String[temp.length];
         for (int i = 0; i < temp.length; i++) {
@@ -44,27 +60,34 @@ class Printer {
         for (var row: newRows) {
             at.addRow(row);
         }
-        String rend = at.render();
-        println(rend);
+        // streamed row by row into the sink, the table ending with its last line
+        try {
+            at.render(text);
+            text.append('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        timer.stop(args.length);
     }
 
     public void println(@NotNull String pattern, Object... args) {
-        final String message = format(pattern, args);
-        steps.append(message).append('\n');
-        if (printOut) {
-            System.out.println(message);
+        if (!sink.isEnabled()) {
+            return;
         }
+        final var timer = MetricsRegistry.shared().time(Phase.PRINTING);
+        line.setLength(0);
+        MessageTemplate.of(pattern).render(line, this::appendArgument, args);
+        timer.stop(1);
+        sink.writeLine(line);
     }
 
-    public void clear() {
-        steps = new StringBuilder();
+    public void flush() {
+        sink.flush();
     }
 
     public String formatNumber(Number number) {
-        final var value = number.floatValue();
-        if (number instanceof Double) {
-            return number.toString();
-        } else if (value == 0) {
+        final var value = number.doubleValue();
+        if (value == 0) {
             return  "0";
         } if (value < 1 && value > -1) {
             return String.format("%.7f", value);
@@ -75,43 +98,16 @@ class Printer {
 
     @NotNull
     public String format(@NotNull String pattern, Object... args) {
-        Pattern rePattern = Pattern.compile("\\{([0-9+-]*)}", Pattern.CASE_INSENSITIVE);
-        Matcher matcher = rePattern.matcher(pattern);
-        int counter = -1;
-        while (matcher.find()) {
-            counter++;
-            String number = matcher.group(1);
-            if (number == null) {
-                number = "";
-            }
-            if (!number.isBlank()) {
-                if (number.equals("+")) {
-                    number = "\\+";
-                    counter++;
-                } else if (number.equals("-")) {
-                    counter--;
-                } else {
-                    counter = Integer.parseInt(number);
-                }
-            }
-            counter = clamp(counter, 0, args.length - 1);
-            String toChange = "\\{" + number + "}";
-            Object object = args[counter];
-            String objectString;
-            if (object instanceof Number) {
-                objectString = formatNumber((Number) object);
-            } else {
-                objectString = object.toString();
-            }
-            String result = objectString;
-            pattern = pattern.replaceFirst(toChange, result);
-        }
-        return pattern;
+        line.setLength(0);
+        MessageTemplate.of(pattern).render(line, this::appendArgument, args);
+        return line.toString();
     }
 
-    private <T extends Comparable<T>> T clamp(T val, T min, T max) {
-        if (val.compareTo(min) < 0) return min;
-        else if (val.compareTo(max) > 0) return max;
-        else return val;
+    private void appendArgument(StringBuilder out, Object object) {
+        if (object instanceof Number) {
+            out.append(formatNumber((Number) object));
+        } else {
+            out.append(object);
+        }
     }
 }
\ No newline at end of file
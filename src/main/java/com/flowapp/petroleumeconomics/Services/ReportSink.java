@@ -0,0 +1,46 @@
+package com.flowapp.petroleumeconomics.Services;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Destination of the text written by the reports, one line at a time.
+ * <p>
+ * A sink that is not enabled does not consume output, and the reports skip formatting altogether.
+ * Sinks are not thread-safe: concurrent reports should write to separate sinks.
+ */
+public interface ReportSink {
+
+    /**
+     * Discards everything, so reports written to it cost nothing.
+     */
+    ReportSink NULL = new ReportSink() {
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+
+        @Override
+        public void writeLine(@NotNull CharSequence line) {
+        }
+    };
+
+    default boolean isEnabled() {
+        return true;
+    }
+
+    void writeLine(@NotNull CharSequence line);
+
+    /**
+     * View of the sink for text written piece by piece, such as a table rendered row by row, in which a line break
+     * ends a line. The default passes every line to {@link #writeLine} as soon as it ends, so only one line is held.
+     */
+    default Appendable asAppendable() {
+        return new LineAppender(this);
+    }
+
+    /**
+     * Called at the end of every report.
+     */
+    default void flush() {
+    }
+}
@@ -0,0 +1,405 @@
+package com.flowapp.petroleumeconomics.Services;
+
+import com.flowapp.petroleumeconomics.Models.CashFlowMetrics;
+import com.flowapp.petroleumeconomics.Models.DeclineType;
+import com.flowapp.petroleumeconomics.Models.EconomicsResult;
+import com.flowapp.petroleumeconomics.Models.IRRResult;
+import com.flowapp.petroleumeconomics.Models.Parameter;
+import com.flowapp.petroleumeconomics.Models.ProjectInput;
+import com.flowapp.petroleumeconomics.Models.TimeStep;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Memoises {@link EconomicsCalculator#evaluate(ProjectInput)}, so a repeated evaluation costs a hash lookup.
+ * <p>
+ * Entries are keyed on the canonical bits of every input, the twelve {@link Parameter}s and the time step and
+ * decline curve, with {@code -0.0} folded into {@code 0.0}. Lookups never lock. Concurrent misses on one key share
+ * one evaluation: the first caller evaluates and the others wait for its result, counted as hits, or start over
+ * when that caller is cancelled. Entries are evicted in write order, in the same locked step as the write that
+ * would take the cache over its maximum size, and expire a fixed time after they were written.
+ * With {@link #withPersistence(Path)} the entries are loaded from a local file and {@link #close()} writes them
+ * back, expiry times included, so a warm restart skips recomputation.
+ */
+public class ResultCache implements Closeable {
+
+    private static final int FILE_MAGIC = 0x50454352;
+    private static final int FILE_VERSION = 2;
+
+    private final EconomicsCalculator calculator;
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    /** Guarded by itself for writes, iterated without locking by {@link #save(Path)}. */
+    private final Queue<Entry> writeOrder = new ConcurrentLinkedQueue<>();
+    private final Map<Key, CompletableFuture<EconomicsResult>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private int maximumSize = 10_000;
+    private long expireAfterWriteMillis = Long.MAX_VALUE;
+    private Path persistenceFile;
+
+    public ResultCache() {
+        this(new EconomicsCalculator());
+    }
+
+    public ResultCache(@NotNull EconomicsCalculator calculator) {
+        this.calculator = calculator;
+    }
+
+    public ResultCache withMaximumSize(int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("The cache must hold at least one result");
+        }
+        synchronized (writeOrder) {
+            this.maximumSize = maximumSize;
+            evictExcess(maximumSize);
+        }
+        return this;
+    }
+
+    public ResultCache withExpireAfterWrite(@NotNull Duration duration) {
+        this.expireAfterWriteMillis = duration.toMillis();
+        return this;
+    }
+
+    /**
+     * Loads the entries saved in {@code file}, when it exists, and saves them back there on {@link #close()}.
+     * A file written by another version of the cache is ignored.
+     */
+    public ResultCache withPersistence(@NotNull Path file) throws IOException {
+        this.persistenceFile = file;
+        if (Files.exists(file)) {
+            load(file);
+        }
+        return this;
+    }
+
+    public EconomicsResult evaluate(@NotNull ProjectInput input) {
+        final var key = new Key(input);
+        while (true) {
+            final var cached = entries.get(key);
+            final long now = System.currentTimeMillis();
+            if (cached != null) {
+                if (!cached.isExpired(now)) {
+                    hits.increment();
+                    return cached.result;
+                }
+                if (entries.remove(key, cached)) {
+                    evictions.increment();
+                }
+            }
+            final var evaluation = new CompletableFuture<EconomicsResult>();
+            final var running = inFlight.putIfAbsent(key, evaluation);
+            if (running != null) {
+                final var result = await(running);
+                if (result != null) {
+                    hits.increment();
+                    return result;
+                }
+                // the caller evaluating it was cancelled, not this one
+                continue;
+            }
+            try {
+                // the evaluation that just ended may have written the entry between the lookup and putIfAbsent
+                final var written = entries.get(key);
+                if (written != null && !written.isExpired(now)) {
+                    hits.increment();
+                    evaluation.complete(written.result);
+                    return written.result;
+                }
+                misses.increment();
+                final var result = calculator.evaluate(input);
+                put(key, result, expiryOf(now));
+                evaluation.complete(result);
+                return result;
+            } catch (CancellationException e) {
+                // the waiters start over, one of them evaluating in turn
+                inFlight.remove(key, evaluation);
+                evaluation.complete(null);
+                throw e;
+            } catch (Throwable e) {
+                evaluation.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, evaluation);
+            }
+        }
+    }
+
+    /**
+     * Result of an evaluation run by another caller, rethrowing its exception as is, or {@code null} when that
+     * caller was cancelled.
+     */
+    private static EconomicsResult await(CompletableFuture<EconomicsResult> evaluation) {
+        try {
+            return evaluation.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for the same evaluation");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public EconomicsResult getIfPresent(@NotNull ProjectInput input) {
+        final var cached = entries.get(new Key(input));
+        if (cached == null || cached.isExpired(System.currentTimeMillis())) {
+            return null;
+        }
+        return cached.result;
+    }
+
+    public void invalidateAll() {
+        synchronized (writeOrder) {
+            entries.clear();
+            writeOrder.clear();
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public double getHitRate() {
+        final long hitCount = getHitCount();
+        final long requests = hitCount + getMissCount();
+        return requests == 0 ? 0 : (double) hitCount / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "ResultCache{" +
+                "size=" + size() +
+                ", hits=" + getHitCount() +
+                ", misses=" + getMissCount() +
+                ", evictions=" + getEvictionCount() +
+                '}';
+    }
+
+    /**
+     * Saves the entries to the persistence file, if any.
+     */
+    @Override
+    public void close() throws IOException {
+        if (persistenceFile != null) {
+            save(persistenceFile);
+        }
+    }
+
+    private long expiryOf(long writeMillis) {
+        return expireAfterWriteMillis > Long.MAX_VALUE - writeMillis ? Long.MAX_VALUE : writeMillis + expireAfterWriteMillis;
+    }
+
+    /**
+     * Makes room before writing, so the cache never holds more than its maximum size, even between two steps.
+     */
+    private void put(Key key, EconomicsResult result, long expiresAtMillis) {
+        final var entry = new Entry(key, result, expiresAtMillis);
+        synchronized (writeOrder) {
+            if (entries.containsKey(key)) {
+                return;
+            }
+            evictExcess(maximumSize - 1);
+            entries.put(key, entry);
+            writeOrder.add(entry);
+        }
+    }
+
+    /**
+     * Drops the oldest entries while the cache holds more than {@code size}, and expired or replaced entries at
+     * the head of the write order. Called holding the lock of {@link #writeOrder}.
+     */
+    private void evictExcess(int size) {
+        final long now = System.currentTimeMillis();
+        Entry eldest;
+        while ((eldest = writeOrder.peek()) != null
+                && (entries.size() > size || eldest.isExpired(now) || entries.get(eldest.key) != eldest)) {
+            writeOrder.remove();
+            if (entries.remove(eldest.key, eldest)) {
+                evictions.increment();
+            }
+        }
+    }
+
+    private void save(Path file) throws IOException {
+        final var temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(FILE_VERSION);
+            final long now = System.currentTimeMillis();
+            for (var entry : writeOrder) {
+                if (entries.get(entry.key) == entry && !entry.isExpired(now)) {
+                    out.writeBoolean(true);
+                    out.writeLong(entry.expiresAtMillis);
+                    writeResult(out, entry.result);
+                }
+            }
+            out.writeBoolean(false);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void load(Path file) throws IOException {
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_VERSION) {
+                return;
+            }
+            final long now = System.currentTimeMillis();
+            while (in.readBoolean()) {
+                final long expiresAtMillis = in.readLong();
+                final var result = readResult(in);
+                if (expiresAtMillis > now) {
+                    put(new Key(result.getInput()), result, Math.min(expiresAtMillis, expiryOf(now)));
+                }
+            }
+        } catch (EOFException e) {
+            // a truncated file keeps the entries read so far
+        }
+    }
+
+    private static void writeResult(DataOutput out, EconomicsResult result) throws IOException {
+        final var input = result.getInput();
+        for (var parameter : Parameter.values()) {
+            out.writeDouble(parameter.get(input));
+        }
+        out.writeUTF(input.getTimeStep().name());
+        out.writeUTF(input.getDeclineType().name());
+        out.writeDouble(input.getHyperbolicExponent());
+        writeArray(out, result.getCashFlows());
+        writeArray(out, result.getDiscountFactors());
+        writeArray(out, result.getPresentValues());
+        writeArray(out, result.getAccumulatedPresentValues());
+        final var metrics = result.getCashFlowMetrics();
+        out.writeDouble(metrics.getNetPresentValue());
+        out.writeDouble(metrics.getPaybackPeriod());
+        out.writeDouble(metrics.getDiscountedPaybackPeriod());
+        out.writeDouble(metrics.getMaximumExposure());
+        out.writeDouble(metrics.getPresentValueOfOutlays());
+        final var irr = result.getInternalRateOfReturn();
+        writeArray(out, irr.getRates());
+        out.writeDouble(irr.getRate());
+        out.writeInt(irr.getEvaluations());
+        out.writeDouble(result.getProfitabilityIndex());
+        out.writeDouble(result.getTotalOilProduction());
+    }
+
+    private static EconomicsResult readResult(DataInput in) throws IOException {
+        final var builder = ProjectInput.builder();
+        for (var parameter : Parameter.values()) {
+            parameter.set(builder, in.readDouble());
+        }
+        final var input = builder
+                .timeStep(TimeStep.valueOf(in.readUTF()))
+                .declineType(DeclineType.valueOf(in.readUTF()))
+                .hyperbolicExponent(in.readDouble())
+                .build();
+        final var cashFlows = readArray(in);
+        final var discountFactors = readArray(in);
+        final var presentValues = readArray(in);
+        final var accumulatedPresentValues = readArray(in);
+        final var metrics = new CashFlowMetrics(in.readDouble(), in.readDouble(), in.readDouble(), in.readDouble(),
+                in.readDouble());
+        final var irr = new IRRResult(readArray(in), in.readDouble(), in.readInt());
+        final double profitabilityIndex = in.readDouble();
+        final double totalOilProduction = in.readDouble();
+        return EconomicsResult.ofOwnedSeries(input, cashFlows, discountFactors, presentValues, accumulatedPresentValues,
+                metrics, irr, profitabilityIndex, totalOilProduction);
+    }
+
+    private static void writeArray(DataOutput out, double[] values) throws IOException {
+        out.writeInt(values.length);
+        for (double value : values) {
+            out.writeDouble(value);
+        }
+    }
+
+    private static double[] readArray(DataInput in) throws IOException {
+        final double[] values = new double[in.readInt()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readDouble();
+        }
+        return values;
+    }
+
+    private static final class Key {
+        private final long[] bits;
+        private final int hash;
+
+        Key(ProjectInput input) {
+            final var parameters = Parameter.values();
+            bits = new long[parameters.length + 3];
+            for (int i = 0; i < parameters.length; i++) {
+                bits[i] = canonicalBits(parameters[i].get(input));
+            }
+            bits[parameters.length] = input.getTimeStep().ordinal();
+            bits[parameters.length + 1] = input.getDeclineType().ordinal();
+            bits[parameters.length + 2] = canonicalBits(input.getHyperbolicExponent());
+            hash = Arrays.hashCode(bits);
+        }
+
+        private static long canonicalBits(double value) {
+            return Double.doubleToLongBits(value + 0.0);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return hash == key.hash && Arrays.equals(bits, key.bits);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class Entry {
+        private final Key key;
+        private final EconomicsResult result;
+        private final long expiresAtMillis;
+
+        Entry(Key key, EconomicsResult result, long expiresAtMillis) {
+            this.key = key;
+            this.result = result;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        boolean isExpired(long nowMillis) {
+            return nowMillis >= expiresAtMillis;
+        }
+    }
+}
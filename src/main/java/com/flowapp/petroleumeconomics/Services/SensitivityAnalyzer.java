@@ -0,0 +1,104 @@
+package com.flowapp.petroleumeconomics.Services;
+
+import com.flowapp.petroleumeconomics.Models.CashFlows;
+import com.flowapp.petroleumeconomics.Models.Parameter;
+import com.flowapp.petroleumeconomics.Models.ProductionProfile;
+import com.flowapp.petroleumeconomics.Models.ProjectInput;
+import com.flowapp.petroleumeconomics.Models.SensitivityResult;
+import com.flowapp.petroleumeconomics.Utils.EconomicsUtils;
+import com.flowapp.petroleumeconomics.Utils.IRRSolver;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Varies the inputs of a project one at a time and evaluates NPV and IRR at every grid point in parallel.
+ * Parameters that do not affect production reuse the production profile of the base project.
+ */
+public class SensitivityAnalyzer {
+
+    private final EconomicsCalculator calculator = new EconomicsCalculator();
+    private final IRRSolver irrSolver = new IRRSolver(0.00001);
+
+    /**
+     * Grid of {@code points} values for every parameter, from {@code 1 - range} to {@code 1 + range} times its base
+     * value, clamped to the domain of the parameter: the uptime stops at 1 and the decline below 100% per year.
+     */
+    public static Map<Parameter, double[]> relativeGrid(@NotNull ProjectInput base, double range, int points) {
+        if (points < 2) {
+            throw new IllegalArgumentException("points must be at least 2: " + points);
+        }
+        final Map<Parameter, double[]> grid = new EnumMap<>(Parameter.class);
+        for (var parameter : Parameter.values()) {
+            final double baseValue = parameter.get(base);
+            final double[] values = new double[points];
+            for (int i = 0; i < points; i++) {
+                final double factor = 1 - range + 2 * range * i / (points - 1);
+                values[i] = parameter.clamp(base, baseValue * factor);
+            }
+            grid.put(parameter, values);
+        }
+        return grid;
+    }
+
+    public SensitivityResult analyze(@NotNull ProjectInput base, @NotNull Map<Parameter, double[]> grid) {
+        final var baseProfile = calculator.buildProductionProfile(base);
+        final var baseResult = calculator.evaluate(base, baseProfile);
+
+        final List<Parameter> parameters = new ArrayList<>(grid.keySet());
+        final int[] offsets = new int[parameters.size() + 1];
+        for (int i = 0; i < parameters.size(); i++) {
+            offsets[i + 1] = offsets[i] + grid.get(parameters.get(i)).length;
+        }
+        final double[] npvs = new double[offsets[parameters.size()]];
+        final double[] irrs = new double[npvs.length];
+
+        IntStream.range(0, npvs.length).parallel().forEach(point -> {
+            int index = 0;
+            while (offsets[index + 1] <= point) {
+                index++;
+            }
+            final var parameter = parameters.get(index);
+            final double value = grid.get(parameter)[point - offsets[index]];
+            evaluatePoint(base, baseProfile, parameter, value, npvs, irrs, point);
+        });
+
+        final Map<Parameter, SensitivityResult.Series> series = new EnumMap<>(Parameter.class);
+        for (int i = 0; i < parameters.size(); i++) {
+            final var parameter = parameters.get(i);
+            final int from = offsets[i];
+            final int to = offsets[i + 1];
+            series.put(parameter, new SensitivityResult.Series(grid.get(parameter),
+                    Arrays.copyOfRange(npvs, from, to),
+                    Arrays.copyOfRange(irrs, from, to)));
+        }
+        return new SensitivityResult(base,
+                baseResult.getNetPresentValue(),
+                baseResult.getInternalRateOfReturn().getRate(),
+                series);
+    }
+
+    private void evaluatePoint(ProjectInput base, ProductionProfile baseProfile, Parameter parameter, double value,
+                               double[] npvs, double[] irrs, int point) {
+        final ProjectInput project;
+        try {
+            project = parameter.with(base, value);
+        } catch (IllegalArgumentException e) {
+            npvs[point] = Double.NaN;
+            irrs[point] = Double.NaN;
+            return;
+        }
+        final var profile = parameter.affectsProduction() ? calculator.buildProductionProfile(project) : baseProfile;
+        final var cashFlows = new CashFlows(profile.size());
+        EconomicsCalculator.buildCashFlows(project, profile, cashFlows);
+        npvs[point] = EconomicsUtils.calculateNetPresentValue(cashFlows.values(), cashFlows.size(),
+                EconomicsCalculator.getPeriodicDiscountRate(project));
+        irrs[point] = irrSolver.solve(cashFlows.values(), cashFlows.size(), project.getTimeStep().getPeriodsPerYear())
+                .getRate();
+    }
+}
@@ -0,0 +1,373 @@
+package com.flowapp.petroleumeconomics.Services;
+
+import com.flowapp.petroleumeconomics.Metrics.MetricsRegistry;
+import com.flowapp.petroleumeconomics.Metrics.Phase;
+import com.flowapp.petroleumeconomics.Utils.Downsampler;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Tooltip;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.text.TextAlignment;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Chart of per-period series drawn on a {@link Canvas} instead of one scene-graph node per point.
+ * <p>
+ * Lines are downsampled to the plot width with LTTB and bars are reduced to their extent per pixel column, so a
+ * redraw costs about the width of the chart whatever the length of the series. The tooltip is a single one,
+ * filled on hover from the period under the cursor. Must be used on the JavaFX Application Thread.
+ */
+public class SeriesCanvas extends Region {
+
+    private static final double LEFT_MARGIN = 64;
+    private static final double RIGHT_MARGIN = 12;
+    private static final double TOP_MARGIN = 20;
+    private static final double BOTTOM_MARGIN = 36;
+    private static final int TICKS = 6;
+    private static final Color AXIS_COLOR = Color.GRAY;
+
+    private final Canvas canvas = new Canvas();
+    private final Canvas overlay = new Canvas();
+    private final Tooltip tooltip = new Tooltip();
+    private final List<Series> series = new ArrayList<>();
+    private String xLabel = "";
+    private String yLabel = "";
+    private int periods;
+    private double xStart = 0;
+    private double xStep = 1;
+    private double minValue;
+    private double maxValue;
+    private int hoveredPeriod = -1;
+    private boolean dirty;
+
+    public SeriesCanvas() {
+        getChildren().addAll(canvas, overlay);
+        setOnMouseMoved(event -> hover(event.getX() - snappedLeftInset(), event.getScreenX(), event.getScreenY()));
+        setOnMouseExited(event -> clearHover());
+    }
+
+    public void setAxisLabels(@NotNull String xLabel, @NotNull String yLabel) {
+        this.xLabel = xLabel;
+        this.yLabel = yLabel;
+        invalidate();
+    }
+
+    /**
+     * Labels the x axis with {@code start + period * step} instead of the period, for series sampled on a
+     * regular grid of something else than time.
+     */
+    public void setXScale(double start, double step) {
+        this.xStart = start;
+        this.xStep = step;
+        invalidate();
+    }
+
+    /**
+     * Adds a bar per period, {@code values} is not copied.
+     */
+    public void addBars(@NotNull String name, @NotNull double[] values, @NotNull Color color) {
+        add(new Series(name, values, color, true));
+    }
+
+    /**
+     * Adds a line through the periods, {@code values} is not copied.
+     */
+    public void addLine(@NotNull String name, @NotNull double[] values, @NotNull Color color) {
+        add(new Series(name, values, color, false));
+    }
+
+    public void clear() {
+        series.clear();
+        periods = 0;
+        clearHover();
+        invalidate();
+    }
+
+    private void add(Series added) {
+        series.add(added);
+        periods = Math.max(periods, added.values.length);
+        double min = 0;
+        double max = 0;
+        for (var s : series) {
+            min = Math.min(min, s.min);
+            max = Math.max(max, s.max);
+        }
+        if (min == max) {
+            max = min + 1;
+        }
+        final double step = niceStep((max - min) / (TICKS - 1));
+        minValue = Math.floor(min / step) * step;
+        maxValue = Math.ceil(max / step) * step;
+        clearHover();
+        invalidate();
+    }
+
+    @Override
+    protected void layoutChildren() {
+        final double width = snapSizeX(getWidth() - snappedLeftInset() - snappedRightInset());
+        final double height = snapSizeY(getHeight() - snappedTopInset() - snappedBottomInset());
+        for (var layer : List.of(canvas, overlay)) {
+            layer.relocate(snappedLeftInset(), snappedTopInset());
+        }
+        if (width != canvas.getWidth() || height != canvas.getHeight()) {
+            for (var layer : List.of(canvas, overlay)) {
+                layer.setWidth(Math.max(0, width));
+                layer.setHeight(Math.max(0, height));
+            }
+            dirty = true;
+        }
+        if (dirty) {
+            dirty = false;
+            redraw();
+        }
+    }
+
+    /**
+     * Schedules a redraw on the next layout pass, so a batch of changes is drawn once per pulse.
+     */
+    private void invalidate() {
+        dirty = true;
+        requestLayout();
+    }
+
+    private double plotWidth() {
+        return canvas.getWidth() - LEFT_MARGIN - RIGHT_MARGIN;
+    }
+
+    private double plotHeight() {
+        return canvas.getHeight() - TOP_MARGIN - BOTTOM_MARGIN;
+    }
+
+    private double xOf(double period) {
+        return LEFT_MARGIN + (period + 0.5) * plotWidth() / periods;
+    }
+
+    private double yOf(double value) {
+        return TOP_MARGIN + (maxValue - value) / (maxValue - minValue) * plotHeight();
+    }
+
+    private void redraw() {
+        final var gc = canvas.getGraphicsContext2D();
+        gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        if (periods == 0 || plotWidth() <= 0 || plotHeight() <= 0) {
+            return;
+        }
+        final var timer = MetricsRegistry.shared().time(Phase.CHARTING);
+        drawAxes(gc);
+        long points = 0;
+        for (var s : series) {
+            if (s.bars) {
+                drawBars(gc, s);
+            } else {
+                drawLine(gc, s);
+            }
+            points += s.values.length;
+        }
+        timer.stop(points);
+    }
+
+    private void drawAxes(GraphicsContext gc) {
+        final double plotBottom = TOP_MARGIN + plotHeight();
+        gc.setStroke(AXIS_COLOR);
+        gc.setFill(Color.BLACK);
+        gc.setLineWidth(1);
+        gc.strokeLine(LEFT_MARGIN, TOP_MARGIN, LEFT_MARGIN, plotBottom);
+        gc.strokeLine(LEFT_MARGIN, plotBottom, LEFT_MARGIN + plotWidth(), plotBottom);
+
+        gc.setTextAlign(TextAlignment.RIGHT);
+        gc.setTextBaseline(VPos.CENTER);
+        final double valueStep = niceStep((maxValue - minValue) / (TICKS - 1));
+        for (double value = minValue; value <= maxValue + valueStep / 2; value += valueStep) {
+            final double y = yOf(value);
+            gc.strokeLine(LEFT_MARGIN - 4, y, LEFT_MARGIN, y);
+            gc.fillText(formatTick(value), LEFT_MARGIN - 6, y);
+        }
+        if (minValue < 0 && maxValue > 0) {
+            gc.setStroke(Color.LIGHTGRAY);
+            gc.strokeLine(LEFT_MARGIN, yOf(0), LEFT_MARGIN + plotWidth(), yOf(0));
+            gc.setStroke(AXIS_COLOR);
+        }
+
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.TOP);
+        final int periodStep = (int) Math.max(1, niceStep(periods / 10.0));
+        for (int period = 0; period < periods; period += periodStep) {
+            final double x = xOf(period);
+            gc.strokeLine(x, plotBottom, x, plotBottom + 4);
+            gc.fillText(formatPeriod(period), x, plotBottom + 5);
+        }
+        gc.fillText(xLabel, LEFT_MARGIN + plotWidth() / 2, plotBottom + 20);
+        gc.setTextAlign(TextAlignment.LEFT);
+        gc.setTextBaseline(VPos.BOTTOM);
+        gc.fillText(yLabel, 4, TOP_MARGIN - 4);
+    }
+
+    private void drawBars(GraphicsContext gc, Series s) {
+        final double slot = plotWidth() / periods;
+        final double zero = yOf(0);
+        gc.setFill(s.color);
+        if (slot >= 2) {
+            final double barWidth = Math.max(1, slot * 0.8);
+            for (int period = 0; period < s.values.length; period++) {
+                final double y = yOf(s.values[period]);
+                gc.fillRect(xOf(period) - barWidth / 2, Math.min(y, zero), barWidth, Math.abs(y - zero));
+            }
+            return;
+        }
+        // more bars than pixels, draw the extent of the bars of every pixel column
+        final int columns = Math.max(1, (int) Math.ceil(s.values.length * slot));
+        final double columnWidth = s.values.length * slot / columns;
+        final double[] min = new double[columns];
+        final double[] max = new double[columns];
+        Downsampler.minMaxPerBucket(s.values, s.values.length, columns, min, max);
+        for (int column = 0; column < columns; column++) {
+            final double top = yOf(Math.max(0, max[column]));
+            final double bottom = yOf(Math.min(0, min[column]));
+            gc.fillRect(LEFT_MARGIN + column * columnWidth, top, Math.max(1, columnWidth), Math.max(1, bottom - top));
+        }
+    }
+
+    private void drawLine(GraphicsContext gc, Series s) {
+        final int width = (int) plotWidth();
+        if (s.sampledWidth != width) {
+            s.sampled = Downsampler.largestTriangleThreeBuckets(s.values, s.values.length, 2 * width);
+            s.sampledWidth = width;
+        }
+        final int[] sampled = s.sampled;
+        gc.setStroke(s.color);
+        gc.setLineWidth(1.5);
+        gc.beginPath();
+        gc.moveTo(xOf(sampled[0]), yOf(s.values[sampled[0]]));
+        for (int i = 1; i < sampled.length; i++) {
+            gc.lineTo(xOf(sampled[i]), yOf(s.values[sampled[i]]));
+        }
+        gc.stroke();
+        if (sampled.length == s.values.length && plotWidth() / periods >= 8) {
+            gc.setFill(Color.WHITE);
+            for (int period = 0; period < s.values.length; period++) {
+                final double x = xOf(period);
+                final double y = yOf(s.values[period]);
+                gc.fillOval(x - 3, y - 3, 6, 6);
+                gc.strokeOval(x - 3, y - 3, 6, 6);
+            }
+        }
+    }
+
+    private void hover(double x, double screenX, double screenY) {
+        final int period = periods == 0 ? -1 : (int) Math.floor((x - LEFT_MARGIN) / plotWidth() * periods);
+        if (period < 0 || period >= periods) {
+            clearHover();
+            return;
+        }
+        if (period != hoveredPeriod) {
+            hoveredPeriod = period;
+            drawHover(period);
+            final var text = new StringBuilder();
+            for (var s : series) {
+                if (period < s.values.length) {
+                    if (text.length() > 0) {
+                        text.append('\n');
+                    }
+                    text.append(s.name).append(" (").append(formatPeriod(period)).append(" , ")
+                            .append(String.format("%.0f", s.values[period])).append(')');
+                }
+            }
+            tooltip.setText(text.toString());
+        }
+        if (tooltip.isShowing()) {
+            tooltip.setAnchorX(screenX + 12);
+            tooltip.setAnchorY(screenY + 12);
+        } else {
+            tooltip.show(this, screenX + 12, screenY + 12);
+        }
+    }
+
+    private void drawHover(int period) {
+        final var gc = overlay.getGraphicsContext2D();
+        gc.clearRect(0, 0, overlay.getWidth(), overlay.getHeight());
+        final double x = xOf(period);
+        gc.setStroke(Color.DARKGRAY);
+        gc.setLineWidth(1);
+        gc.strokeLine(x, TOP_MARGIN, x, TOP_MARGIN + plotHeight());
+        for (var s : series) {
+            if (!s.bars && period < s.values.length) {
+                final double y = yOf(s.values[period]);
+                gc.setFill(s.color);
+                gc.fillOval(x - 4, y - 4, 8, 8);
+            }
+        }
+    }
+
+    private void clearHover() {
+        hoveredPeriod = -1;
+        overlay.getGraphicsContext2D().clearRect(0, 0, overlay.getWidth(), overlay.getHeight());
+        tooltip.hide();
+    }
+
+    private String formatPeriod(int period) {
+        if (xStart == 0 && xStep == 1) {
+            return String.valueOf(period);
+        }
+        return formatTick(xStart + period * xStep);
+    }
+
+    private static double niceStep(double rawStep) {
+        if (!(rawStep > 0)) {
+            return 1;
+        }
+        final double magnitude = Math.pow(10, Math.floor(Math.log10(rawStep)));
+        final double fraction = rawStep / magnitude;
+        final double nice = fraction <= 1 ? 1 : fraction <= 2 ? 2 : fraction <= 5 ? 5 : 10;
+        return nice * magnitude;
+    }
+
+    private static String formatTick(double value) {
+        final double magnitude = Math.abs(value);
+        if (magnitude >= 1e9) {
+            return String.format("%.1fB", value / 1e9).replace(".0B", "B");
+        } else if (magnitude >= 1e6) {
+            return String.format("%.1fM", value / 1e6).replace(".0M", "M");
+        } else if (magnitude >= 1e3) {
+            return String.format("%.1fk", value / 1e3).replace(".0k", "k");
+        } else if (magnitude < 1e-9) {
+            return "0";
+        }
+        return String.format("%.2f", value).replace(".00", "");
+    }
+
+    private static final class Series {
+        private final String name;
+        private final double[] values;
+        private final Color color;
+        private final boolean bars;
+        private final double min;
+        private final double max;
+        private int[] sampled;
+        private int sampledWidth = -1;
+
+        Series(String name, double[] values, Color color, boolean bars) {
+            if (values.length == 0) {
+                throw new IllegalArgumentException("Series " + name + " is empty");
+            }
+            this.name = name;
+            this.values = values;
+            this.color = color;
+            this.bars = bars;
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (double value : values) {
+                if (Double.isFinite(value)) {
+                    min = Math.min(min, value);
+                    max = Math.max(max, value);
+                }
+            }
+            this.min = min == Double.POSITIVE_INFINITY ? 0 : min;
+            this.max = max == Double.NEGATIVE_INFINITY ? 0 : max;
+        }
+    }
+}
@@ -0,0 +1,380 @@
+package com.flowapp.petroleumeconomics.Services;
+
+import com.flowapp.petroleumeconomics.Metrics.MetricsRegistry;
+import com.flowapp.petroleumeconomics.Metrics.Phase;
+import com.flowapp.petroleumeconomics.Models.CashFlows;
+import com.flowapp.petroleumeconomics.Models.DeclineType;
+import com.flowapp.petroleumeconomics.Models.EconomicsResult;
+import com.flowapp.petroleumeconomics.Models.ProductionProfile;
+import com.flowapp.petroleumeconomics.Models.ProjectInput;
+import com.flowapp.petroleumeconomics.Models.WellSchedule;
+import com.flowapp.petroleumeconomics.Utils.ArpsDecline;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Evaluates a field whose wells follow a {@link WellSchedule}: each well is paid for in its drilling period,
+ * produces from the next one on its own initial rate and decline, and the field is abandoned at the end of the
+ * period before the first one, once every well is online, whose aggregated rate falls below the abandonment rate
+ * per well times the wells online.
+ * <p>
+ * The prices, costs, uptime, time step, decline curve and abandonment rate come from the field {@link ProjectInput};
+ * its well count, rate, decline and well cost are replaced by the schedule.
+ * <p>
+ * Wells are grouped by decline: their curves only differ by their initial rate and the period they come online,
+ * so the unit curve of a decline is computed once, one {@code pow} or {@code log} per period, and added scaled and
+ * shifted once per period in which wells of that decline come online. The step and exponential curves are summed
+ * with one recurrence per decline instead. A hyperbolic or harmonic field therefore costs one multiply-add per
+ * field period for every distinct decline and online period, whatever the number of wells: thousands of wells
+ * each drilled on a different day of a daily schedule take hundreds of milliseconds. The groups are summed into
+ * the field arrays with a parallel mutable reduction: every fork-join leaf adds its groups in place into one pair
+ * of arrays of the field length, and leaves are combined pairwise, so nothing is allocated per well and there is
+ * no contention.
+ */
+public class WellScheduleEvaluator {
+
+    /** Below this many declines the reduction runs on the calling thread. */
+    private static final int PARALLEL_THRESHOLD = 4;
+
+    private final EconomicsCalculator calculator;
+
+    public WellScheduleEvaluator() {
+        this(new EconomicsCalculator());
+    }
+
+    public WellScheduleEvaluator(@NotNull EconomicsCalculator calculator) {
+        this.calculator = calculator;
+    }
+
+    public ProductionProfile buildProductionProfile(@NotNull ProjectInput field, @NotNull WellSchedule schedule) {
+        final var timer = MetricsRegistry.shared().time(Phase.PRODUCTION);
+        final var profile = new ProductionProfile(new FieldPlan(field, schedule).buildProduction());
+        timer.stop(profile.size());
+        return profile;
+    }
+
+    public EconomicsResult evaluate(@NotNull ProjectInput field, @NotNull WellSchedule schedule) {
+        final var timer = MetricsRegistry.shared().time(Phase.PRODUCTION);
+        final var plan = new FieldPlan(field, schedule);
+        final double[] production = plan.buildProduction();
+        final double netPricePerBarrel = field.getOilPricePerBarrel() - field.getOperatingCostPerBarrel();
+        final CashFlows cashFlows = new CashFlows(production.length);
+        double totalOilProduction = 0;
+        for (int period = 0; period < production.length; period++) {
+            final double capex = period < plan.capex.length ? plan.capex[period] : 0;
+            cashFlows.add(production[period] * netPricePerBarrel - capex);
+            totalOilProduction += production[period];
+        }
+        final int life = production.length - 1;
+        cashFlows.set(life, cashFlows.get(life) - field.getAbandonmentCost());
+        timer.stop(cashFlows.size());
+
+        // the initial investment of the result is the whole capex of the schedule
+        final int wells = schedule.size();
+        final var input = field.toBuilder()
+                .numberOfWells(wells)
+                .wellInitialCost(schedule.getTotalCost() / wells)
+                .initialProductionPerWellPerDay(plan.totalInitialRate / wells)
+                .build();
+        return calculator.evaluate(input, cashFlows, totalOilProduction);
+    }
+
+    /**
+     * The periods of a schedule: drilling capex, when each well comes online, and how long the field can last.
+     */
+    private static final class FieldPlan {
+        private final ProjectInput field;
+        private final WellSchedule schedule;
+        private final int periodsPerYear;
+        private final boolean stepDecline;
+        private final List<DeclineGroup> groups;
+        /** Period by which every well is below the abandonment rate. */
+        private final int horizon;
+        /** online[p] = number of wells producing in period p, up to the period the last well comes online. */
+        private final int[] online;
+        private final int lastOnline;
+        /** Facilities, pipelines and wells paid for in each period, up to the last drilling period. */
+        private final double[] capex;
+        private double totalInitialRate;
+
+        FieldPlan(ProjectInput field, WellSchedule schedule) {
+            final int wells = schedule.size();
+            if (wells == 0) {
+                throw new IllegalArgumentException("The schedule has no wells");
+            }
+            this.field = field;
+            this.schedule = schedule;
+            this.periodsPerYear = field.getTimeStep().getPeriodsPerYear();
+            this.stepDecline = field.isAnnualStepDecline();
+            final Map<Double, DeclineGroup> groups = new LinkedHashMap<>();
+
+            final double abandonmentRate = field.getAbandonmentOilRatePerWellPerDay();
+            int horizon = 0;
+            int lastOnline = 0;
+            for (int well = 0; well < wells; well++) {
+                final double decline = schedule.getDeclineRatePerYear(well);
+                if (!stepDecline && decline >= 1) {
+                    throw new IllegalArgumentException("A decline of 100% per year only fits the annual step decline, well " + well);
+                }
+                final var group = groups.computeIfAbsent(decline, DeclineGroup::new);
+                final int onlinePeriod = schedule.getDrillingPeriod(well, periodsPerYear) + 1;
+                group.add(onlinePeriod, schedule.getInitialProductionPerDay(well));
+                // one period of slack so that rounding in the closed form never ends the simulation early
+                final int producing = ArpsDecline.calculateProducingPeriods(field.getDeclineType(),
+                        field.getHyperbolicExponent(), group.nominalDecline, schedule.getInitialProductionPerDay(well),
+                        abandonmentRate, periodsPerYear) + 1;
+                if (producing > ProjectInput.MAX_PRODUCING_PERIODS) {
+                    throw new IllegalArgumentException("The decline takes more than " + ProjectInput.MAX_PRODUCING_PERIODS
+                            + " periods to reach the abandonment rate, well " + well);
+                }
+                horizon = Math.max(horizon, onlinePeriod - 1 + producing);
+                lastOnline = Math.max(lastOnline, onlinePeriod);
+                totalInitialRate += schedule.getInitialProductionPerDay(well);
+            }
+            this.groups = new ArrayList<>(groups.values());
+            this.horizon = Math.max(horizon, lastOnline);
+            this.lastOnline = lastOnline;
+
+            this.capex = new double[lastOnline];
+            this.online = new int[lastOnline + 1];
+            capex[0] = field.getFacilitiesCost() + field.getPipelinesCost();
+            for (int well = 0; well < wells; well++) {
+                final int drillingPeriod = schedule.getDrillingPeriod(well, periodsPerYear);
+                capex[drillingPeriod] += schedule.getCost(well);
+                online[drillingPeriod + 1]++;
+            }
+            for (int period = 1; period < online.length; period++) {
+                online[period] += online[period - 1];
+            }
+        }
+
+        /**
+         * Field production per period up to abandonment, index 0 being the first investment period.
+         */
+        double[] buildProduction() {
+            final int periods = Math.min(horizon, findFirstPeriodBelowAbandonment() + 1);
+            final int declines = groups.size();
+            final var stream = declines < PARALLEL_THRESHOLD ? IntStream.range(0, declines) : IntStream.range(0, declines).parallel();
+            final FieldRates rates = stream.collect(() -> new FieldRates(this, periods), FieldRates::add, FieldRates::addAll);
+
+            final double abandonmentRate = field.getAbandonmentOilRatePerWellPerDay();
+            int life = periods;
+            for (int period = Math.max(1, lastOnline); period <= periods; period++) {
+                if (rates.rates[period] < abandonmentRate * online[Math.min(period, lastOnline)]) {
+                    life = period - 1;
+                    break;
+                }
+            }
+            final double upTimeFraction = field.getUpTimeFraction();
+            final double[] production = new double[life + 1];
+            for (int period = 1; period <= life; period++) {
+                final double volume = rates.volumes == null ? 365 * rates.rates[period] : rates.volumes[period];
+                production[period] = upTimeFraction * volume;
+            }
+            return production;
+        }
+
+        /**
+         * Once every well is online the field rate only declines, so the abandonment period is found by bisection
+         * with one rate per decline and online period and probe, and the wells are simulated no further than it: the
+         * last well to reach the abandonment rate on its own can outlive the field by decades.
+         */
+        private int findFirstPeriodBelowAbandonment() {
+            final double abandonmentRate = field.getAbandonmentOilRatePerWellPerDay() * schedule.size();
+            int low = lastOnline;
+            int high = horizon;
+            while (low < high) {
+                final int period = (low + high) >>> 1;
+                if (calculateFieldRate(period) < abandonmentRate) {
+                    high = period;
+                } else {
+                    low = period + 1;
+                }
+            }
+            return low;
+        }
+
+        private double calculateFieldRate(int period) {
+            double rate = 0;
+            for (var group : groups) {
+                for (int i = 0; i < group.size; i++) {
+                    final int k = period - group.onlinePeriods[i];
+                    final double unitRate = stepDecline
+                            ? Math.pow(1 - group.declineRatePerYear, k)
+                            : ArpsDecline.calculateRate(field.getDeclineType(), field.getHyperbolicExponent(),
+                                    group.nominalDecline, (double) k / periodsPerYear);
+                    rate += group.initialRates[i] * unitRate;
+                }
+            }
+            return rate;
+        }
+    }
+
+    /**
+     * Wells of one decline, as the sum of the initial rates of the wells coming online in each period.
+     */
+    private static final class DeclineGroup {
+        private final double declineRatePerYear;
+        private final double nominalDecline;
+        private int[] onlinePeriods = new int[4];
+        private double[] initialRates = new double[4];
+        private int size;
+        /** Earliest online period. */
+        private int firstOnline = Integer.MAX_VALUE;
+
+        DeclineGroup(double declineRatePerYear) {
+            this.declineRatePerYear = declineRatePerYear;
+            this.nominalDecline = ArpsDecline.calculateNominalDecline(declineRatePerYear);
+        }
+
+        void add(int onlinePeriod, double initialRate) {
+            // schedules are mostly in drilling order, so a well usually joins the last online period
+            int i = size - 1;
+            while (i >= 0 && onlinePeriods[i] != onlinePeriod) {
+                i--;
+            }
+            if (i < 0) {
+                if (size == onlinePeriods.length) {
+                    onlinePeriods = Arrays.copyOf(onlinePeriods, size * 2);
+                    initialRates = Arrays.copyOf(initialRates, size * 2);
+                }
+                i = size++;
+                onlinePeriods[i] = onlinePeriod;
+            }
+            initialRates[i] += initialRate;
+            firstOnline = Math.min(firstOnline, onlinePeriod);
+        }
+    }
+
+    /**
+     * Rate at the start of each period and, for the continuous curves, volume produced during it, summed over
+     * the wells added so far. The annual step decline produces 365 times the rate, so it keeps no volumes.
+     */
+    private static final class FieldRates {
+        private final FieldPlan plan;
+        private final double[] rates;
+        private final double[] volumes;
+        /** Unit curve of the group being added, allocated once per leaf. */
+        private double[] unitRates;
+        private double[] unitVolumes;
+
+        FieldRates(FieldPlan plan, int periods) {
+            this.plan = plan;
+            this.rates = new double[periods + 1];
+            this.volumes = plan.stepDecline ? null : new double[periods + 1];
+        }
+
+        /**
+         * Computes the unit curve of a decline group up to the end of the field and adds it once per online period,
+         * scaled by the summed initial rates of the wells coming online then.
+         */
+        void add(int index) {
+            final var group = plan.groups.get(index);
+            final int length = rates.length - group.firstOnline;
+            if (length <= 0) {
+                return;
+            }
+            if (unitRates == null) {
+                unitRates = new double[rates.length];
+                unitVolumes = volumes == null ? null : new double[rates.length];
+            }
+            if (plan.stepDecline || plan.field.getDeclineType() == DeclineType.EXPONENTIAL) {
+                addGeometric(group);
+                return;
+            }
+            fillUnitCurve(group, length);
+            for (int i = 0; i < group.size; i++) {
+                final int from = group.onlinePeriods[i];
+                final double initialRate = group.initialRates[i];
+                final int periods = rates.length - from;
+                for (int k = 0; k < periods; k++) {
+                    rates[from + k] += initialRate * unitRates[k];
+                }
+                if (volumes != null) {
+                    for (int k = 0; k < periods; k++) {
+                        volumes[from + k] += initialRate * unitVolumes[k];
+                    }
+                }
+            }
+        }
+
+        /**
+         * The step and exponential declines need no unit curve: the rate of the group in a period is its rate in
+         * the previous one times the decline factor, plus the initial rates of the wells coming online.
+         */
+        private void addGeometric(DeclineGroup group) {
+            final double[] onlineRates = unitRates;
+            Arrays.fill(onlineRates, 0);
+            for (int i = 0; i < group.size; i++) {
+                onlineRates[group.onlinePeriods[i]] += group.initialRates[i];
+            }
+            final double factor;
+            final double volumePerRate;
+            if (plan.stepDecline) {
+                factor = 1 - group.declineRatePerYear;
+                volumePerRate = 0;
+            } else {
+                final double nominalDecline = group.nominalDecline;
+                factor = Math.exp(-nominalDecline / plan.periodsPerYear);
+                volumePerRate = 365 * -Math.expm1(-nominalDecline / plan.periodsPerYear) / nominalDecline;
+            }
+            double rate = 0;
+            for (int period = group.firstOnline; period < rates.length; period++) {
+                rate = rate * factor + onlineRates[period];
+                rates[period] += rate;
+                if (volumes != null) {
+                    volumes[period] += rate * volumePerRate;
+                }
+            }
+        }
+
+        /**
+         * Rate at the start of the first {@code periods} periods of a well with a unit initial rate on a hyperbolic
+         * or harmonic curve, and volume produced during them.
+         */
+        private void fillUnitCurve(DeclineGroup group, int periods) {
+            final double nominalDecline = group.nominalDecline;
+            final int periodsPerYear = plan.periodsPerYear;
+            final var type = plan.field.getDeclineType();
+            // one pow or log per period: the rate at the end of a period is the next one's starting rate, and the
+            // cumulative production at that time follows from it
+            final double exponent = type == DeclineType.HARMONIC ? 1 : plan.field.getHyperbolicExponent();
+            final double volumeScale = 365 / nominalDecline;
+            double rate = 1;
+            double cumulative = 0;
+            for (int k = 0; k < periods; k++) {
+                final double base = 1 + exponent * nominalDecline * (k + 1) / periodsPerYear;
+                final double nextRate;
+                final double nextCumulative;
+                if (type == DeclineType.HARMONIC) {
+                    nextRate = 1 / base;
+                    nextCumulative = Math.log(base);
+                } else {
+                    nextRate = Math.pow(base, -1 / exponent);
+                    nextCumulative = (1 - base * nextRate) / (1 - exponent);
+                }
+                unitRates[k] = rate;
+                unitVolumes[k] = volumeScale * (nextCumulative - cumulative);
+                rate = nextRate;
+                cumulative = nextCumulative;
+            }
+        }
+
+        void addAll(FieldRates other) {
+            for (int period = 0; period < rates.length; period++) {
+                rates[period] += other.rates[period];
+            }
+            if (volumes != null) {
+                for (int period = 0; period < volumes.length; period++) {
+                    volumes[period] += other.volumes[period];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.flowapp.petroleumeconomics.Services;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Streams report lines to a buffered {@link Writer}, flushing once per report rather than once per line.
+ * I/O failures are rethrown as {@link UncheckedIOException}.
+ */
+public class WriterReportSink implements ReportSink, Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Writer writer;
+
+    public WriterReportSink(@NotNull Writer writer) {
+        this.writer = writer instanceof BufferedWriter ? writer : new BufferedWriter(writer, BUFFER_SIZE);
+    }
+
+    public WriterReportSink(@NotNull WritableByteChannel channel) {
+        this(Channels.newWriter(channel, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Sink over the standard output, which is flushed but never closed.
+     */
+    public static WriterReportSink stdout() {
+        return new WriterReportSink(new OutputStreamWriter(System.out, Charset.defaultCharset())) {
+            @Override
+            public void close() {
+                flush();
+            }
+        };
+    }
+
+    @Override
+    public void writeLine(@NotNull CharSequence line) {
+        try {
+            writer.append(line).append('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The buffered writer itself, I/O failures being thrown as {@link IOException}.
+     */
+    @Override
+    public Appendable asAppendable() {
+        return writer;
+    }
+
+    @Override
+    public void flush() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.flowapp.petroleumeconomics.Statistics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Distribution of the net cash flow of every project year over the trials of a probabilistic run, for fan
+ * charts, with one {@link DistributionSummary} per year. Year 0 is the investment period and year {@code y} sums
+ * the periods {@code (y - 1) * periodsPerYear + 1} to {@code y * periodsPerYear}. A trial whose project ends
+ * earlier counts a cash flow of 0 in the later years, so every year summarises all the trials. Those zeros are
+ * only counted while trials are added, and folded into the summaries in one repeated value when the fan is merged
+ * or read. Not thread-safe, fans of disjoint trials merge.
+ */
+public final class CashFlowFan {
+
+    private final double compression;
+    private final List<DistributionSummary> years = new ArrayList<>();
+    private long trials;
+
+    public CashFlowFan() {
+        this(TDigest.DEFAULT_COMPRESSION);
+    }
+
+    public CashFlowFan(double compression) {
+        this.compression = compression;
+    }
+
+    /**
+     * Adds the cash flows of one trial, {@code length} periods of {@code periodsPerYear} periods per year.
+     */
+    public void add(@NotNull double[] cashFlows, int length, int periodsPerYear) {
+        final int trialYears = length == 0 ? 0 : (length - 1 + periodsPerYear - 1) / periodsPerYear + 1;
+        ensureYears(trialYears);
+        int period = 0;
+        for (int year = 0; year < trialYears; year++) {
+            final int end = Math.min(length, year * periodsPerYear + 1);
+            double cashFlow = 0;
+            for (; period < end; period++) {
+                cashFlow += cashFlows[period];
+            }
+            years.get(year).add(cashFlow);
+        }
+        trials++;
+    }
+
+    public void merge(@NotNull CashFlowFan other) {
+        other.addEndedTrials();
+        addEndedTrials();
+        ensureYears(other.years.size());
+        for (int year = 0; year < years.size(); year++) {
+            if (year < other.years.size()) {
+                years.get(year).merge(other.years.get(year));
+            } else {
+                years.get(year).add(0, other.trials);
+            }
+        }
+        trials += other.trials;
+    }
+
+    /**
+     * Merges the buffered values of the digests, after which reads do not modify the fan.
+     */
+    public void compress() {
+        addEndedTrials();
+        for (var year : years) {
+            year.compress();
+        }
+    }
+
+    /**
+     * Adds the zero cash flows of the trials that ended before each year.
+     */
+    private void addEndedTrials() {
+        for (var year : years) {
+            year.add(0, trials - year.getCount());
+        }
+    }
+
+    private void ensureYears(int count) {
+        while (years.size() < count) {
+            years.add(new DistributionSummary(compression));
+        }
+    }
+
+    public long getTrials() {
+        return trials;
+    }
+
+    /**
+     * Number of years of the longest trial, year 0 included.
+     */
+    public int getYears() {
+        return years.size();
+    }
+
+    public DistributionSummary getYear(int year) {
+        addEndedTrials();
+        return years.get(year);
+    }
+
+    /**
+     * The cash flow of every year below which a fraction {@code quantile} of the trials fall, one band of the fan.
+     */
+    public double[] getQuantiles(double quantile) {
+        addEndedTrials();
+        final double[] values = new double[years.size()];
+        for (int year = 0; year < values.length; year++) {
+            values[year] = years.get(year).getQuantile(quantile);
+        }
+        return values;
+    }
+
+    public double[] getMeans() {
+        addEndedTrials();
+        final double[] values = new double[years.size()];
+        for (int year = 0; year < values.length; year++) {
+            values[year] = years.get(year).getMean();
+        }
+        return values;
+    }
+}
@@ -0,0 +1,165 @@
+package com.flowapp.petroleumeconomics.Statistics;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Streaming summary of one output of a probabilistic run: exact moments and range from {@link RunningMoments},
+ * quantiles and histogram from a {@link TDigest}, with the error documented there. {@code NaN} values, such as
+ * trials without an IRR, are only counted. Summaries of disjoint parts of a run merge into the summary of the
+ * whole run. Not thread-safe, see {@link TDigest} for concurrent reads.
+ */
+public final class DistributionSummary {
+
+    private final RunningMoments moments = new RunningMoments();
+    private final TDigest digest;
+    private long missing;
+
+    public DistributionSummary() {
+        this(TDigest.DEFAULT_COMPRESSION);
+    }
+
+    public DistributionSummary(double compression) {
+        this.digest = new TDigest(compression);
+    }
+
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            missing++;
+            return;
+        }
+        moments.add(value);
+        digest.add(value);
+    }
+
+    /**
+     * Adds {@code count} times the same value.
+     */
+    public void add(double value, long count) {
+        if (Double.isNaN(value)) {
+            missing += count;
+            return;
+        }
+        moments.add(value, count);
+        digest.add(value, count);
+    }
+
+    public void merge(@NotNull DistributionSummary other) {
+        moments.merge(other.moments);
+        digest.merge(other.digest);
+        missing += other.missing;
+    }
+
+    /**
+     * Merges the buffered values of the digest, after which reads do not modify the summary.
+     */
+    public void compress() {
+        digest.compress();
+    }
+
+    /**
+     * Number of values summarised, {@code NaN} excluded.
+     */
+    public long getCount() {
+        return moments.getCount();
+    }
+
+    /**
+     * Number of {@code NaN} values added.
+     */
+    public long getMissingCount() {
+        return missing;
+    }
+
+    public double getMean() {
+        return moments.getMean();
+    }
+
+    public double getVariance() {
+        return moments.getVariance();
+    }
+
+    public double getStandardDeviation() {
+        return moments.getStandardDeviation();
+    }
+
+    public double getMin() {
+        return moments.getMin();
+    }
+
+    public double getMax() {
+        return moments.getMax();
+    }
+
+    /**
+     * Value below which a fraction {@code quantile} (0..1) of the values fall.
+     */
+    public double getQuantile(double quantile) {
+        return digest.quantile(quantile);
+    }
+
+    /**
+     * Fraction of the values at or below {@code value}.
+     */
+    public double getCumulativeProbability(double value) {
+        return digest.cdf(value);
+    }
+
+    /**
+     * P10: the value exceeded with a probability of 10%, the high case, ie. the 90th percentile.
+     * P10, P50 and P90 follow the exceedance convention of reserves reporting, so P90 &lt;= P50 &lt;= P10.
+     */
+    public double getP10() {
+        return getQuantile(0.9);
+    }
+
+    public double getP50() {
+        return getQuantile(0.5);
+    }
+
+    /**
+     * P90: the value exceeded with a probability of 90%, the low case, ie. the 10th percentile.
+     */
+    public double getP90() {
+        return getQuantile(0.1);
+    }
+
+    /**
+     * {@code bins} equal-width bins from the minimum to the maximum value.
+     */
+    public Histogram getHistogram(int bins) {
+        if (bins <= 0) {
+            throw new IllegalArgumentException("bins must be positive: " + bins);
+        }
+        final double[] counts = new double[bins];
+        final double min = getMin();
+        final double width = (getMax() - min) / bins;
+        final long count = getCount();
+        if (count == 0) {
+            return new Histogram(Double.NaN, Double.NaN, counts);
+        }
+        if (width == 0) {
+            counts[0] = count;
+            return new Histogram(min, 0, counts);
+        }
+        double below = 0;
+        for (int bin = 0; bin < bins; bin++) {
+            final double upTo = bin == bins - 1 ? 1 : digest.cdf(min + (bin + 1) * width);
+            counts[bin] = (upTo - below) * count;
+            below = upTo;
+        }
+        return new Histogram(min, width, counts);
+    }
+
+    @Override
+    public String toString() {
+        return "DistributionSummary{" +
+                "count=" + getCount() +
+                ", missing=" + missing +
+                ", mean=" + getMean() +
+                ", standardDeviation=" + getStandardDeviation() +
+                ", p90=" + getP90() +
+                ", p50=" + getP50() +
+                ", p10=" + getP10() +
+                '}';
+    }
+}
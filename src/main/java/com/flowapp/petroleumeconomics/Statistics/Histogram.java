@@ -0,0 +1,42 @@
+package com.flowapp.petroleumeconomics.Statistics;
+
+/**
+ * Counts of values in equal-width bins, as estimated from a {@link TDigest}: counts are fractional and carry the
+ * digest's rank error.
+ */
+public final class Histogram {
+
+    private final double lowerBound;
+    private final double binWidth;
+    private final double[] counts;
+
+    Histogram(double lowerBound, double binWidth, double[] counts) {
+        this.lowerBound = lowerBound;
+        this.binWidth = binWidth;
+        this.counts = counts;
+    }
+
+    public int getBins() {
+        return counts.length;
+    }
+
+    public double getBinWidth() {
+        return binWidth;
+    }
+
+    public double getLowerBound(int bin) {
+        return lowerBound + bin * binWidth;
+    }
+
+    public double getUpperBound(int bin) {
+        return lowerBound + (bin + 1) * binWidth;
+    }
+
+    public double getCount(int bin) {
+        return counts[bin];
+    }
+
+    public double[] getCounts() {
+        return counts.clone();
+    }
+}
@@ -0,0 +1,100 @@
+package com.flowapp.petroleumeconomics.Statistics;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Count, mean, variance and range of a stream of values in constant memory, with Welford's update.
+ * Two instances fed with different values merge into the moments of all of them (Chan et al.), so the stream can
+ * be split across threads. Not thread-safe.
+ */
+public final class RunningMoments {
+
+    private long count;
+    private double mean;
+    /** Sum of the squared deviations from the mean. */
+    private double squares;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public void add(double value) {
+        count++;
+        final double delta = value - mean;
+        mean += delta / count;
+        squares += delta * (value - mean);
+        if (value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    /**
+     * Adds {@code count} times the same value.
+     */
+    public void add(double value, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative: " + count);
+        }
+        if (count > 0) {
+            merge(count, value, 0, value, value);
+        }
+    }
+
+    public void merge(@NotNull RunningMoments other) {
+        if (other.count > 0) {
+            merge(other.count, other.mean, other.squares, other.min, other.max);
+        }
+    }
+
+    private void merge(long otherCount, double otherMean, double otherSquares, double otherMin, double otherMax) {
+        final long total = count + otherCount;
+        final double delta = otherMean - mean;
+        mean += delta * otherCount / total;
+        squares += otherSquares + delta * delta * ((double) count * otherCount / total);
+        count = total;
+        min = Math.min(min, otherMin);
+        max = Math.max(max, otherMax);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * {@code NaN} when no value was added.
+     */
+    public double getMean() {
+        return count > 0 ? mean : Double.NaN;
+    }
+
+    /**
+     * Sample variance, with {@code count - 1} degrees of freedom.
+     */
+    public double getVariance() {
+        return count > 1 ? squares / (count - 1) : 0;
+    }
+
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    public double getMin() {
+        return count > 0 ? min : Double.NaN;
+    }
+
+    public double getMax() {
+        return count > 0 ? max : Double.NaN;
+    }
+
+    @Override
+    public String toString() {
+        return "RunningMoments{" +
+                "count=" + count +
+                ", mean=" + getMean() +
+                ", standardDeviation=" + getStandardDeviation() +
+                ", min=" + getMin() +
+                ", max=" + getMax() +
+                '}';
+    }
+}
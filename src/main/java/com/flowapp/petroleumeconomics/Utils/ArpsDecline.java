@@ -0,0 +1,113 @@
+package com.flowapp.petroleumeconomics.Utils;
+
+import com.flowapp.petroleumeconomics.Models.DeclineType;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Closed forms of the Arps decline curves, for a unit initial rate and time in years.
+ * Rates are per day, so cumulative volumes are multiplied by 365 to get barrels per year of production.
+ */
+public class ArpsDecline {
+
+    ///
+    /// Decline rates
+    ///
+    /**
+     * Continuous decline rate per year equivalent to an effective one, positive however small the effective one is.
+     */
+    static public double calculateNominalDecline(double effectiveDeclinePerYear) {
+        return -Math.log1p(-effectiveDeclinePerYear);
+    }
+
+    ///
+    /// Unit curves
+    ///
+    static public double calculateRate(@NotNull DeclineType type, double exponent, double nominalDecline, double time) {
+        switch (type) {
+            case EXPONENTIAL:
+                return Math.exp(-nominalDecline * time);
+            case HARMONIC:
+                return 1 / (1 + nominalDecline * time);
+            default:
+                return Math.pow(1 + exponent * nominalDecline * time, -1 / exponent);
+        }
+    }
+
+    /**
+     * Integral of the unit rate from 0 to {@code time}, in rate x years.
+     */
+    static public double calculateCumulative(@NotNull DeclineType type, double exponent, double nominalDecline, double time) {
+        switch (type) {
+            case EXPONENTIAL:
+                return -Math.expm1(-nominalDecline * time) / nominalDecline;
+            case HARMONIC:
+                return Math.log1p(nominalDecline * time) / nominalDecline;
+            default:
+                return (1 - Math.pow(1 + exponent * nominalDecline * time, 1 - 1 / exponent))
+                        / ((1 - exponent) * nominalDecline);
+        }
+    }
+
+    /**
+     * Time in years at which the rate falls from {@code initialRate} to {@code abandonmentRate}.
+     */
+    static public double calculateAbandonmentTime(@NotNull DeclineType type, double exponent, double nominalDecline,
+                                                  double initialRate, double abandonmentRate) {
+        if (initialRate < abandonmentRate) {
+            return -1;
+        }
+        final double ratio = initialRate / abandonmentRate;
+        switch (type) {
+            case EXPONENTIAL:
+                return Math.log(ratio) / nominalDecline;
+            case HARMONIC:
+                return (ratio - 1) / nominalDecline;
+            default:
+                return (Math.pow(ratio, exponent) - 1) / (exponent * nominalDecline);
+        }
+    }
+
+    /**
+     * Number of periods whose starting rate is at or above the abandonment rate, which is how many periods produce.
+     */
+    static public int calculateProducingPeriods(@NotNull DeclineType type, double exponent, double nominalDecline,
+                                                double initialRate, double abandonmentRate, int periodsPerYear) {
+        final double time = calculateAbandonmentTime(type, exponent, nominalDecline, initialRate, abandonmentRate);
+        if (time < 0) {
+            return 0;
+        }
+        final double periods = Math.floor(time * periodsPerYear) + 1;
+        if (periods > Integer.MAX_VALUE - 1) {
+            throw new IllegalArgumentException("The decline never reaches the abandonment rate");
+        }
+        return (int) periods;
+    }
+
+    /**
+     * Writes to {@code out}, from {@code offset} on, {@code scale} times the volume produced during the periods
+     * {@code from} to {@code from + count - 1} by a well with a unit initial rate, ie. 365 * (Np(t[k+1]) - Np(t[k])).
+     * <p>
+     * The exponential curve is evaluated with a constant factor per period. The other curves take one closed-form
+     * cumulative per period, the end of a period being the start of the next one. Nothing is allocated or
+     * cached, so sampled declines, which never repeat, cost no more than a fixed one.
+     */
+    static public void fillPeriodVolumes(@NotNull DeclineType type, double exponent, double nominalDecline,
+                                         int periodsPerYear, int from, double scale, double[] out, int offset, int count) {
+        if (type == DeclineType.EXPONENTIAL) {
+            final double factor = Math.exp(-nominalDecline / periodsPerYear);
+            double volume = scale * 365 * -Math.expm1(-nominalDecline / periodsPerYear) / nominalDecline
+                    * Math.exp(-nominalDecline * from / periodsPerYear);
+            for (int k = 0; k < count; k++) {
+                out[offset + k] = volume;
+                volume *= factor;
+            }
+            return;
+        }
+        double lastCumulative = calculateCumulative(type, exponent, nominalDecline, (double) from / periodsPerYear);
+        for (int k = 0; k < count; k++) {
+            final double cumulative = calculateCumulative(type, exponent, nominalDecline, (double) (from + k + 1) / periodsPerYear);
+            out[offset + k] = scale * 365 * (cumulative - lastCumulative);
+            lastCumulative = cumulative;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.flowapp.petroleumeconomics.Utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe cache of discount factor tables (1 + r)^t, t = 0, 1, 2, ...
+ * <p>
+ * Tables are keyed by rate and grown to the next power of two periods, so a table serves every shorter schedule
+ * at the same rate. Lookups never lock, so parallel evaluations do not serialise on the cache. Memory is bounded
+ * by the total number of cached factors: inserts take a lock and evict with the clock approximation of LRU, tables
+ * not used since the previous sweep going first. Returned tables are shared and must not be modified.
+ */
+public class DiscountFactorCache {
+
+    private static final int MIN_TABLE_LENGTH = 16;
+    private static final DiscountFactorCache SHARED = new DiscountFactorCache(1 << 20);
+
+    private final long maxCachedFactors;
+    private final Map<Long, Table> tables = new ConcurrentHashMap<>();
+    /** Guarded by {@link #tables}. */
+    private long cachedFactors;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public DiscountFactorCache(long maxCachedFactors) {
+        if (maxCachedFactors < MIN_TABLE_LENGTH) {
+            throw new IllegalArgumentException("The cache must hold at least " + MIN_TABLE_LENGTH + " factors");
+        }
+        this.maxCachedFactors = maxCachedFactors;
+    }
+
+    /**
+     * Cache used by the calculators, holding up to 2^20 factors (8 MB).
+     */
+    public static DiscountFactorCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Table of at least {@code periods} discount factors at {@code discountRate}.
+     */
+    public double[] getDiscountFactors(double discountRate, int periods) {
+        final Long key = Double.doubleToLongBits(discountRate);
+        final var cached = tables.get(key);
+        if (cached != null && cached.factors.length >= periods) {
+            hits.increment();
+            // only written when it changes, so the tables in use are not written by every lookup
+            if (!cached.used) {
+                cached.used = true;
+            }
+            return cached.factors;
+        }
+        misses.increment();
+        final double[] factors = new double[tableLength(periods)];
+        for (int i = 0; i < factors.length; i++) {
+            factors[i] = EconomicsUtils.calculateDiscountFactor(discountRate, i);
+        }
+        if (factors.length > maxCachedFactors) {
+            return factors;
+        }
+        synchronized (tables) {
+            final var current = tables.get(key);
+            if (current != null && current.factors.length >= factors.length) {
+                return current.factors;
+            }
+            final var table = new Table(factors);
+            tables.put(key, table);
+            cachedFactors += factors.length - (current != null ? current.factors.length : 0);
+            evictExcess(table);
+        }
+        return factors;
+    }
+
+    /**
+     * Sweeps the tables, evicting the unused ones and marking the others unused, then evicts in map order if the
+     * first sweep was not enough. Called holding the lock of {@link #tables}.
+     */
+    private void evictExcess(Table inserted) {
+        for (int sweep = 0; sweep < 2 && cachedFactors > maxCachedFactors; sweep++) {
+            final var iterator = tables.values().iterator();
+            while (cachedFactors > maxCachedFactors && iterator.hasNext()) {
+                final var table = iterator.next();
+                if (table == inserted) {
+                    continue;
+                }
+                if (sweep == 0 && table.used) {
+                    table.used = false;
+                    continue;
+                }
+                iterator.remove();
+                cachedFactors -= table.factors.length;
+            }
+        }
+    }
+
+    public int size() {
+        return tables.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public void clear() {
+        synchronized (tables) {
+            tables.clear();
+            cachedFactors = 0;
+        }
+    }
+
+    private static int tableLength(int periods) {
+        if (periods <= MIN_TABLE_LENGTH) {
+            return MIN_TABLE_LENGTH;
+        }
+        final int length = Integer.highestOneBit(periods - 1) << 1;
+        return length > 0 ? length : periods;
+    }
+
+    private static final class Table {
+        private final double[] factors;
+        /** Set by lookups, cleared by eviction sweeps. */
+        private volatile boolean used = true;
+
+        Table(double[] factors) {
+            this.factors = factors;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.flowapp.petroleumeconomics.Utils;
+
+/**
+ * Reduces long series to what can be drawn on a given number of pixels, with the series index as x.
+ */
+public class Downsampler {
+
+    /**
+     * Largest-Triangle-Three-Buckets: keeps the first and last points and, from each of the {@code threshold - 2}
+     * buckets in between, the point making the largest triangle with the previously kept point and the average
+     * of the next bucket. Returns the kept indices in increasing order, all of them when the series is short.
+     */
+    static public int[] largestTriangleThreeBuckets(double[] values, int length, int threshold) {
+        if (threshold >= length || threshold < 3) {
+            final int kept = threshold >= length ? length : Math.min(length, 2);
+            final int[] indices = new int[kept];
+            for (int i = 0; i < kept; i++) {
+                indices[i] = i == kept - 1 ? length - 1 : i;
+            }
+            return indices;
+        }
+        final int[] sampled = new int[threshold];
+        final double every = (double) (length - 2) / (threshold - 2);
+        int a = 0;
+        int kept = 0;
+        sampled[kept++] = a;
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            // average of the next bucket, the last point for the last bucket
+            final int averageStart = (int) ((bucket + 1) * every) + 1;
+            final int averageEnd = Math.min((int) ((bucket + 2) * every) + 1, length);
+            double averageX = 0;
+            double averageY = 0;
+            for (int j = averageStart; j < averageEnd; j++) {
+                averageX += j;
+                averageY += values[j];
+            }
+            final int averageLength = averageEnd - averageStart;
+            averageX /= averageLength;
+            averageY /= averageLength;
+
+            final int rangeStart = (int) (bucket * every) + 1;
+            final int rangeEnd = (int) ((bucket + 1) * every) + 1;
+            final double ay = values[a];
+            double maxArea = -1;
+            int next = rangeStart;
+            for (int j = rangeStart; j < rangeEnd; j++) {
+                final double area = Math.abs((a - averageX) * (values[j] - ay) - (a - j) * (averageY - ay));
+                if (area > maxArea) {
+                    maxArea = area;
+                    next = j;
+                }
+            }
+            sampled[kept++] = next;
+            a = next;
+        }
+        sampled[kept] = length - 1;
+        return sampled;
+    }
+
+    /**
+     * Minimum and maximum of each of {@code buckets} equal slices of the series, bucket b covering
+     * [b * length / buckets, (b + 1) * length / buckets).
+     */
+    static public void minMaxPerBucket(double[] values, int length, int buckets, double[] min, double[] max) {
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            final int from = (int) ((long) bucket * length / buckets);
+            final int to = Math.max(from + 1, (int) ((long) (bucket + 1) * length / buckets));
+            double low = Double.POSITIVE_INFINITY;
+            double high = Double.NEGATIVE_INFINITY;
+            for (int i = from; i < to && i < length; i++) {
+                low = Math.min(low, values[i]);
+                high = Math.max(high, values[i]);
+            }
+            min[bucket] = low;
+            max[bucket] = high;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.flowapp.petroleumeconomics.Utils;
 
+import com.flowapp.petroleumeconomics.Models.CashFlowMetrics;
+
 public class EconomicsUtils {
 
     ///
@@ -32,6 +34,241 @@ public class EconomicsUtils {
         return futureValue / discountFactor;
     }
 
+    static public double calculatePeriodicRate(double ratePerYear, int periodsPerYear) {
+        if (periodsPerYear == 1) {
+            return ratePerYear;
+        }
+        return Math.pow(1 + ratePerYear, 1.0 / periodsPerYear) - 1;
+    }
+
+    static public double calculateAnnualRate(double periodicRate, int periodsPerYear) {
+        if (periodsPerYear == 1) {
+            return periodicRate;
+        }
+        return Math.pow(1 + periodicRate, periodsPerYear) - 1;
+    }
+
+    ///
+    /// Present Value of a cash-flow series
+    ///
+    static public void calculateDiscountFactors(double discountRate, double[] out, int length) {
+        final double growth = 1 + discountRate;
+        double discountFactor = 1;
+        for (int i = 0; i < length; i++) {
+            out[i] = discountFactor;
+            discountFactor *= growth;
+        }
+    }
+
+    static public void calculatePresentValues(double[] cashFlows, int length, double discountRate, double[] out) {
+        final double v = 1 / (1 + discountRate);
+        double discount = 1;
+        for (int i = 0; i < length; i++) {
+            out[i] = cashFlows[i] * discount;
+            discount *= v;
+        }
+    }
+
+    static public void calculateAccumulatedPresentValues(double[] cashFlows, int length, double discountRate, double[] out) {
+        final double v = 1 / (1 + discountRate);
+        double discount = 1;
+        double accumulated = 0;
+        for (int i = 0; i < length; i++) {
+            accumulated += cashFlows[i] * discount;
+            out[i] = accumulated;
+            discount *= v;
+        }
+    }
+
+    /**
+     * NPV as a polynomial in v = 1/(1+r), evaluated with Horner's scheme.
+     * The scheme is split in four interleaved chains in v^4, sum(c_i v^i) = sum_j v^j * sum_k c_(4k+j) v^(4k),
+     * so that long schedules are not bound by the latency of a single multiply-add chain.
+     */
+    static public double calculateNetPresentValue(double[] cashFlows, int length, double discountRate) {
+        final double v = 1 / (1 + discountRate);
+        final double v2 = v * v;
+        final double v4 = v2 * v2;
+        final int blocks = length >> 2;
+        double chain0 = 0;
+        double chain1 = 0;
+        double chain2 = 0;
+        double chain3 = 0;
+        for (int i = (blocks - 1) << 2; i >= 0; i -= 4) {
+            chain0 = chain0 * v4 + cashFlows[i];
+            chain1 = chain1 * v4 + cashFlows[i + 1];
+            chain2 = chain2 * v4 + cashFlows[i + 2];
+            chain3 = chain3 * v4 + cashFlows[i + 3];
+        }
+        double npv = chain0 + v * chain1 + v2 * (chain2 + v * chain3);
+        if (blocks << 2 < length) {
+            // the trailing terms are c_i v^i for i >= 4 * blocks
+            double tail = 0;
+            for (int i = length - 1; i >= blocks << 2; i--) {
+                tail = tail * v + cashFlows[i];
+            }
+            npv += tail * Math.pow(v4, blocks);
+        }
+        return npv;
+    }
+
+    ///
+    /// NPV profile: NPV of one cash-flow series at many discount rates
+    ///
+    private static final int RATE_BLOCK = 256;
+
+    /**
+     * {@code out[j]} = NPV of the series at {@code discountRates[j]}, for the first {@code count} rates.
+     * The rates are taken in blocks that stay in L1, and each block runs Horner's scheme for all of its rates
+     * in one pass over the cash flows: the inner loop is a multiply-add over independent lanes, which the JIT
+     * vectorises, with no {@code Math.pow} and no allocation per rate.
+     */
+    static public void calculateNetPresentValues(double[] cashFlows, int length, double[] discountRates, int count, double[] out) {
+        final int blockSize = Math.min(count, RATE_BLOCK);
+        final double[] v = new double[blockSize];
+        final double[] npv = new double[blockSize];
+        for (int from = 0; from < count; from += RATE_BLOCK) {
+            final int rates = Math.min(RATE_BLOCK, count - from);
+            for (int j = 0; j < rates; j++) {
+                v[j] = 1 / (1 + discountRates[from + j]);
+                npv[j] = 0;
+            }
+            for (int i = length - 1; i >= 0; i--) {
+                final double cashFlow = cashFlows[i];
+                for (int j = 0; j < rates; j++) {
+                    npv[j] = npv[j] * v[j] + cashFlow;
+                }
+            }
+            System.arraycopy(npv, 0, out, from, rates);
+        }
+    }
+
+    ///
+    /// Modified Internal Rate of Return
+    ///
+    /**
+     * Rate at which the outlays, discounted at {@code financeRate}, grow into the inflows compounded to the last
+     * period at {@code reinvestmentRate}. {@code NaN} when the series has no outlay or no inflow.
+     */
+    static public double calculateModifiedInternalRateOfReturn(double[] cashFlows, int length,
+                                                                 double financeRate, double reinvestmentRate) {
+        if (length < 2) {
+            return Double.NaN;
+        }
+        final double financeDiscount = 1 / (1 + financeRate);
+        final double reinvestmentGrowth = 1 + reinvestmentRate;
+        double discount = 1;
+        double presentOutlays = 0;
+        double futureInflows = 0;
+        for (int i = 0; i < length; i++) {
+            final double cashFlow = cashFlows[i];
+            futureInflows *= reinvestmentGrowth;
+            if (cashFlow < 0) {
+                presentOutlays -= cashFlow * discount;
+            } else {
+                futureInflows += cashFlow;
+            }
+            discount *= financeDiscount;
+        }
+        if (presentOutlays == 0 || futureInflows == 0) {
+            return Double.NaN;
+        }
+        return Math.pow(futureInflows / presentOutlays, 1.0 / (length - 1)) - 1;
+    }
+
+    ///
+    /// Present Value of a cash-flow series over a discount factor table, see DiscountFactorCache
+    ///
+    static public void calculatePresentValues(double[] cashFlows, int length, double[] discountFactors, double[] out) {
+        for (int i = 0; i < length; i++) {
+            out[i] = calculatePresentValue(cashFlows[i], discountFactors[i]);
+        }
+    }
+
+    static public void calculateAccumulatedPresentValues(double[] cashFlows, int length, double[] discountFactors, double[] out) {
+        double accumulated = 0;
+        for (int i = 0; i < length; i++) {
+            accumulated += calculatePresentValue(cashFlows[i], discountFactors[i]);
+            out[i] = accumulated;
+        }
+    }
+
+    static public double calculateNetPresentValue(double[] cashFlows, int length, double[] discountFactors) {
+        double npv = 0;
+        for (int i = 0; i < length; i++) {
+            npv += calculatePresentValue(cashFlows[i], discountFactors[i]);
+        }
+        return npv;
+    }
+
+    ///
+    /// All the discounted figures of a cash-flow series in one pass
+    ///
+    /**
+     * In one pass over the first {@code length} cash flows: copies the discount factors to
+     * {@code discountFactorsOut}, fills {@code presentValues} and {@code accumulatedPresentValues}, and returns the
+     * NPV together with the payback and discounted payback periods, the maximum cash exposure and the present value
+     * of the outlays. The NPV is the last accumulated present value.
+     * <p>
+     * The loop only records the last period whose cumulative position is below zero, with predictable branches and
+     * no division besides the present value, and the payback is interpolated in the period after it once the loop
+     * is done. A project that falls back below zero on its last period, under the abandonment cost, never pays back.
+     *
+     * @param discountFactors (1 + r)^t tables as served by {@link DiscountFactorCache}, at least {@code length} long
+     */
+    static public CashFlowMetrics calculateCashFlowMetrics(double[] cashFlows, int length, double[] discountFactors,
+                                                           double[] discountFactorsOut, double[] presentValues,
+                                                           double[] accumulatedPresentValues) {
+        double cumulative = 0;
+        double accumulated = 0;
+        double lowestCumulative = 0;
+        double presentValueOfOutlays = 0;
+        int lastBelowZero = -1;
+        double cumulativeBelowZero = 0;
+        int lastDiscountedBelowZero = -1;
+        for (int i = 0; i < length; i++) {
+            final double cashFlow = cashFlows[i];
+            final double discountFactor = discountFactors[i];
+            final double presentValue = calculatePresentValue(cashFlow, discountFactor);
+            discountFactorsOut[i] = discountFactor;
+            presentValues[i] = presentValue;
+            accumulated += presentValue;
+            accumulatedPresentValues[i] = accumulated;
+            cumulative += cashFlow;
+            if (cumulative < 0) {
+                lastBelowZero = i;
+                cumulativeBelowZero = cumulative;
+            }
+            if (accumulated < 0) {
+                lastDiscountedBelowZero = i;
+            }
+            if (cumulative < lowestCumulative) {
+                lowestCumulative = cumulative;
+            }
+            if (cashFlow < 0) {
+                presentValueOfOutlays -= presentValue;
+            }
+        }
+        final double payback = calculatePaybackPeriod(lastBelowZero, cumulativeBelowZero, cashFlows, length);
+        final double discountedPayback = calculatePaybackPeriod(lastDiscountedBelowZero,
+                lastDiscountedBelowZero < 0 ? 0 : accumulatedPresentValues[lastDiscountedBelowZero], presentValues, length);
+        return new CashFlowMetrics(accumulated, payback, discountedPayback, 0 - lowestCumulative, presentValueOfOutlays);
+    }
+
+    /**
+     * Period at which the position recovers from {@code positionBelowZero}, its value at the end of period
+     * {@code lastBelowZero}, within the next period.
+     */
+    private static double calculatePaybackPeriod(int lastBelowZero, double positionBelowZero, double[] flows, int length) {
+        if (lastBelowZero < 0) {
+            return 0;
+        }
+        if (lastBelowZero + 1 >= length) {
+            return Double.NaN;
+        }
+        return lastBelowZero - positionBelowZero / flows[lastBelowZero + 1];
+    }
+
     ///
     /// Profitability Index
     ///
@@ -0,0 +1,309 @@
+package com.flowapp.petroleumeconomics.Utils;
+
+import com.flowapp.petroleumeconomics.Models.IRRResult;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Finds the internal rate of return by bracketing the roots of NPV(r) on a coarse rate grid and
+ * refining each bracket with a Newton step safeguarded by bisection.
+ * NPV and its derivative are evaluated with Horner's scheme in v = 1/(1+r), so no
+ * {@code Math.pow} is needed per period.
+ * <p>
+ * Descartes' rule of signs bounds the number of roots by the sign changes of the cash flows. The grid is
+ * extended upward and down towards -100% until no root can lie outside it, and when it brackets fewer roots than
+ * the bound, the cells where the NPV turns are bisected: two roots in one cell leave the NPV with the same sign at
+ * both of its ends.
+ * <p>
+ * When there are several roots the reported rate is the highest one where the NPV falls through zero as the
+ * rate increases, which is the root that behaves like the IRR of an investment, a root hit exactly on the grid
+ * included.
+ * <p>
+ * Sub-annual schedules are solved on the per-period rates equivalent to the grid's yearly rates, with the
+ * precision divided by the number of periods per year, and reported as effective yearly rates.
+ */
+public class IRRSolver {
+
+    private static final double[] BRACKET_RATES = {
+            -0.99, -0.9, -0.75, -0.5, -0.3, -0.15, 0, 0.05, 0.1, 0.15, 0.2, 0.3,
+            0.4, 0.5, 0.75, 1, 1.5, 2, 3, 5, 10, 100
+    };
+    /** Highest rate the grid is extended to, whatever the cash flows. */
+    private static final double MAX_BRACKET_RATE = 1e300;
+    /** Lowest 1 + r the grid is extended to: closer to -100%, a rate keeps too few digits of 1 + r. */
+    private static final double MIN_BRACKET_GROWTH = 1e-12;
+    private static final int MAX_ITERATIONS = 100;
+
+    private final double precision;
+
+    public IRRSolver(double precision) {
+        this.precision = precision;
+    }
+
+    public IRRResult solve(@NotNull double[] cashFlows) {
+        return solve(cashFlows, cashFlows.length);
+    }
+
+    public IRRResult solve(@NotNull double[] cashFlows, int length) {
+        return solve(cashFlows, length, 1);
+    }
+
+    /**
+     * Roots of a schedule of {@code periodsPerYear} periods per year, as effective yearly rates.
+     */
+    public IRRResult solve(@NotNull double[] cashFlows, int length, int periodsPerYear) {
+        final int signChanges = countSignChanges(cashFlows, length);
+        if (signChanges == 0) {
+            return new IRRResult(new double[0], 0);
+        }
+        final var roots = new Roots(cashFlows, length, signChanges, precision / periodsPerYear);
+        final double[] rates = getBracketRates(cashFlows, length, periodsPerYear);
+        final double[] npvs = new double[rates.length];
+
+        double lastRate = Double.NaN;
+        double lastNpv = Double.NaN;
+        // Descartes' rule of signs bounds the number of roots, no need to scan further once they are all found.
+        for (int i = 0; i < rates.length && !roots.isComplete(); i++) {
+            final double rate = rates[i];
+            final double npv = EconomicsUtils.calculateNetPresentValue(cashFlows, length, rate);
+            roots.evaluations[0]++;
+            npvs[i] = npv;
+            if (!Double.isFinite(npv)) {
+                continue;
+            }
+            if (npv == 0) {
+                roots.addExact(rate);
+            } else if (!Double.isNaN(lastNpv) && lastNpv != 0 && (npv > 0) != (lastNpv > 0)) {
+                roots.addBracketed(lastRate, lastNpv, rate, npv);
+            }
+            lastRate = rate;
+            lastNpv = npv;
+        }
+        if (!roots.isComplete()) {
+            final double[] npvAndDerivative = new double[2];
+            double lastSlope = Double.NaN;
+            for (int i = 0; i < rates.length && !roots.isComplete(); i++) {
+                npvAndDerivative(cashFlows, length, rates[i], npvAndDerivative);
+                roots.evaluations[0]++;
+                final double slope = npvAndDerivative[1];
+                if (i > 0 && Double.isFinite(npvs[i - 1]) && Double.isFinite(npvs[i]) && npvs[i - 1] != 0
+                        && npvs[i] != 0 && (npvs[i - 1] > 0) == (npvs[i] > 0)
+                        && Double.isFinite(lastSlope) && Double.isFinite(slope)) {
+                    roots.subdivide(rates[i - 1], npvs[i - 1], lastSlope, rates[i], npvs[i], slope);
+                }
+                lastSlope = slope;
+            }
+        }
+        return roots.toResult().annualized(periodsPerYear);
+    }
+
+    /**
+     * The bracket grid in rates per period, extended by factors of ten in 1 + r until no root can lie above or
+     * below it. With c_f the first non-zero cash flow, NPV(r) / v^f = c_f + sum(c_i v^(i-f), i > f) and the sum is
+     * at most v * sum(|c_i|, i > f) in magnitude when v = 1/(1+r) <= 1, so the NPV keeps the sign of c_f once
+     * 1 + r exceeds sum(|c_i|, i > f) / |c_f|. Symmetrically, with c_l the last non-zero cash flow, the NPV keeps
+     * the sign of c_l once 1 + r falls below |c_l| / sum(|c_i|, i < l).
+     */
+    private static double[] getBracketRates(double[] cashFlows, int length, int periodsPerYear) {
+        int first = 0;
+        while (cashFlows[first] == 0) {
+            first++;
+        }
+        int last = length - 1;
+        while (cashFlows[last] == 0) {
+            last--;
+        }
+        double tail = 0;
+        for (int i = first + 1; i < length; i++) {
+            tail += Math.abs(cashFlows[i]);
+        }
+        final double head = tail + Math.abs(cashFlows[first]) - Math.abs(cashFlows[last]);
+        final double upperLimit = Math.min(tail / Math.abs(cashFlows[first]), MAX_BRACKET_RATE);
+        final double lowerLimit = Math.max(Math.abs(cashFlows[last]) / head, MIN_BRACKET_GROWTH);
+        final double highest = toPeriodicRate(BRACKET_RATES[BRACKET_RATES.length - 1], periodsPerYear);
+        final double lowest = toPeriodicRate(BRACKET_RATES[0], periodsPerYear);
+        int above = 0;
+        for (double rate = highest; 1 + rate <= upperLimit; rate = (1 + rate) * 10 - 1) {
+            above++;
+        }
+        int below = 0;
+        for (double growth = 1 + lowest; growth >= lowerLimit; growth /= 10) {
+            below++;
+        }
+        if (above == 0 && below == 0 && periodsPerYear == 1) {
+            return BRACKET_RATES;
+        }
+        final double[] rates = new double[below + BRACKET_RATES.length + above];
+        for (int i = 0; i < BRACKET_RATES.length; i++) {
+            rates[below + i] = toPeriodicRate(BRACKET_RATES[i], periodsPerYear);
+        }
+        for (int i = below - 1; i >= 0; i--) {
+            rates[i] = (1 + rates[i + 1]) / 10 - 1;
+        }
+        for (int i = below + BRACKET_RATES.length; i < rates.length; i++) {
+            rates[i] = (1 + rates[i - 1]) * 10 - 1;
+        }
+        return rates;
+    }
+
+    private static double toPeriodicRate(double yearlyRate, int periodsPerYear) {
+        return periodsPerYear == 1 ? yearlyRate : Math.expm1(Math.log1p(yearlyRate) / periodsPerYear);
+    }
+
+    /**
+     * Roots found so far, at most as many as the sign changes of the cash flows.
+     */
+    private final class Roots {
+        private final double[] cashFlows;
+        private final int length;
+        private final double[] rates;
+        private final double tolerance;
+        private final int[] evaluations = new int[1];
+        private int found;
+        private double primary = Double.NaN;
+
+        Roots(double[] cashFlows, int length, int bound, double tolerance) {
+            this.cashFlows = cashFlows;
+            this.length = length;
+            this.rates = new double[bound];
+            this.tolerance = tolerance;
+        }
+
+        boolean isComplete() {
+            return found == rates.length;
+        }
+
+        void add(double rate, boolean falling) {
+            if (falling && !(rate < primary)) {
+                primary = rate;
+            }
+            rates[found++] = rate;
+        }
+
+        /**
+         * Adds a rate where the NPV is exactly zero, falling through zero when its slope is negative there.
+         */
+        void addExact(double rate) {
+            final double[] npvAndDerivative = new double[2];
+            npvAndDerivative(cashFlows, length, rate, npvAndDerivative);
+            evaluations[0]++;
+            add(rate, npvAndDerivative[1] < 0);
+        }
+
+        /**
+         * Adds the root between {@code low} and {@code high}, whose NPVs have opposite signs.
+         */
+        void addBracketed(double low, double lowNpv, double high, double highNpv) {
+            add(refine(cashFlows, length, low, lowNpv, high, highNpv, tolerance, evaluations), lowNpv > 0);
+        }
+
+        /**
+         * Looks for two roots between rates where the NPV has the same sign, bisecting while the slope has opposite
+         * signs at the ends: the NPV turns in between and may cross zero and come back. Stops at cells narrower
+         * than the tolerance.
+         */
+        void subdivide(double low, double lowNpv, double lowSlope, double high, double highNpv, double highSlope) {
+            if (isComplete() || high - low < tolerance || (lowSlope > 0) == (highSlope > 0)) {
+                return;
+            }
+            final double rate = 0.5 * (low + high);
+            final double[] npvAndDerivative = new double[2];
+            npvAndDerivative(cashFlows, length, rate, npvAndDerivative);
+            evaluations[0]++;
+            final double npv = npvAndDerivative[0];
+            final double slope = npvAndDerivative[1];
+            if (npv == 0) {
+                add(rate, slope < 0);
+            } else if ((npv > 0) != (lowNpv > 0)) {
+                addBracketed(low, lowNpv, rate, npv);
+                if (!isComplete()) {
+                    addBracketed(rate, npv, high, highNpv);
+                }
+            } else {
+                subdivide(low, lowNpv, lowSlope, rate, npv, slope);
+                subdivide(rate, npv, slope, high, highNpv, highSlope);
+            }
+        }
+
+        IRRResult toResult() {
+            final var roots = Arrays.copyOf(rates, found);
+            Arrays.sort(roots);
+            return new IRRResult(roots, Double.isNaN(primary) && found > 0 ? roots[0] : primary, evaluations[0]);
+        }
+    }
+
+    private static double refine(double[] cashFlows, int length, double low, double lowNpv, double high, double highNpv,
+                                 double tolerance, int[] evaluations) {
+        // orient the bracket so that npv(low) < 0 < npv(high)
+        if (lowNpv > 0) {
+            final var temp = low;
+            low = high;
+            high = temp;
+        }
+        double rate = 0.5 * (low + high);
+        double lastStep = Math.abs(high - low);
+        double step = lastStep;
+        final double[] npvAndDerivative = new double[2];
+        npvAndDerivative(cashFlows, length, rate, npvAndDerivative);
+        evaluations[0]++;
+        for (int i = 0; i < MAX_ITERATIONS; i++) {
+            final double npv = npvAndDerivative[0];
+            final double derivative = npvAndDerivative[1];
+            final boolean outOfBracket = ((rate - high) * derivative - npv) * ((rate - low) * derivative - npv) > 0;
+            final boolean tooSlow = Math.abs(2 * npv) > Math.abs(lastStep * derivative);
+            lastStep = step;
+            if (outOfBracket || tooSlow) {
+                step = 0.5 * (high - low);
+                rate = low + step;
+            } else {
+                step = npv / derivative;
+                rate -= step;
+            }
+            if (Math.abs(step) < tolerance) {
+                return rate;
+            }
+            npvAndDerivative(cashFlows, length, rate, npvAndDerivative);
+            evaluations[0]++;
+            if (npvAndDerivative[0] == 0) {
+                return rate;
+            } else if (npvAndDerivative[0] < 0) {
+                low = rate;
+            } else {
+                high = rate;
+            }
+        }
+        return rate;
+    }
+
+    private static int countSignChanges(double[] cashFlows, int length) {
+        int changes = 0;
+        double last = 0;
+        for (int i = 0; i < length; i++) {
+            final var cashFlow = cashFlows[i];
+            if (cashFlow == 0) {
+                continue;
+            }
+            if (last != 0 && (cashFlow > 0) != (last > 0)) {
+                changes++;
+            }
+            last = cashFlow;
+        }
+        return changes;
+    }
+
+    /**
+     * NPV(r) = sum(c_i * v^i) with v = 1/(1+r), so dNPV/dr = -v^2 * sum(i * c_i * v^(i-1)).
+     */
+    static void npvAndDerivative(double[] cashFlows, int length, double rate, double[] out) {
+        final double v = 1 / (1 + rate);
+        double npv = 0;
+        double derivative = 0;
+        for (int i = length - 1; i >= 0; i--) {
+            derivative = derivative * v + npv;
+            npv = npv * v + cashFlows[i];
+        }
+        out[0] = npv;
+        out[1] = -v * v * derivative;
+    }
+}
@@ -0,0 +1,241 @@
+package com.flowapp.petroleumeconomics.Utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parses a JSON document into {@link Map}s, {@link List}s, {@link Double}s, {@link String}s, {@link Boolean}s
+ * and {@code null}. Malformed input throws an {@link IllegalArgumentException} with the offset of the error.
+ */
+public class JsonReader {
+
+    private static final int MAX_DEPTH = 64;
+
+    private final CharSequence text;
+    private int position;
+    private int depth;
+
+    private JsonReader(CharSequence text) {
+        this.text = text;
+    }
+
+    static public Object parse(@NotNull CharSequence text) {
+        final var reader = new JsonReader(text);
+        final var value = reader.readValue();
+        reader.skipWhitespace();
+        if (reader.position < text.length()) {
+            throw reader.error("Unexpected trailing characters");
+        }
+        return value;
+    }
+
+    /**
+     * The members of a parsed object, or an exception naming {@code what} when the value is not an object.
+     */
+    @SuppressWarnings("unchecked")
+    static public Map<String, Object> asObject(Object value, @NotNull String what) {
+        if (!(value instanceof Map)) {
+            throw new IllegalArgumentException(what + " must be a JSON object");
+        }
+        return (Map<String, Object>) value;
+    }
+
+    static public List<?> asArray(Object value, @NotNull String what) {
+        if (!(value instanceof List)) {
+            throw new IllegalArgumentException(what + " must be a JSON array");
+        }
+        return (List<?>) value;
+    }
+
+    static public double asNumber(Object value, @NotNull String what) {
+        if (!(value instanceof Double)) {
+            throw new IllegalArgumentException(what + " must be a number");
+        }
+        return (Double) value;
+    }
+
+    static public double[] asNumbers(Object value, @NotNull String what) {
+        final var array = asArray(value, what);
+        final double[] numbers = new double[array.size()];
+        for (int i = 0; i < numbers.length; i++) {
+            numbers[i] = asNumber(array.get(i), what + "[" + i + "]");
+        }
+        return numbers;
+    }
+
+    private Object readValue() {
+        skipWhitespace();
+        if (position >= text.length()) {
+            throw error("Unexpected end of input");
+        }
+        final char c = text.charAt(position);
+        switch (c) {
+            case '{': return readObject();
+            case '[': return readArray();
+            case '"': return readString();
+            case 't': return readLiteral("true", Boolean.TRUE);
+            case 'f': return readLiteral("false", Boolean.FALSE);
+            case 'n': return readLiteral("null", null);
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    return readNumber();
+                }
+                throw error("Unexpected character '" + c + "'");
+        }
+    }
+
+    private Map<String, Object> readObject() {
+        enter();
+        position++;
+        final Map<String, Object> members = new LinkedHashMap<>();
+        skipWhitespace();
+        if (peek() == '}') {
+            position++;
+            depth--;
+            return members;
+        }
+        while (true) {
+            skipWhitespace();
+            if (peek() != '"') {
+                throw error("Expected a member name");
+            }
+            final var name = readString();
+            skipWhitespace();
+            expect(':');
+            members.put(name, readValue());
+            skipWhitespace();
+            if (peek() == ',') {
+                position++;
+            } else {
+                expect('}');
+                depth--;
+                return members;
+            }
+        }
+    }
+
+    private List<Object> readArray() {
+        enter();
+        position++;
+        final List<Object> elements = new ArrayList<>();
+        skipWhitespace();
+        if (peek() == ']') {
+            position++;
+            depth--;
+            return elements;
+        }
+        while (true) {
+            elements.add(readValue());
+            skipWhitespace();
+            if (peek() == ',') {
+                position++;
+            } else {
+                expect(']');
+                depth--;
+                return elements;
+            }
+        }
+    }
+
+    private String readString() {
+        position++;
+        final var value = new StringBuilder();
+        while (true) {
+            if (position >= text.length()) {
+                throw error("Unterminated string");
+            }
+            final char c = text.charAt(position++);
+            if (c == '"') {
+                return value.toString();
+            } else if (c != '\\') {
+                value.append(c);
+                continue;
+            }
+            if (position >= text.length()) {
+                throw error("Unterminated string");
+            }
+            final char escaped = text.charAt(position++);
+            switch (escaped) {
+                case '"': case '\\': case '/': value.append(escaped); break;
+                case 'b': value.append('\b'); break;
+                case 'f': value.append('\f'); break;
+                case 'n': value.append('\n'); break;
+                case 'r': value.append('\r'); break;
+                case 't': value.append('\t'); break;
+                case 'u':
+                    if (position + 4 > text.length()) {
+                        throw error("Truncated unicode escape");
+                    }
+                    try {
+                        value.append((char) Integer.parseInt(text.subSequence(position, position + 4).toString(), 16));
+                    } catch (NumberFormatException e) {
+                        throw error("Invalid unicode escape");
+                    }
+                    position += 4;
+                    break;
+                default:
+                    throw error("Invalid escape '\\" + escaped + "'");
+            }
+        }
+    }
+
+    private Double readNumber() {
+        final int start = position;
+        while (position < text.length() && "+-0123456789.eE".indexOf(text.charAt(position)) >= 0) {
+            position++;
+        }
+        try {
+            return Double.parseDouble(text.subSequence(start, position).toString());
+        } catch (NumberFormatException e) {
+            position = start;
+            throw error("Invalid number");
+        }
+    }
+
+    private Object readLiteral(String literal, Object value) {
+        if (position + literal.length() > text.length()
+                || !literal.contentEquals(text.subSequence(position, position + literal.length()))) {
+            throw error("Unexpected literal");
+        }
+        position += literal.length();
+        return value;
+    }
+
+    private void enter() {
+        if (++depth > MAX_DEPTH) {
+            throw error("JSON nested deeper than " + MAX_DEPTH);
+        }
+    }
+
+    private void skipWhitespace() {
+        while (position < text.length()) {
+            final char c = text.charAt(position);
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                return;
+            }
+            position++;
+        }
+    }
+
+    private char peek() {
+        if (position >= text.length()) {
+            throw error("Unexpected end of input");
+        }
+        return text.charAt(position);
+    }
+
+    private void expect(char c) {
+        if (peek() != c) {
+            throw error("Expected '" + c + "'");
+        }
+        position++;
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at offset " + position);
+    }
+}
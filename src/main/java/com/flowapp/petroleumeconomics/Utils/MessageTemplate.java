@@ -0,0 +1,157 @@
+package com.flowapp.petroleumeconomics.Utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Message pattern parsed once into literal text and placeholders, rendered in a single pass.
+ * <p>
+ * Placeholders pick their argument from a cursor that starts before the first argument:
+ * {@code {}} takes the next one, {@code {+}} skips one and takes the one after, {@code {-}} repeats the
+ * previous one and {@code {n}} jumps to argument n. The cursor is clamped to the argument range after every
+ * placeholder. Braces holding anything else are kept as literal text, as are placeholders when there are no
+ * arguments at all.
+ */
+public final class MessageTemplate {
+
+    private static final int MAX_CACHED_TEMPLATES = 1024;
+    private static final Map<String, MessageTemplate> CACHE = new ConcurrentHashMap<>();
+
+    private static final int NEXT = -1;
+    private static final int SKIP = -2;
+    private static final int PREVIOUS = -3;
+
+    private final String pattern;
+    private final String[] literals;
+    private final String[] placeholders;
+    private final int[] operations;
+
+    private MessageTemplate(String pattern, String[] literals, String[] placeholders, int[] operations) {
+        this.pattern = pattern;
+        this.literals = literals;
+        this.placeholders = placeholders;
+        this.operations = operations;
+    }
+
+    /**
+     * Parsed form of {@code pattern}, from the shared cache when it has been parsed before.
+     */
+    public static MessageTemplate of(@NotNull String pattern) {
+        final var cached = CACHE.get(pattern);
+        if (cached != null) {
+            return cached;
+        }
+        final var template = parse(pattern);
+        if (CACHE.size() < MAX_CACHED_TEMPLATES) {
+            CACHE.putIfAbsent(pattern, template);
+        }
+        return template;
+    }
+
+    public static MessageTemplate parse(@NotNull String pattern) {
+        final var literals = new ArrayList<String>();
+        final var placeholders = new ArrayList<String>();
+        final var operations = new ArrayList<Integer>();
+        final var literal = new StringBuilder();
+        int i = 0;
+        while (i < pattern.length()) {
+            final char c = pattern.charAt(i);
+            final int close = c == '{' ? pattern.indexOf('}', i + 1) : -1;
+            final int operation = close < 0 ? 0 : parseOperation(pattern, i + 1, close);
+            if (close < 0 || operation == 0) {
+                literal.append(c);
+                i++;
+                continue;
+            }
+            literals.add(literal.toString());
+            literal.setLength(0);
+            placeholders.add(pattern.substring(i, close + 1));
+            operations.add(operation);
+            i = close + 1;
+        }
+        literals.add(literal.toString());
+        final int[] operationsArray = new int[operations.size()];
+        for (int k = 0; k < operationsArray.length; k++) {
+            operationsArray[k] = operations.get(k);
+        }
+        return new MessageTemplate(pattern,
+                literals.toArray(new String[0]),
+                placeholders.toArray(new String[0]),
+                operationsArray);
+    }
+
+    /**
+     * Operation of the placeholder between {@code from} and {@code to}, an argument index for {@code {n}},
+     * or 0 when the braces do not hold a placeholder.
+     */
+    private static int parseOperation(String pattern, int from, int to) {
+        if (from == to) {
+            return NEXT;
+        }
+        if (to - from == 1 && pattern.charAt(from) == '+') {
+            return SKIP;
+        }
+        if (to - from == 1 && pattern.charAt(from) == '-') {
+            return PREVIOUS;
+        }
+        long index = 0;
+        for (int i = from; i < to; i++) {
+            final char c = pattern.charAt(i);
+            if (c < '0' || c > '9') {
+                return 0;
+            }
+            index = Math.min(Integer.MAX_VALUE - 1, index * 10 + (c - '0'));
+        }
+        // shifted by one so that 0 keeps meaning "no placeholder"
+        return (int) index + 1;
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public int getPlaceholderCount() {
+        return operations.length;
+    }
+
+    public String render(Object... args) {
+        final var out = new StringBuilder(pattern.length() + 16 * operations.length);
+        render(out, Formatter.DEFAULT, args);
+        return out.toString();
+    }
+
+    /**
+     * Appends the message to {@code out}, letting {@code formatter} write every argument.
+     */
+    public void render(@NotNull StringBuilder out, @NotNull Formatter formatter, Object... args) {
+        int cursor = -1;
+        for (int i = 0; i < operations.length; i++) {
+            out.append(literals[i]);
+            if (args.length == 0) {
+                out.append(placeholders[i]);
+                continue;
+            }
+            final int operation = operations[i];
+            if (operation == NEXT) {
+                cursor++;
+            } else if (operation == SKIP) {
+                cursor += 2;
+            } else if (operation != PREVIOUS) {
+                cursor = operation - 1;
+            }
+            cursor = Math.max(0, Math.min(args.length - 1, cursor));
+            formatter.append(out, args[cursor]);
+        }
+        out.append(literals[operations.length]);
+    }
+
+    @FunctionalInterface
+    public interface Formatter {
+        Formatter DEFAULT = StringBuilder::append;
+
+        void append(@NotNull StringBuilder out, Object argument);
+    }
+}
@@ -0,0 +1,102 @@
+package com.flowapp.petroleumeconomics.Utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Brent's method: inverse quadratic interpolation and secant steps, falling back to bisection whenever they
+ * do not shrink the bracket fast enough. Functions that are linear in the variable, like NPV in the oil price,
+ * converge in a couple of evaluations.
+ */
+public class RootFinder {
+
+    private static final int MAX_ITERATIONS = 100;
+    private static final double EPSILON = Math.ulp(1.0);
+
+    /**
+     * Root of {@code f} between {@code low} and {@code high}, or {@code NaN} when f has the same sign at both ends.
+     *
+     * @param fLow  f(low), already known to the caller
+     * @param fHigh f(high), already known to the caller
+     */
+    static public double findRoot(@NotNull DoubleUnaryOperator f, double low, double high, double fLow, double fHigh,
+                                  double tolerance) {
+        double a = low;
+        double b = high;
+        double fa = fLow;
+        double fb = fHigh;
+        if (fa == 0) {
+            return a;
+        }
+        if (fb == 0) {
+            return b;
+        }
+        if ((fa > 0) == (fb > 0) || Double.isNaN(fa) || Double.isNaN(fb)) {
+            return Double.NaN;
+        }
+        double c = b;
+        double fc = fb;
+        double d = b - a;
+        double e = d;
+        for (int i = 0; i < MAX_ITERATIONS; i++) {
+            if ((fb > 0) == (fc > 0)) {
+                // keep the root between b and c
+                c = a;
+                fc = fa;
+                d = b - a;
+                e = d;
+            }
+            if (Math.abs(fc) < Math.abs(fb)) {
+                a = b;
+                b = c;
+                c = a;
+                fa = fb;
+                fb = fc;
+                fc = fa;
+            }
+            final double tolerance1 = 2 * EPSILON * Math.abs(b) + 0.5 * tolerance;
+            final double middle = 0.5 * (c - b);
+            if (Math.abs(middle) <= tolerance1 || fb == 0) {
+                return b;
+            }
+            if (Math.abs(e) >= tolerance1 && Math.abs(fa) > Math.abs(fb)) {
+                final double s = fb / fa;
+                double p;
+                double q;
+                if (a == c) {
+                    p = 2 * middle * s;
+                    q = 1 - s;
+                } else {
+                    final double r = fb / fc;
+                    final double t = fa / fc;
+                    p = s * (2 * middle * t * (t - r) - (b - a) * (r - 1));
+                    q = (t - 1) * (r - 1) * (s - 1);
+                }
+                if (p > 0) {
+                    q = -q;
+                }
+                p = Math.abs(p);
+                if (2 * p < Math.min(3 * middle * q - Math.abs(tolerance1 * q), Math.abs(e * q))) {
+                    e = d;
+                    d = p / q;
+                } else {
+                    d = middle;
+                    e = d;
+                }
+            } else {
+                d = middle;
+                e = d;
+            }
+            a = b;
+            fa = fb;
+            b += Math.abs(d) > tolerance1 ? d : Math.copySign(tolerance1, middle);
+            fb = f.applyAsDouble(b);
+        }
+        return b;
+    }
+
+    static public double findRoot(@NotNull DoubleUnaryOperator f, double low, double high, double tolerance) {
+        return findRoot(f, low, high, f.applyAsDouble(low), f.applyAsDouble(high), tolerance);
+    }
+}
@@ -1,7 +1,14 @@
 package com.flowapp.petroleumeconomics.Utils;
 
+import com.flowapp.petroleumeconomics.Metrics.MetricsRegistry;
+import com.flowapp.petroleumeconomics.Metrics.Phase;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class TableList {
@@ -91,6 +98,11 @@ public class TableList {
         if (elements.length != rows) {
             throw new IllegalArgumentException();
         }
+        for (int i = 0; i < elements.length; i++) {
+            if (elements[i] == null) {
+                elements[i] = "";
+            }
+        }
         table.add(elements);
         updateSizes(elements);
         return this;
@@ -108,163 +120,163 @@ public class TableList {
     }
 
     public String render() {
-        StringBuilder output = new StringBuilder();
-        StringBuilder line = null;
+        final var output = new StringBuilder();
+        try {
+            render(output);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return output.toString();
+    }
+
+    /**
+     * Writes the table to {@code output} line by line, every line preceded by a line break.
+     * The table itself is left untouched, so it renders the same every time. Without a comparator the rows are
+     * streamed in insertion order using constant extra memory; sorting needs one index per shown row.
+     */
+    public void render(Appendable output) throws IOException {
+        final var timer = MetricsRegistry.shared().time(Phase.TABLE_RENDERING);
+        try {
+            renderLines(output);
+        } finally {
+            timer.stop(table.size());
+        }
+    }
+
+    private void renderLines(Appendable output) throws IOException {
+        final int[] widths = new int[rows];
+        int maxWidth = 0;
+        for (int i = 0; i < rows; i++) {
+            widths[i] = tableSizes[i] + 2 * spacing;
+            maxWidth = Math.max(maxWidth, widths[i]);
+        }
+        final String spaces = " ".repeat(maxWidth);
+
         if (ucode) {
+            output.append('\n').append(CORNER_TL);
             for (int i = 0; i < rows; i++) {
-                if (line != null) {
-                    line.append(CROSSING_T);
-                } else {
-                    line = new StringBuilder();
-                    line.append(CORNER_TL);
-                }
-                for (int j = 0; j < tableSizes[i] + 2 * spacing; j++) {
-                    line.append(TLINE);
+                if (i > 0) {
+                    output.append(CROSSING_T);
                 }
+                repeat(output, TLINE, widths[i]);
             }
-            line.append(CORNER_TR);
-            output.append("\n" + line.toString());
-
-            line = null;
+            output.append(CORNER_TR);
         }
 
         // print header
+        output.append('\n');
+        if (ucode) {
+            output.append(gc(VERTICAL_TSEP));
+        }
         for (int i = 0; i < rows; i++) {
-            if (line != null) {
-                line.append(gc(VERTICAL_TSEP));
-            } else {
-                line = new StringBuilder();
-                if (ucode) {
-                    line.append(gc(VERTICAL_TSEP));
-                }
-            }
-            String part = descriptions[i];
-            while (part.length() < tableSizes[i] + spacing) {
-                part += " ";
-            }
-            for (int j = 0; j < spacing; j++) {
-                line.append(" ");
+            if (i > 0) {
+                output.append(gc(VERTICAL_TSEP));
             }
-            line.append(part);
+            append(output, spaces, spacing);
+            output.append(descriptions[i]);
+            append(output, spaces, widths[i] - spacing - descriptions[i].length());
         }
         if (ucode) {
-            line.append(gc(VERTICAL_TSEP));
+            output.append(gc(VERTICAL_TSEP));
         }
-        output.append("\n" + line.toString());
 
         // print vertical seperator
-        line = null;
+        output.append('\n');
+        if (ucode) {
+            output.append(CROSSING_L);
+        }
         for (int i = 0; i < rows; i++) {
-            if (line != null) {
-                line.append(gc(CROSSING));
-            } else {
-                line = new StringBuilder();
-                if (ucode) {
-                    line.append(CROSSING_L);
-                }
-            }
-            for (int j = 0; j < tableSizes[i] + 2 * spacing; j++) {
-                line.append(gc(BLINE));
+            if (i > 0) {
+                output.append(gc(CROSSING));
             }
+            repeat(output, gc(BLINE), widths[i]);
         }
         if (ucode) {
-            line.append(CROSSING_R);
+            output.append(CROSSING_R);
         }
-        output.append("\n" + line.toString());
 
-        line = null;
-        ArrayList<String[]> localTable = table;
-
-        if (filter != null) {
-            Pattern p = Pattern.compile(filter);
-            localTable.removeIf(arr -> {
-                String s = arr[findex];
-                return !p.matcher(s).matches();
-            });
+        final Pattern p = filter != null ? Pattern.compile(filter) : null;
+        final Matcher matcher = p != null ? p.matcher("") : null;
+        boolean empty = true;
+        if (comparator == null) {
+            for (String[] strings : table) {
+                if (matcher == null || matcher.reset(strings[findex]).matches()) {
+                    renderRow(output, strings, widths, spaces);
+                    empty = false;
+                }
+            }
+        } else {
+            final var shown = new ArrayList<String[]>();
+            for (String[] strings : table) {
+                if (matcher == null || matcher.reset(strings[findex]).matches()) {
+                    shown.add(strings);
+                }
+            }
+            shown.sort(comparator);
+            for (String[] strings : shown) {
+                renderRow(output, strings, widths, spaces);
+            }
+            empty = shown.isEmpty();
         }
-
-        if (localTable.isEmpty()) {
-            String[] sa = new String[rows];
-            localTable.add(sa);
+        if (empty) {
+            renderRow(output, new String[rows], widths, spaces);
         }
 
-        localTable.forEach(arr -> {
-            for (int i = 0; i < arr.length; i++) {
-                if (arr[i] == null) {
-                    arr[i] = "";
+        if (ucode) {
+            output.append('\n').append(CORNER_BL);
+            for (int i = 0; i < rows; i++) {
+                if (i > 0) {
+                    output.append(CROSSING_B);
                 }
+                repeat(output, gc(BLINE), widths[i]);
             }
-        });
-
-        if (comparator != null) {
-            localTable.sort(comparator);
+            output.append(CORNER_BR);
         }
+    }
 
-        for (String[] strings : localTable) {
-            for (int i = 0; i < rows; i++) {
-                if (line != null) {
-                    line.append(gc(VERTICAL_BSEP));
-                } else {
-                    line = new StringBuilder();
-                    if (ucode) {
-                        line.append(gc(VERTICAL_BSEP));
-                    }
-                }
-                String part = "";
-                for (int j = 0; j < spacing; j++) {
-                    part += " ";
-                }
-                if (strings[i] != null) {
-                    switch (aligns[i]) {
-                        case LEFT:
-                            part += strings[i];
-                            break;
-                        case RIGHT:
-                            for (int j = 0; j < tableSizes[i] - strings[i].length(); j++) {
-                                part += " ";
-                            }
-                            part += strings[i];
-                            break;
-                        case CENTER:
-                            for (int j = 0; j < (tableSizes[i] - strings[i].length()) / 2; j++) {
-                                part += " ";
-                            }
-                            part += strings[i];
-                            break;
-                    }
-                }
-                while (part.length() < tableSizes[i] + spacing) {
-                    part += " ";
-                }
-                for (int j = 0; j < spacing; j++) {
-                    part += " ";
-                }
-                line.append(part);
+    private void renderRow(Appendable output, String[] strings, int[] widths, String spaces) throws IOException {
+        output.append('\n');
+        if (ucode) {
+            output.append(gc(VERTICAL_BSEP));
+        }
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                output.append(gc(VERTICAL_BSEP));
             }
-            if (ucode) {
-                line.append(gc(VERTICAL_BSEP));
+            final String cell = strings[i] != null ? strings[i] : "";
+            int before = spacing;
+            switch (aligns[i]) {
+                case RIGHT:
+                    before += tableSizes[i] - cell.length();
+                    break;
+                case CENTER:
+                    before += (tableSizes[i] - cell.length()) / 2;
+                    break;
             }
-            output.append("\n" + line.toString());
+            append(output, spaces, before);
+            output.append(cell);
+            append(output, spaces, widths[i] - before - cell.length());
+        }
+        if (ucode) {
+            output.append(gc(VERTICAL_BSEP));
+        }
+    }
 
-            line = null;
+    private static void append(Appendable output, String spaces, int count) throws IOException {
+        if (count <= 0) {
+            return;
+        }
+        if (output instanceof Writer) {
+            ((Writer) output).write(spaces, 0, count);
+        } else {
+            output.append(spaces, 0, count);
         }
+    }
 
-        if (ucode) {
-            for (int i = 0; i < rows; i++) {
-                if (line != null) {
-                    line.append(CROSSING_B);
-                } else {
-                    line = new StringBuilder();
-                    line.append(CORNER_BL);
-                }
-                for (int j = 0; j < tableSizes[i] + 2 * spacing; j++) {
-                    line.append(gc(BLINE));
-                }
-            }
-            line.append(CORNER_BR);
-            output.append("\n" + line.toString());
+    private static void repeat(Appendable output, String text, int count) throws IOException {
+        for (int j = 0; j < count; j++) {
+            output.append(text);
         }
-        return output.toString();
     }
 
     private String gc(String[] src) {
@@ -4,10 +4,17 @@ module com.flowapp.petroleumeconomics {
 
     requires org.controlsfx.controls;
     requires org.jetbrains.annotations;
+    requires jdk.jfr;
+    requires jdk.httpserver;
 
     opens com.flowapp.petroleumeconomics to javafx.fxml;
     exports com.flowapp.petroleumeconomics;
 
     opens com.flowapp.petroleumeconomics.Controllers to javafx.fxml;
     exports com.flowapp.petroleumeconomics.Controllers;
+
+    exports com.flowapp.petroleumeconomics.Metrics;
+    exports com.flowapp.petroleumeconomics.Models;
+    exports com.flowapp.petroleumeconomics.Services;
+    exports com.flowapp.petroleumeconomics.Statistics;
 }
\ No newline at end of file
@@ -0,0 +1,85 @@
+package com.flowapp.petroleumeconomics.Services;
+
+import com.flowapp.petroleumeconomics.Models.Distribution;
+import com.flowapp.petroleumeconomics.Models.MonteCarloInput;
+import com.flowapp.petroleumeconomics.Models.MonteCarloSummary;
+import com.flowapp.petroleumeconomics.Models.ProjectInput;
+import com.flowapp.petroleumeconomics.Statistics.DistributionSummary;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MonteCarloSimulatorTest {
+
+    private static final ProjectInput PROJECT_A = new ProjectInput(1_600,
+            7_500_000,
+            35_000_000,
+            15_000_000,
+            60,
+            0.98,
+            0.10,
+            6,
+            6,
+            1_000_000,
+            15,
+            0.35);
+
+    @Test
+    void aSeedGivesTheSameSummaryOnAnyNumberOfThreads() {
+        final var input = MonteCarloInput.builder(PROJECT_A)
+                .declineRatePerYear(Distribution.normal(0.35, 0.05))
+                .oilPricePerBarrel(Distribution.triangular(40, 60, 90))
+                .trials(5_000)
+                .seed(1)
+                .build();
+        final var singleThread = new ForkJoinPool(1);
+        final var fourThreads = new ForkJoinPool(4);
+        try {
+            final var single = new MonteCarloSimulator(singleThread).summarize(input);
+            final var parallel = new MonteCarloSimulator(fourThreads).summarize(input);
+            assertSameSummary(single, parallel);
+        } finally {
+            singleThread.shutdown();
+            fourThreads.shutdown();
+        }
+    }
+
+    @Test
+    void aSeedGivesTheSameTrials() {
+        final var input = MonteCarloInput.builder(PROJECT_A)
+                .declineRatePerYear(Distribution.normal(0.35, 0.05))
+                .trials(2_000)
+                .seed(7)
+                .build();
+        final var simulator = new MonteCarloSimulator();
+        final var first = simulator.simulate(input).getNetPresentValues();
+        final var second = simulator.simulate(input).getNetPresentValues();
+        assertEquals(first.length, second.length);
+        for (int i = 0; i < first.length; i++) {
+            assertEquals(Double.doubleToLongBits(first[i]), Double.doubleToLongBits(second[i]));
+        }
+    }
+
+    private static void assertSameSummary(MonteCarloSummary expected, MonteCarloSummary actual) {
+        assertEquals(expected.getTrials(), actual.getTrials());
+        assertEquals(expected.getProbabilityOfLoss(), actual.getProbabilityOfLoss(), 0);
+        assertSameDistribution(expected.getNetPresentValue(), actual.getNetPresentValue());
+        assertSameDistribution(expected.getInternalRateOfReturn(), actual.getInternalRateOfReturn());
+        assertSameDistribution(expected.getTotalOilProduction(), actual.getTotalOilProduction());
+    }
+
+    private static void assertSameDistribution(DistributionSummary expected, DistributionSummary actual) {
+        assertEquals(expected.getCount(), actual.getCount());
+        assertBitIdentical(expected.getMean(), actual.getMean());
+        assertBitIdentical(expected.getStandardDeviation(), actual.getStandardDeviation());
+        assertBitIdentical(expected.getP10(), actual.getP10());
+        assertBitIdentical(expected.getP50(), actual.getP50());
+        assertBitIdentical(expected.getP90(), actual.getP90());
+    }
+
+    private static void assertBitIdentical(double expected, double actual) {
+        assertEquals(Double.doubleToLongBits(expected), Double.doubleToLongBits(actual));
+    }
+}
@@ -0,0 +1,88 @@
+package com.flowapp.petroleumeconomics.Statistics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RunningMomentsTest {
+
+    @Test
+    void mergedBlocksMatchSequentialAdds() {
+        final double[] values = normal(100_000, 1);
+        final var sequential = new RunningMoments();
+        for (double value : values) {
+            sequential.add(value);
+        }
+        final var merged = mergeBlocks(values, 13);
+        assertEquals(sequential.getCount(), merged.getCount());
+        assertEquals(sequential.getMean(), merged.getMean(), 1e-9 * Math.abs(sequential.getMean()));
+        assertEquals(sequential.getVariance(), merged.getVariance(), 1e-9 * sequential.getVariance());
+        assertEquals(sequential.getMin(), merged.getMin(), 0);
+        assertEquals(sequential.getMax(), merged.getMax(), 0);
+    }
+
+    @Test
+    void mergingTheSameBlocksInTheSameOrderIsReproducible() {
+        final double[] values = normal(100_000, 2);
+        final var first = mergeBlocks(values, 13);
+        final var second = mergeBlocks(values, 13);
+        assertEquals(Double.doubleToLongBits(first.getMean()), Double.doubleToLongBits(second.getMean()));
+        assertEquals(Double.doubleToLongBits(first.getVariance()), Double.doubleToLongBits(second.getVariance()));
+    }
+
+    @Test
+    void repeatedValueMatchesRepeatedAdds() {
+        final var repeated = new RunningMoments();
+        repeated.add(2);
+        repeated.add(7, 1_000);
+        repeated.add(3);
+        final var added = new RunningMoments();
+        added.add(2);
+        for (int i = 0; i < 1_000; i++) {
+            added.add(7);
+        }
+        added.add(3);
+        assertEquals(added.getCount(), repeated.getCount());
+        assertEquals(added.getMean(), repeated.getMean(), 1e-12);
+        assertEquals(added.getVariance(), repeated.getVariance(), 1e-12);
+        assertEquals(2, repeated.getMin(), 0);
+        assertEquals(7, repeated.getMax(), 0);
+    }
+
+    @Test
+    void emptyMomentsHaveNoMean() {
+        final var moments = new RunningMoments();
+        moments.merge(new RunningMoments());
+        assertEquals(0, moments.getCount());
+        assertTrue(Double.isNaN(moments.getMean()));
+        assertEquals(0, moments.getVariance(), 0);
+    }
+
+    /**
+     * Moments of consecutive blocks of {@code values}, merged left to right.
+     */
+    private static RunningMoments mergeBlocks(double[] values, int blocks) {
+        final var result = new RunningMoments();
+        for (int block = 0; block < blocks; block++) {
+            final var moments = new RunningMoments();
+            final int to = (int) ((long) values.length * (block + 1) / blocks);
+            for (int i = (int) ((long) values.length * block / blocks); i < to; i++) {
+                moments.add(values[i]);
+            }
+            result.merge(moments);
+        }
+        return result;
+    }
+
+    private static double[] normal(int count, long seed) {
+        final var random = new SplittableRandom(seed);
+        final double[] values = new double[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = 1_000 + 50 * random.nextGaussian();
+        }
+        return values;
+    }
+}
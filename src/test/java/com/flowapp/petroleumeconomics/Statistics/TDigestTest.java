@@ -0,0 +1,114 @@
+package com.flowapp.petroleumeconomics.Statistics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TDigestTest {
+
+    private static final double[] QUANTILES = {0, 0.001, 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99, 0.999, 1};
+
+    @Test
+    void mergingTheSameSplitInTheSameOrderIsReproducible() {
+        final double[] values = lognormal(100_000, 1);
+        final double[] first = quantiles(mergeBlocks(values, 16));
+        final double[] second = quantiles(mergeBlocks(values, 16));
+        for (int i = 0; i < QUANTILES.length; i++) {
+            assertEquals(Double.doubleToLongBits(first[i]), Double.doubleToLongBits(second[i]));
+        }
+    }
+
+    @Test
+    void quantilesStayCloseToTheExactOnes() {
+        final double[] values = lognormal(100_000, 2);
+        final double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        final var whole = new TDigest();
+        for (double value : values) {
+            whole.add(value);
+        }
+        final var merged = mergeBlocks(values, 16);
+        for (TDigest digest : new TDigest[]{whole, merged}) {
+            assertEquals(values.length, digest.getCount());
+            for (double quantile : QUANTILES) {
+                final double estimate = digest.quantile(quantile);
+                final double rank = (double) lowerBound(sorted, estimate) / sorted.length;
+                assertEquals(quantile, rank, 0.002, "rank of the estimated quantile " + quantile);
+            }
+        }
+    }
+
+    @Test
+    void minimumAndMaximumAreExact() {
+        final double[] values = lognormal(50_000, 3);
+        final var digest = mergeBlocks(values, 7);
+        final double min = Arrays.stream(values).min().orElseThrow();
+        final double max = Arrays.stream(values).max().orElseThrow();
+        assertEquals(min, digest.getMin(), 0);
+        assertEquals(max, digest.getMax(), 0);
+        assertEquals(min, digest.quantile(0), 0);
+        assertEquals(max, digest.quantile(1), 0);
+    }
+
+    @Test
+    void repeatedValuesCountOnce() {
+        final var digest = new TDigest();
+        digest.add(5, 1_000);
+        digest.add(1);
+        digest.add(9);
+        assertEquals(1_002, digest.getCount());
+        assertEquals(5, digest.quantile(0.5), 0);
+        assertTrue(digest.cdf(5) > 0.99);
+    }
+
+    /**
+     * Digests of consecutive blocks of {@code values}, merged left to right.
+     */
+    private static TDigest mergeBlocks(double[] values, int blocks) {
+        final var result = new TDigest();
+        for (int block = 0; block < blocks; block++) {
+            final var digest = new TDigest();
+            final int to = (int) ((long) values.length * (block + 1) / blocks);
+            for (int i = (int) ((long) values.length * block / blocks); i < to; i++) {
+                digest.add(values[i]);
+            }
+            result.merge(digest);
+        }
+        return result;
+    }
+
+    private static double[] quantiles(TDigest digest) {
+        final double[] result = new double[QUANTILES.length];
+        for (int i = 0; i < QUANTILES.length; i++) {
+            result[i] = digest.quantile(QUANTILES[i]);
+        }
+        return result;
+    }
+
+    private static double[] lognormal(int count, long seed) {
+        final var random = new SplittableRandom(seed);
+        final double[] values = new double[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = Math.exp(random.nextGaussian());
+        }
+        return values;
+    }
+
+    private static int lowerBound(double[] sorted, double value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (sorted[middle] < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,112 @@
+package com.flowapp.petroleumeconomics.Utils;
+
+import com.flowapp.petroleumeconomics.Models.IRRResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IRRSolverTest {
+
+    private static final double PRECISION = 0.00001;
+
+    private final IRRSolver solver = new IRRSolver(PRECISION);
+
+    @Test
+    void cashFlowsWithoutSignChangeHaveNoRate() {
+        for (double[] cashFlows : new double[][]{{100, 50, 25}, {-100, -50, -25}, {0, 0, 0}, {-100, 0, 0}}) {
+            final var irr = solver.solve(cashFlows);
+            assertEquals(IRRResult.Status.NONE, irr.getStatus());
+            assertFalse(irr.exists());
+            assertTrue(Double.isNaN(irr.getRate()));
+            assertEquals(0, irr.getRates().length);
+        }
+    }
+
+    @Test
+    void findsASingleRoot() {
+        assertUniqueRoot(0.1, new double[]{-100, 110});
+        assertUniqueRoot(0.5, new double[]{-100, 150});
+        assertUniqueRoot(0, new double[]{-100, 50, 50});
+    }
+
+    @Test
+    void findsSingleRootsFarOutsideTheRateGrid() {
+        assertUniqueRoot(9999, new double[]{-100, 1e6});
+        assertUniqueRoot(1e-5 - 1, new double[]{-100, 1e-3});
+        final double[] thirtyYears = new double[31];
+        thirtyYears[0] = -1;
+        thirtyYears[30] = 1e12;
+        assertUniqueRoot(Math.pow(1e12, 1.0 / 30) - 1, thirtyYears);
+    }
+
+    @Test
+    void reportsTheHighestRootWhereTheNpvFallsThroughZero() {
+        // (1 + r) = 1.12 and 1.13: the NPV rises through zero at 12% and falls at 13%
+        final var investment = solver.solve(new double[]{-1, 2.25, -1.2656});
+        assertEquals(IRRResult.Status.MULTIPLE, investment.getStatus());
+        assertArrayEquals(new double[]{0.12, 0.13}, investment.getRates(), PRECISION);
+        assertEquals(0.13, investment.getRate(), PRECISION);
+
+        // the same schedule negated: the NPV now falls through zero at the lower root
+        final var financing = solver.solve(new double[]{100, -230, 132});
+        assertArrayEquals(new double[]{0.1, 0.2}, financing.getRates(), PRECISION);
+        assertEquals(0.1, financing.getRate(), PRECISION);
+    }
+
+    @Test
+    void reportsARootHitExactlyOnTheGrid() {
+        // roots at 0% and 10%, the NPV falls through zero at 10%
+        final var irr = solver.solve(new double[]{-100, 210, -110});
+        assertArrayEquals(new double[]{0, 0.1}, irr.getRates(), PRECISION);
+        assertEquals(0.1, irr.getRate(), PRECISION);
+    }
+
+    @Test
+    void findsBothRootsWithinOneGridCell() {
+        final var random = new SplittableRandom(42);
+        for (int i = 0; i < 1_000; i++) {
+            final double low = -0.5 + 10 * random.nextDouble();
+            final double high = low + 1e-3 + random.nextDouble() * 0.05;
+            final double x1 = 1 + low;
+            final double x2 = 1 + high;
+            // -x^2 + (x1 + x2) x - x1 x2 over x^2, x = 1 + r
+            final var irr = solver.solve(new double[]{-1, x1 + x2, -x1 * x2});
+            assertEquals(IRRResult.Status.MULTIPLE, irr.getStatus());
+            final double[] rates = irr.getRates();
+            assertEquals(low, rates[0], PRECISION);
+            assertEquals(high, rates[1], PRECISION);
+        }
+    }
+
+    @Test
+    void solvesSubAnnualSchedulesOnPerPeriodRates() {
+        // 1% per month, paid back once after a year
+        final double[] monthly = new double[13];
+        monthly[0] = -100;
+        monthly[12] = 100 * Math.pow(1.01, 12);
+        final var irr = solver.solve(monthly, monthly.length, 12);
+        assertEquals(IRRResult.Status.UNIQUE, irr.getStatus());
+        assertEquals(Math.pow(1.01, 12) - 1, irr.getRate(), PRECISION);
+
+        // a daily annuity: the NPV at the per-period equivalent of the reported yearly rate is zero
+        final double[] daily = new double[366];
+        daily[0] = -1_000;
+        Arrays.fill(daily, 1, daily.length, 5);
+        final double yearly = solver.solve(daily, daily.length, 365).getRate();
+        final double periodic = Math.pow(1 + yearly, 1.0 / 365) - 1;
+        assertEquals(0, EconomicsUtils.calculateNetPresentValue(daily, daily.length, periodic), 1e-6);
+        assertTrue(yearly > 1, "the annuity pays back 1.8 times in a year: " + yearly);
+    }
+
+    private void assertUniqueRoot(double expected, double[] cashFlows) {
+        final var irr = solver.solve(cashFlows);
+        assertEquals(IRRResult.Status.UNIQUE, irr.getStatus());
+        assertEquals(expected, irr.getRate(), PRECISION * Math.max(1, Math.abs(expected)));
+    }
+}